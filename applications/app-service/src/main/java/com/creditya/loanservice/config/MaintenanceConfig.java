@@ -0,0 +1,21 @@
+package com.creditya.loanservice.config;
+
+import com.creditya.loanservice.usecase.MonthlyPaymentMaintenanceUseCase;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+
+@Configuration
+public class MaintenanceConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "maintenance.monthly-payment", name = "enabled", havingValue = "true")
+    public ApplicationRunner monthlyPaymentMaintenance(MonthlyPaymentMaintenanceUseCase maintenanceUseCase) {
+        return args -> maintenanceUseCase.backfill()
+                .then(maintenanceUseCase.checkConsistency())
+                .onErrorResume(e -> Mono.empty())
+                .subscribe();
+    }
+}
@@ -5,15 +5,28 @@ import com.creditya.loanservice.model.loan.gateways.LoanSQSSender;
 import com.creditya.loanservice.model.loantype.gateways.LoanTypeRepository;
 import com.creditya.loanservice.model.usersnapshot.gateways.UserSnapshotRepository;
 import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.model.utils.gateways.UseCaseMetrics;
+import com.creditya.loanservice.usecase.LoanDecisionProcessorUseCase;
 import com.creditya.loanservice.usecase.utils.AutomaticValidation;
+import com.creditya.loanservice.usecase.utils.CapacityEngine;
+import com.creditya.loanservice.usecase.utils.CapacityPolicy;
+import com.creditya.loanservice.usecase.utils.EnrichmentPolicy;
 import com.creditya.loanservice.usecase.utils.LoanCalculator;
+import com.creditya.loanservice.usecase.utils.LoanEnricher;
 import com.creditya.loanservice.usecase.utils.LoanStatus;
 import com.creditya.loanservice.usecase.utils.LoanValidator;
+import com.creditya.loanservice.usecase.utils.PaymentScheduleCache;
+import com.creditya.loanservice.usecase.utils.PortfolioCalculator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.FilterType;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
 @Configuration
 @ComponentScan(basePackages = "com.creditya.loanservice.usecase",
         includeFilters = {
@@ -40,7 +53,45 @@ public class UseCasesConfig {
     public AutomaticValidation automaticValidation(LoanRepository loanRepository,
                                                    UserSnapshotRepository userSnapshotRepository,
                                                    LoanSQSSender loanSQSSender,
+                                                   LoanCalculator loanCalculator,
+                                                   CapacityEngine capacityEngine,
+                                                   LoanDecisionProcessorUseCase loanDecisionProcessorUseCase,
+                                                   UseCaseMetrics metrics,
                                                    UseCaseLogger logger) {
-        return new AutomaticValidation(loanRepository, userSnapshotRepository, loanSQSSender, logger);
+        return new AutomaticValidation(loanRepository, userSnapshotRepository, loanSQSSender, loanCalculator,
+                capacityEngine, loanDecisionProcessorUseCase, metrics, logger);
+    }
+
+    @Bean
+    public CapacityPolicy capacityPolicy(@Value("${credit.capacity.max-debt-share:0.35}") BigDecimal maxDebtShare) {
+        return new CapacityPolicy(maxDebtShare);
+    }
+
+    @Bean
+    public CapacityEngine capacityEngine(LoanCalculator loanCalculator, CapacityPolicy capacityPolicy) {
+        return new CapacityEngine(loanCalculator, capacityPolicy);
+    }
+
+    @Bean
+    public LoanEnricher loanEnricher(UserSnapshotRepository userSnapshotRepository,
+                                     LoanCalculator loanCalculator,
+                                     @Value("${listing.enrichment-budget-ms:300}") long listingBudgetMs,
+                                     @Value("${listing.bulk-enrichment-budget-ms:10000}") long bulkBudgetMs,
+                                     UseCaseLogger logger) {
+        return new LoanEnricher(userSnapshotRepository, loanCalculator,
+                EnrichmentPolicy.listing(Duration.ofMillis(listingBudgetMs)),
+                EnrichmentPolicy.bulk(Duration.ofMillis(bulkBudgetMs)),
+                logger);
+    }
+
+    @Bean
+    public PaymentScheduleCache paymentScheduleCache(LoanCalculator loanCalculator,
+                                                     @Value("${simulation.schedule-cache-size:1000}") int maxEntries) {
+        return new PaymentScheduleCache(loanCalculator, maxEntries);
+    }
+
+    @Bean
+    public PortfolioCalculator portfolioCalculator() {
+        return new PortfolioCalculator(ForkJoinPool.commonPool());
     }
 }
@@ -15,5 +15,6 @@ public class Page<T> {
     private int limit;
     private long totalElements;
     private int totalPages;
+    private String next;
 
 }
\ No newline at end of file
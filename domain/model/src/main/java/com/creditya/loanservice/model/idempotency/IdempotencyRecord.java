@@ -0,0 +1,27 @@
+package com.creditya.loanservice.model.idempotency;
+
+import com.creditya.loanservice.model.loan.data.LoanData;
+
+import java.util.UUID;
+
+/**
+ * Loan creation request registered under a client-supplied key. {@code fingerprint} identifies the
+ * request body; {@code claimId} identifies the request currently holding the key, so a claim taken
+ * over after its lock expired cannot be completed or released by the request that lost it;
+ * {@code loan} is the created loan, and is only set once the first request has finished.
+ */
+public record IdempotencyRecord(
+        UUID userId,
+        String key,
+        String fingerprint,
+        UUID claimId,
+        LoanData loan
+) {
+    public static IdempotencyRecord inFlight(UUID userId, String key, String fingerprint) {
+        return new IdempotencyRecord(userId, key, fingerprint, UUID.randomUUID(), null);
+    }
+
+    public boolean isCompleted() {
+        return loan != null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.creditya.loanservice.model.idempotency.gateways;
+
+import com.creditya.loanservice.model.idempotency.IdempotencyRecord;
+import com.creditya.loanservice.model.loan.data.LoanData;
+import reactor.core.publisher.Mono;
+
+public interface IdempotencyRepository {
+
+    /**
+     * Registers {@code claim} as in flight. Completes empty when this call owns the key, and emits the
+     * record already stored under it otherwise; an in-flight claim whose lock has expired is taken over.
+     */
+    Mono<IdempotencyRecord> claim(IdempotencyRecord claim);
+
+    /**
+     * Stores {@code loan} as the result of {@code claim}. Emits {@code false}, storing nothing, when the
+     * claim no longer holds the key because another request took it over after its lock expired.
+     */
+    Mono<Boolean> complete(IdempotencyRecord claim, LoanData loan);
+
+    /**
+     * Drops {@code claim} while it is still in flight so the key can be retried.
+     */
+    Mono<Void> release(IdempotencyRecord claim);
+}
@@ -22,5 +22,6 @@ public class Loan {
     private UUID idStatus;
     private UUID idLoanType;
     private UUID userId;
+    private BigDecimal monthlyPayment;
 
 }
@@ -0,0 +1,12 @@
+package com.creditya.loanservice.model.loan.data;
+
+import com.creditya.loanservice.model.loan.Loan;
+
+/**
+ * One application of a batch; {@code index} is its position in the submitted batch.
+ */
+public record LoanApplication(
+        int index,
+        Loan loan,
+        String loanTypeName
+) {}
@@ -0,0 +1,26 @@
+package com.creditya.loanservice.model.loan.data;
+
+import java.util.Map;
+
+/**
+ * Outcome of one batch application: the created loan, or the error that stopped it.
+ */
+public record LoanBatchResult(
+        int index,
+        LoanData loan,
+        String errorCode,
+        String message,
+        Map<String, String> errors
+) {
+    public static LoanBatchResult created(int index, LoanData loan) {
+        return new LoanBatchResult(index, loan, null, null, null);
+    }
+
+    public static LoanBatchResult failed(int index, String errorCode, String message, Map<String, String> errors) {
+        return new LoanBatchResult(index, null, errorCode, message, errors);
+    }
+
+    public boolean isCreated() {
+        return loan != null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.creditya.loanservice.model.loan.data;
+
+/**
+ * Result of {@code LoanRepository.createLoanAtomically}: either the loan was inserted or the
+ * check that stopped it.
+ */
+public enum LoanCreationOutcome {
+    CREATED,
+    LOAN_TYPE_NOT_FOUND,
+    LOAN_AMOUNT_OUT_OF_RANGE,
+    LOAN_STATUS_NOT_FOUND
+}
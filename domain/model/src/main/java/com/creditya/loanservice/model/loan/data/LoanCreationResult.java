@@ -0,0 +1,13 @@
+package com.creditya.loanservice.model.loan.data;
+
+/**
+ * Outcome of a single-statement loan creation; {@code loan} is only set when it was {@link LoanCreationOutcome#CREATED}.
+ */
+public record LoanCreationResult(
+        LoanCreationOutcome outcome,
+        LoanData loan
+) {
+    public boolean isCreated() {
+        return outcome == LoanCreationOutcome.CREATED;
+    }
+}
@@ -15,5 +15,6 @@ public record LoanJoinedProjection(
         String dni,
         String loanStatusName,
         String loanTypeName,
-        BigDecimal interestRate
+        BigDecimal interestRate,
+        BigDecimal monthlyPayment
 ) {}
@@ -0,0 +1,8 @@
+package com.creditya.loanservice.model.loan.data;
+
+import java.util.List;
+
+public record LoanPageResult(
+        List<LoanJoinedProjection> content,
+        long totalElements
+) {}
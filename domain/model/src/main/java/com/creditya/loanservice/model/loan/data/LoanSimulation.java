@@ -0,0 +1,17 @@
+package com.creditya.loanservice.model.loan.data;
+
+import com.creditya.loanservice.model.loan.responseEvent.PaymentInstallment;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Builder(toBuilder = true)
+public record LoanSimulation(
+        String loanType,
+        BigDecimal amount,
+        Integer loanTerm,
+        BigDecimal interestRate,
+        BigDecimal monthlyPayment,
+        List<PaymentInstallment> paymentSchedule
+) {}
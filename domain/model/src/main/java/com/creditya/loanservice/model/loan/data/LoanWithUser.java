@@ -23,4 +23,5 @@ public class LoanWithUser {
     private BigDecimal interestRate;
     private BigDecimal totalMonthlyDebt;
     private Long approvedLoan;
+    private boolean enriched;
 }
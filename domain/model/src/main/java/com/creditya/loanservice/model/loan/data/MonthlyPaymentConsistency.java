@@ -0,0 +1,15 @@
+package com.creditya.loanservice.model.loan.data;
+
+public record MonthlyPaymentConsistency(
+        long checked,
+        long missing,
+        long mismatched
+) {
+
+    public static final MonthlyPaymentConsistency EMPTY = new MonthlyPaymentConsistency(0, 0, 0);
+
+    public MonthlyPaymentConsistency plus(MonthlyPaymentConsistency other) {
+        return new MonthlyPaymentConsistency(checked + other.checked, missing + other.missing,
+                mismatched + other.mismatched);
+    }
+}
@@ -0,0 +1,14 @@
+package com.creditya.loanservice.model.loan.data;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+@Builder(toBuilder = true)
+public record PortfolioTotal(
+        String loanStatusName,
+        String loanTypeName,
+        long loanCount,
+        BigDecimal totalAmount,
+        BigDecimal totalMonthlyDebt
+) {}
@@ -2,19 +2,34 @@ package com.creditya.loanservice.model.loan.gateways;
 
 import com.creditya.loanservice.model.creditanalisys.ActiveLoanDetails;
 import com.creditya.loanservice.model.loan.Loan;
+import com.creditya.loanservice.model.loan.data.LoanCreationOutcome;
+import com.creditya.loanservice.model.loan.data.LoanCreationResult;
 import com.creditya.loanservice.model.loan.data.LoanJoinedProjection;
+import com.creditya.loanservice.model.loan.data.LoanPageResult;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface LoanRepository {
     Mono<Loan> createLoan(Loan loan);
+    Flux<Loan> saveLoans(List<Loan> loans);
+
+    /**
+     * Resolves the loan type and status by name, checks the amount range, inserts the loan and
+     * counts it under its status in one statement. Nothing is written unless the outcome is
+     * {@link LoanCreationOutcome#CREATED}.
+     */
+    Mono<LoanCreationResult> createLoanAtomically(Loan loan, String loanTypeName, String statusName);
     Mono<Loan> findLoanById(UUID uuid);
-    Flux<LoanJoinedProjection> findAllLoans();
-    Mono<Long> countAllLoans();
-    Mono<Long> countLoansByStatusIds(List<UUID> statusIds);
-    Flux<LoanJoinedProjection> findLoansWithTypeAndStatus(UUID[] statusIds, int limit, int offset);
+    Flux<LoanJoinedProjection> findAllLoans(UUID[] excludeStatusIds);
+    Mono<Long> countLoans(UUID[] statusIds, UUID[] excludeStatusIds);
+    Mono<LoanPageResult> findLoanPage(UUID[] statusIds, UUID[] excludeStatusIds, int limit, int offset);
+    Flux<LoanJoinedProjection> findLoansAfterCursor(UUID[] statusIds, UUID[] excludeStatusIds, UUID cursor, int limit);
     Flux<ActiveLoanDetails> findActiveLoansByUserId(UUID uuid);
+    Flux<LoanJoinedProjection> findLoansWithoutMonthlyPayment(UUID cursor, int limit);
+    Mono<Long> saveMonthlyPayments(Map<UUID, BigDecimal> monthlyPaymentsByLoanId);
 }
@@ -6,9 +6,12 @@ import com.creditya.loanservice.model.loan.data.LoanNotification;
 import com.creditya.loanservice.model.loan.responseEvent.LoanStatusUpdateEvent;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface LoanSQSSender {
     Mono<String> sendStatusNotificationCredit(LoanStatusUpdateEvent creditAnalysis);
     Mono<String> sendStatusNotification(LoanNotification loanNotification);
     Mono<String> sendCreditAnalysis(CreditAnalysis creditAnalysis);
+    Mono<Integer> sendCreditAnalyses(List<CreditAnalysis> creditAnalyses);
     Mono<String> sendLoanApprovedEvent(LoanApprovedEvent approvedLoan);
 }
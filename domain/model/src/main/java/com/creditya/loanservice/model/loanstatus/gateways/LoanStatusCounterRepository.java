@@ -0,0 +1,14 @@
+package com.creditya.loanservice.model.loanstatus.gateways;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface LoanStatusCounterRepository {
+
+    Mono<Void> increment(UUID statusId);
+    Mono<Void> incrementBy(UUID statusId, long delta);
+    Mono<Void> transfer(UUID fromStatusId, UUID toStatusId);
+    Mono<Long> countListedLoans(List<UUID> statusIds, List<UUID> excludeStatusIds);
+}
@@ -1,6 +1,7 @@
 package com.creditya.loanservice.model.loanstatus.gateways;
 
 import com.creditya.loanservice.model.loanstatus.LoanStatus;
+import com.creditya.loanservice.model.loanstatus.Status;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -11,4 +12,5 @@ public interface LoanStatusRepository {
 
     Mono<LoanStatus> findByName(String status);
     Flux<UUID> findIdsByNames(List<String> statusNames);
+    Mono<UUID> findIdByStatus(Status status);
 }
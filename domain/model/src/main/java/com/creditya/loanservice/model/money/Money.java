@@ -0,0 +1,92 @@
+package com.creditya.loanservice.model.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Amount of money held as a {@code long} of cents. Used for arithmetic on internal paths;
+ * values enter and leave as {@link BigDecimal} at the JSON and database edges.
+ * Overflow raises {@link ArithmeticException} instead of wrapping.
+ */
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0L);
+
+    public static Money ofCents(long cents) {
+        return cents == 0L ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Converts an amount that already has at most two decimals.
+     *
+     * @throws ArithmeticException if the amount has sub-cent digits or does not fit in a long
+     */
+    public static Money of(BigDecimal amount) {
+        return ofCents(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Converts any amount, rounding sub-cent digits half up the same way a {@code NUMERIC(15, 2)}
+     * column does on insert.
+     */
+    public static Money ofRounded(BigDecimal amount) {
+        return ofCents(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Whether {@link #of(BigDecimal)} can take the amount without rounding, checked without allocating.
+     */
+    public static boolean isExact(BigDecimal amount) {
+        return amount.scale() <= SCALE && amount.precision() - amount.scale() <= 16;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money times(long factor) {
+        return ofCents(Math.multiplyExact(cents, factor));
+    }
+
+    /**
+     * Divides to the cent, rounding half away from zero like {@link RoundingMode#HALF_UP}.
+     */
+    public Money dividedBy(long divisor) {
+        if (divisor == 0L) {
+            throw new ArithmeticException("Division by zero");
+        }
+        long quotient = cents / divisor;
+        long remainder = cents % divisor;
+        if (Math.abs(remainder) >= Math.abs(divisor) - Math.abs(remainder)) {
+            quotient += (cents < 0) == (divisor < 0) ? 1 : -1;
+        }
+        return ofCents(quotient);
+    }
+
+    public boolean isZero() {
+        return cents == 0L;
+    }
+
+    public boolean isNegative() {
+        return cents < 0L;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,10 @@
+package com.creditya.loanservice.model.outbox;
+
+/**
+ * Logical queue an outbox message is relayed to; the adapter maps it to the queue URL.
+ */
+public enum OutboxDestination {
+    DEBT_CAPACITY,
+    STATUS_NOTIFICATION,
+    LOAN_APPROVED
+}
@@ -0,0 +1,16 @@
+package com.creditya.loanservice.model.outbox;
+
+import java.util.UUID;
+
+/**
+ * Message waiting in the outbox; {@code payload} is the serialized message body.
+ */
+public record OutboxMessage(
+        UUID id,
+        OutboxDestination destination,
+        String payload
+) {
+    public static OutboxMessage of(OutboxDestination destination, String payload) {
+        return new OutboxMessage(UUID.randomUUID(), destination, payload);
+    }
+}
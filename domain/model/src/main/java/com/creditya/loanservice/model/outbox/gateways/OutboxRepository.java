@@ -0,0 +1,35 @@
+package com.creditya.loanservice.model.outbox.gateways;
+
+import com.creditya.loanservice.model.outbox.OutboxMessage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+public interface OutboxRepository {
+
+    /**
+     * Stores the messages in the caller's transaction, if there is one.
+     */
+    Mono<Long> append(List<OutboxMessage> messages);
+
+    /**
+     * Claims up to {@code limit} unsent messages, oldest first, for {@code leaseTime}. Rows claimed by
+     * another relay are skipped; a message that is not deleted before its lease ends is claimed again,
+     * until it has been leased {@code maxAttempts} times.
+     */
+    Flux<OutboxMessage> lease(int limit, Duration leaseTime, int maxAttempts);
+
+    /**
+     * Parks the messages that used up {@code maxAttempts} leases without being sent, so they are no
+     * longer leased but stay in the outbox for inspection, and emits them.
+     */
+    Flux<OutboxMessage> parkExhausted(int maxAttempts);
+
+    /**
+     * Removes the messages once they have been sent.
+     */
+    Mono<Long> deleteSent(List<UUID> ids);
+}
@@ -0,0 +1,24 @@
+package com.creditya.loanservice.model.usersnapshot;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record UserChangedEvent(
+        UUID userId,
+        String name,
+        String email,
+        BigDecimal baseSalary,
+        boolean deleted,
+        Instant changedAt
+) {
+
+    public UserSnapshot toSnapshot() {
+        return UserSnapshot.builder()
+                .userId(userId)
+                .name(name)
+                .email(email)
+                .baseSalary(baseSalary)
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.creditya.loanservice.model.usersnapshot.gateways;
+
+import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface UserSnapshotReplicaRepository {
+
+    Flux<UserSnapshot> findUsersByIds(List<UUID> userIds);
+
+    Mono<Void> upsert(UserSnapshot user, Instant changedAt);
+
+    /**
+     * Stores backfilled users for which there is no row yet. Their version is older than any
+     * change event, so a later event for the same user always replaces it.
+     */
+    Mono<Long> insertBackfilled(List<UserSnapshot> users);
+
+    /**
+     * Keeps a tombstone for the user, so an older upsert or a backfill cannot bring it back.
+     */
+    Mono<Void> delete(UUID userId, Instant changedAt);
+
+    Flux<UUID> findUnreplicatedUserIds();
+}
@@ -11,4 +11,22 @@ public interface UserSnapshotRepository {
 
     Flux<UserSnapshot> findUsersByIds(List<UUID> userIds);
     Mono<UserSnapshot> findUserById(UUID userId);
+
+    default Flux<UserSnapshot> findCachedUsersByIds(List<UUID> userIds) {
+        return Flux.empty();
+    }
+
+    /**
+     * Reads the users from the authentication service itself, skipping every cache in front of it.
+     */
+    default Flux<UserSnapshot> findFreshUsersByIds(List<UUID> userIds) {
+        return findUsersByIds(userIds);
+    }
+
+    /**
+     * Drops any cached copy of the user; completes once the next lookup can no longer see it.
+     */
+    default Mono<Void> invalidate(UUID userId) {
+        return Mono.empty();
+    }
 }
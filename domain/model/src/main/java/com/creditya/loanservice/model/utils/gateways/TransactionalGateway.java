@@ -4,4 +4,10 @@ import reactor.core.publisher.Mono;
 
 public interface TransactionalGateway {
     <T> Mono<T> executeInTransaction(Mono<T> action);
+
+    /**
+     * Same as {@link #executeInTransaction(Mono)}, also recording how long the transaction holds
+     * its connection, tagged with {@code name}.
+     */
+    <T> Mono<T> executeInTransaction(String name, Mono<T> action);
 }
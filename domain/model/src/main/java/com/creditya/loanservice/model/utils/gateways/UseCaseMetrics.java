@@ -0,0 +1,5 @@
+package com.creditya.loanservice.model.utils.gateways;
+
+public interface UseCaseMetrics {
+    void increment(String name, String... tags);
+}
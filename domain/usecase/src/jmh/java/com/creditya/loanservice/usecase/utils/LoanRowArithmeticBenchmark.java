@@ -0,0 +1,60 @@
+package com.creditya.loanservice.usecase.utils;
+
+import com.creditya.loanservice.model.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of the interest-free installment, once with the former {@link BigDecimal} division
+ * and once through {@link Money}. Run with {@code ./gradlew :usecase:jmh};
+ * {@code gc.alloc.rate.norm} is the allocation per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LoanRowArithmeticBenchmark {
+
+    private static final int ROWS = 1024;
+
+    private final BigDecimal[] amounts = new BigDecimal[ROWS];
+    private final int[] terms = new int[ROWS];
+    private LoanCalculator calculator;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < ROWS; i++) {
+            amounts[i] = BigDecimal.valueOf(random.nextLong(10_000L, 6_000_000L), Money.SCALE);
+            terms[i] = random.nextInt(1, 121);
+        }
+        calculator = new LoanCalculator(new LoanStatus());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void bigDecimalRow(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            blackhole.consume(amounts[i].divide(BigDecimal.valueOf(terms[i]), Money.SCALE, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void moneyRow(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            blackhole.consume(calculator.calculateMonthlyPayment(amounts[i], BigDecimal.ZERO, terms[i]));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.creditya.loanservice.usecase.utils;
+
+import com.creditya.loanservice.model.loan.responseEvent.PaymentInstallment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one simulation schedule when it has to be computed and when the cache already holds it.
+ * Run with {@code ./gradlew :usecase:jmh} on JDK 21; results are written to {@code build/results/jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PaymentScheduleBenchmark {
+
+    @Param({"12", "60", "360"})
+    private int loanTerm;
+
+    private final BigDecimal amount = new BigDecimal("25000.50");
+    private final BigDecimal interestRate = new BigDecimal("18.99");
+    private LoanCalculator calculator;
+    private PaymentScheduleCache cache;
+
+    @Setup
+    public void setUp() {
+        calculator = new LoanCalculator(new LoanStatus());
+        cache = new PaymentScheduleCache(calculator, 1000);
+        cache.get(amount, interestRate, loanTerm);
+    }
+
+    @Benchmark
+    public List<PaymentInstallment> computeSchedule() {
+        return calculator.calculatePaymentSchedule(amount, interestRate, loanTerm);
+    }
+
+    @Benchmark
+    public List<PaymentInstallment> cachedSchedule() {
+        return cache.get(amount, interestRate, loanTerm);
+    }
+}
@@ -0,0 +1,72 @@
+package com.creditya.loanservice.usecase.utils;
+
+import com.creditya.loanservice.usecase.utils.PortfolioCalculator.PortfolioColumns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monthly-debt totals for one million loans: the parallel primitive path against a sequential
+ * {@link LoanCalculator} loop over the same rows. Run with {@code ./gradlew :usecase:jmh} on JDK 21;
+ * results depend on the host's core count and are written to {@code build/results/jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PortfolioCalculatorBenchmark {
+
+    private static final int LOANS = 1_000_000;
+    private static final int GROUPS = 12;
+
+    private PortfolioColumns columns;
+    private BigDecimal[] amounts;
+    private BigDecimal[] rates;
+    private PortfolioCalculator portfolioCalculator;
+    private LoanCalculator loanCalculator;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        BigDecimal[] rateTable = {new BigDecimal("0"), new BigDecimal("5.5"), new BigDecimal("12"), new BigDecimal("18.99")};
+        columns = PortfolioColumns.withCapacity(LOANS).withSize(LOANS);
+        amounts = new BigDecimal[LOANS];
+        rates = new BigDecimal[LOANS];
+        for (int i = 0; i < LOANS; i++) {
+            amounts[i] = BigDecimal.valueOf(random.nextLong(50_000L, 1_500_000_000L), 2);
+            rates[i] = rateTable[random.nextInt(rateTable.length)];
+            columns.amountCents()[i] = amounts[i].unscaledValue().longValueExact();
+            columns.loanTerms()[i] = random.nextInt(1, 361);
+            columns.monthlyRateMicros()[i] = PortfolioCalculator.monthlyRateMicros(rates[i]);
+            columns.storedPaymentCents()[i] = PortfolioCalculator.NOT_STORED;
+            columns.groups()[i] = random.nextInt(GROUPS);
+        }
+        portfolioCalculator = new PortfolioCalculator(ForkJoinPool.commonPool());
+        loanCalculator = new LoanCalculator(new LoanStatus());
+    }
+
+    @Benchmark
+    public long[] parallelPrimitive() {
+        return portfolioCalculator.sumMonthlyPayments(columns, GROUPS).join();
+    }
+
+    @Benchmark
+    public BigDecimal[] sequentialBigDecimal() {
+        BigDecimal[] sums = new BigDecimal[GROUPS];
+        Arrays.fill(sums, BigDecimal.ZERO);
+        for (int i = 0; i < LOANS; i++) {
+            int group = columns.groups()[i];
+            sums[group] = sums[group].add(loanCalculator.calculateMonthlyPayment(amounts[i], rates[i], columns.loanTerms()[i]));
+        }
+        return sums;
+    }
+}
@@ -0,0 +1,169 @@
+package com.creditya.loanservice.usecase;
+
+import com.creditya.loanservice.model.loan.Loan;
+import com.creditya.loanservice.model.loan.data.LoanApplication;
+import com.creditya.loanservice.model.loan.data.LoanBatchResult;
+import com.creditya.loanservice.model.loan.data.LoanData;
+import com.creditya.loanservice.model.loan.gateways.LoanRepository;
+import com.creditya.loanservice.model.loanstatus.LoanStatus;
+import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusCounterRepository;
+import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusRepository;
+import com.creditya.loanservice.model.loantype.LoanType;
+import com.creditya.loanservice.model.utils.gateways.TransactionalGateway;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.usecase.exception.BaseException;
+import com.creditya.loanservice.usecase.exception.LoanStatusNotFoundException;
+import com.creditya.loanservice.usecase.exception.UnauthorizedLoanApplicationException;
+import com.creditya.loanservice.usecase.utils.AutomaticValidation;
+import com.creditya.loanservice.usecase.utils.LoanCalculator;
+import com.creditya.loanservice.usecase.utils.LoanValidator;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static com.creditya.loanservice.model.loanstatus.Status.PENDING;
+
+/**
+ * Creates a batch of applications for the authenticated user. Each application is validated on
+ * its own and reported as created or failed; the valid ones are inserted together in a single
+ * transaction and their automatic-validation messages are sent in batches.
+ */
+@RequiredArgsConstructor
+public class CreateLoanBatchUseCase {
+
+    private static final String TRANSACTION_NAME = "create-loan-batch";
+
+    private final LoanRepository loanRepository;
+    private final LoanStatusRepository loanStatusRepository;
+    private final LoanStatusCounterRepository loanStatusCounterRepository;
+    private final LoanValidator loanValidator;
+    private final AutomaticValidation automaticValidation;
+    private final LoanCalculator loanCalculator;
+    private final TransactionalGateway transactionalGateway;
+    private final UseCaseLogger logger;
+
+    public Mono<List<LoanBatchResult>> createLoans(List<LoanApplication> applications) {
+        return Mono.deferContextual(context -> {
+                    String userId = context.get("userId");
+                    String dni = context.get("userDni");
+                    logger.trace("Starting batch loan creation of {} applications (userId: {})", applications.size(), userId);
+
+                    return Flux.fromIterable(applications)
+                            .concatMap(application -> screen(application, dni))
+                            .collectList()
+                            .flatMap(screened -> {
+                                List<LoanBatchResult> results = new ArrayList<>();
+                                List<Accepted> accepted = new ArrayList<>();
+                                screened.forEach(item -> {
+                                    if (item.rejection() != null) {
+                                        results.add(item.rejection());
+                                    } else {
+                                        accepted.add(item.accepted());
+                                    }
+                                });
+
+                                Mono<List<LoanBatchResult>> created = accepted.isEmpty()
+                                        ? Mono.just(List.of())
+                                        : persistLoans(accepted, UUID.fromString(userId));
+
+                                return created.map(createdResults -> {
+                                    results.addAll(createdResults);
+                                    results.sort(Comparator.comparingInt(LoanBatchResult::index));
+                                    return results;
+                                });
+                            });
+                })
+                .doOnError(err -> logger.error("Error creating loan application batch: {}", err.getMessage()));
+    }
+
+    private Mono<Screened> screen(LoanApplication application, String userDni) {
+        Loan loan = application.loan();
+        if (!loan.getDni().equals(userDni)) {
+            return Mono.just(Screened.rejected(application.index(), new UnauthorizedLoanApplicationException()));
+        }
+        return loanValidator.validate(loan, application.loanTypeName())
+                .map(loanType -> Screened.accepted(new Accepted(application, loanType)))
+                .onErrorResume(BaseException.class, ex -> Mono.just(Screened.rejected(application.index(), ex)));
+    }
+
+    private Mono<List<LoanBatchResult>> persistLoans(List<Accepted> accepted, UUID userId) {
+        List<LoanType> loanTypes = accepted.stream().map(Accepted::loanType).toList();
+        return automaticValidation.prefetch(loanTypes, userId)
+                .flatMap(prefetch -> transactionalGateway.executeInTransaction(TRANSACTION_NAME,
+                        createAndProcessLoans(accepted, loanTypes, userId, prefetch)));
+    }
+
+    private Mono<List<LoanBatchResult>> createAndProcessLoans(List<Accepted> accepted, List<LoanType> loanTypes, UUID userId,
+                                                              AutomaticValidation.Prefetch prefetch) {
+        return findPendingStatus()
+                .flatMap(status -> {
+                    List<Loan> loans = accepted.stream()
+                            .map(item -> enrichLoan(item.application().loan(), item.loanType(), status, userId))
+                            .toList();
+                    return loanRepository.saveLoans(loans)
+                            .collectList()
+                            .flatMap(savedLoans -> loanStatusCounterRepository.incrementBy(status.getIdStatus(), savedLoans.size())
+                                    .thenReturn(savedLoans))
+                            .doOnSuccess(savedLoans -> logger.info("Batch of {} loan applications created for userId: {}", savedLoans.size(), userId))
+                            .flatMap(savedLoans -> automaticValidation.handleAll(
+                                    IntStream.range(0, savedLoans.size())
+                                            .mapToObj(i -> buildLoanData(savedLoans.get(i), accepted.get(i).loanType(), status))
+                                            .toList(),
+                                    loanTypes,
+                                    userId,
+                                    prefetch))
+                            .map(loanData -> IntStream.range(0, loanData.size())
+                                    .mapToObj(i -> LoanBatchResult.created(accepted.get(i).application().index(), loanData.get(i)))
+                                    .toList());
+                });
+    }
+
+    private Mono<LoanStatus> findPendingStatus() {
+        return loanStatusRepository.findByName(PENDING.getName())
+                .doOnNext(status -> logger.trace("Initial loan status found: {} (ID: {})", PENDING.getName(), status.getIdStatus()))
+                .switchIfEmpty(Mono.defer(() -> {
+                    logger.error("Initial loan status '{}' not found", PENDING.getName());
+                    return Mono.error(new LoanStatusNotFoundException());
+                }));
+    }
+
+    private Loan enrichLoan(Loan loan, LoanType loanType, LoanStatus status, UUID userId) {
+        loan.setIdLoanType(loanType.getIdLoanType());
+        loan.setIdStatus(status.getIdStatus());
+        loan.setUserId(userId);
+        loan.setMonthlyPayment(loanCalculator.calculateMonthlyPayment(
+                loan.getAmount(), loanType.getInterestRate(), loan.getLoanTerm()));
+        return loan;
+    }
+
+    private LoanData buildLoanData(Loan loan, LoanType loanType, LoanStatus status) {
+        return LoanData.builder()
+                .idLoan(loan.getIdLoan())
+                .amount(loan.getAmount())
+                .loanTerm(loan.getLoanTerm())
+                .email(loan.getEmail())
+                .dni(loan.getDni())
+                .status(status.getName())
+                .loanType(loanType.getName())
+                .build();
+    }
+
+    private record Accepted(LoanApplication application, LoanType loanType) {}
+
+    private record Screened(Accepted accepted, LoanBatchResult rejection) {
+
+        static Screened accepted(Accepted accepted) {
+            return new Screened(accepted, null);
+        }
+
+        static Screened rejected(int index, BaseException ex) {
+            return new Screened(null, LoanBatchResult.failed(index, ex.getErrorCode(), ex.getMessage(), ex.getErrors()));
+        }
+    }
+}
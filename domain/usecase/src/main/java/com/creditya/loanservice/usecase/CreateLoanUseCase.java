@@ -1,47 +1,68 @@
 package com.creditya.loanservice.usecase;
 
 import com.creditya.loanservice.model.loan.Loan;
+import com.creditya.loanservice.model.loan.data.LoanCreationResult;
 import com.creditya.loanservice.model.loan.data.LoanData;
 import com.creditya.loanservice.model.loan.gateways.LoanRepository;
-import com.creditya.loanservice.model.loanstatus.LoanStatus;
-import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusRepository;
 import com.creditya.loanservice.model.loantype.LoanType;
 import com.creditya.loanservice.model.utils.gateways.TransactionalGateway;
 import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.usecase.exception.LoanAmountOutOfRangeException;
 import com.creditya.loanservice.usecase.exception.LoanStatusNotFoundException;
+import com.creditya.loanservice.usecase.exception.LoanTypeNotFoundException;
 import com.creditya.loanservice.usecase.exception.UnauthorizedLoanApplicationException;
 import com.creditya.loanservice.usecase.utils.AutomaticValidation;
+import com.creditya.loanservice.usecase.utils.LoanCalculator;
 import com.creditya.loanservice.usecase.utils.LoanValidator;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 import static com.creditya.loanservice.model.loanstatus.Status.PENDING;
 
 @RequiredArgsConstructor
 public class CreateLoanUseCase {
 
+    private static final String TRANSACTION_NAME = "create-loan";
+
     private final LoanRepository loanRepository;
-    private final LoanStatusRepository loanStatusRepository;
     private final LoanValidator loanValidator;
     private final AutomaticValidation automaticValidation;
+    private final LoanCalculator loanCalculator;
     private final TransactionalGateway transactionalGateway;
     private final UseCaseLogger logger;
 
+    /**
+     * The loan type and the remote reads of the automatic analysis are resolved before the
+     * transaction opens; inside it only the loan insert and its outbox messages run.
+     */
     public Mono<LoanData> createLoan(Loan loan, String loanTypeName) {
+        return createLoan(loan, loanTypeName, created -> Mono.empty());
+    }
+
+    /**
+     * Same as {@link #createLoan(Loan, String)}, running {@code onCreated} inside the loan transaction
+     * once the loan is inserted, so what it writes commits or rolls back together with the loan.
+     */
+    public Mono<LoanData> createLoan(Loan loan, String loanTypeName, Function<LoanData, Mono<Void>> onCreated) {
         return Mono.deferContextual(context -> {
                     String userId = context.get("userId");
                     String dni = context.get("userDni");
 
                     authorize(loan.getDni(), dni);
                     logger.trace("Starting loan creation flow for DNI: {} (userId: {})", loan.getDni(), userId);
+                    UUID userUuid = UUID.fromString(userId);
 
-                    return transactionalGateway.executeInTransaction(
-                            loanValidator.validate(loan, loanTypeName)
-                                    .flatMap(loanType -> createAndProcessLoan(loan, loanType, UUID.fromString(userId)))
-                    );
+                    return loanValidator.validate(loan, loanTypeName)
+                            .flatMap(loanType -> automaticValidation.prefetch(List.of(loanType), userUuid)
+                                    .flatMap(prefetch -> transactionalGateway.executeInTransaction(TRANSACTION_NAME,
+                                            createAndProcessLoan(loan, loanType, loanTypeName, userUuid, prefetch)
+                                                    .flatMap(created -> onCreated.apply(created).thenReturn(created)))));
                 })
+                .doOnSuccess(app -> logger.info("Loan application created successfully for DNI: {}", app.getDni()))
                 .doOnError(err -> logger.error("Error creating loan application for DNI {}: {}", loan.getDni(), err.getMessage()));
     }
 
@@ -51,43 +72,36 @@ public class CreateLoanUseCase {
         }
     }
 
-    private Mono<LoanData> createAndProcessLoan(Loan loan, LoanType loanType, UUID userId) {
-        return findPendingStatus()
-                .flatMap(status -> {
-                    enrichLoan(loan, loanType, status, userId);
-                    return loanRepository.createLoan(loan)
-                            .doOnSuccess(app -> logger.info("Loan application created successfully for DNI: {}", app.getDni()))
-                            .map(savedLoan -> buildLoanData(savedLoan, loanType, status))
-                            .flatMap(loanData -> automaticValidation.handle(loanData, loanType, userId));
-                });
+    /**
+     * The loan type comes from the reference-data cache and is only used for the monthly payment
+     * and the automatic-validation flag; the type, the amount range and the status are checked
+     * again by the database in the statement that inserts the loan.
+     */
+    private Mono<LoanData> createAndProcessLoan(Loan loan, LoanType loanType, String loanTypeName, UUID userId,
+                                                AutomaticValidation.Prefetch prefetch) {
+        enrichLoan(loan, loanType, userId);
+        return loanRepository.createLoanAtomically(loan, loanTypeName, PENDING.getName())
+                .flatMap(this::requireCreated)
+                .flatMap(loanData -> automaticValidation.handle(loanData, loanType, userId, prefetch));
     }
 
-    private Mono<LoanStatus> findPendingStatus() {
-        return loanStatusRepository.findByName(PENDING.getName())
-                .doOnNext(status -> logger.trace("Initial loan status found: {} (ID: {})", PENDING.getName(), status.getIdStatus()))
-                .switchIfEmpty(Mono.defer(() -> {
-                    logger.error("Initial loan status '{}' not found", PENDING.getName());
-                    return Mono.error(new LoanStatusNotFoundException());
-                }));
+    private Mono<LoanData> requireCreated(LoanCreationResult result) {
+        return switch (result.outcome()) {
+            case CREATED -> Mono.just(result.loan());
+            case LOAN_TYPE_NOT_FOUND -> Mono.error(new LoanTypeNotFoundException());
+            case LOAN_AMOUNT_OUT_OF_RANGE -> Mono.error(new LoanAmountOutOfRangeException());
+            case LOAN_STATUS_NOT_FOUND -> {
+                logger.error("Initial loan status '{}' not found", PENDING.getName());
+                yield Mono.error(new LoanStatusNotFoundException());
+            }
+        };
     }
 
-    private void enrichLoan(Loan loan, LoanType loanType, LoanStatus status, UUID userId) {
-        loan.setIdLoanType(loanType.getIdLoanType());
-        loan.setIdStatus(status.getIdStatus());
+    private void enrichLoan(Loan loan, LoanType loanType, UUID userId) {
         loan.setUserId(userId);
-        logger.trace("Enriched loan application for DNI: {} with LoanTypeID: {}, StatusID: {}, UserID: {}",
-                loan.getDni(), loanType.getIdLoanType(), status.getIdStatus(), userId);
-    }
-
-    private LoanData buildLoanData(Loan loan, LoanType loanType, LoanStatus status) {
-        return LoanData.builder()
-                .idLoan(loan.getIdLoan())
-                .amount(loan.getAmount())
-                .loanTerm(loan.getLoanTerm())
-                .email(loan.getEmail())
-                .dni(loan.getDni())
-                .status(status.getName())
-                .loanType(loanType.getName())
-                .build();
+        loan.setMonthlyPayment(loanCalculator.calculateMonthlyPayment(
+                loan.getAmount(), loanType.getInterestRate(), loan.getLoanTerm()));
+        logger.trace("Enriched loan application for DNI: {} with LoanType: {}, UserID: {}",
+                loan.getDni(), loanType.getName(), userId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.creditya.loanservice.usecase;
+
+import com.creditya.loanservice.model.loan.data.LoanWithUser;
+import com.creditya.loanservice.model.loan.gateways.LoanRepository;
+import com.creditya.loanservice.model.loanstatus.Status;
+import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusRepository;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.usecase.utils.LoanEnricher;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams the whole listed portfolio (everything but approved loans) in {@code id_loan} order.
+ * Rows are enriched one chunk at a time and only as fast as the caller consumes them, so memory
+ * stays flat however large the portfolio is. Chunks use the bulk enrichment policy, so an export
+ * fails rather than ship rows without user data when the auth service is too slow.
+ */
+@RequiredArgsConstructor
+public class ExportLoansUseCase {
+
+    private static final int ENRICHMENT_CHUNK_SIZE = 500;
+    private static final int CHUNK_PREFETCH = 1;
+    private static final List<Status> EXCLUDED_STATUSES = List.of(Status.APPROVED);
+
+    private final LoanRepository loanRepository;
+    private final LoanStatusRepository loanStatusRepository;
+    private final LoanEnricher loanEnricher;
+    private final UseCaseLogger logger;
+
+    public Flux<LoanWithUser> execute() {
+        return Flux.fromIterable(EXCLUDED_STATUSES)
+                .flatMap(loanStatusRepository::findIdByStatus)
+                .collectList()
+                .flatMapMany(excluded -> loanRepository.findAllLoans(excluded.toArray(UUID[]::new)))
+                .buffer(ENRICHMENT_CHUNK_SIZE)
+                .concatMap(loanEnricher::enrichBulk, CHUNK_PREFETCH)
+                .concatMapIterable(loans -> loans, CHUNK_PREFETCH)
+                .doOnSubscribe(sub -> logger.info("Starting loan portfolio export"))
+                .doOnComplete(() -> logger.info("Loan portfolio export completed"))
+                .doOnError(e -> logger.error("Loan portfolio export failed: {}", e.getMessage(), e));
+    }
+}
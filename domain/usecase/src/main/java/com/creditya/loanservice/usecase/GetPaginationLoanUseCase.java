@@ -4,14 +4,16 @@ import com.creditya.loanservice.model.loan.data.LoanWithUser;
 import com.creditya.loanservice.model.Page;
 import com.creditya.loanservice.model.loan.data.LoanJoinedProjection;
 import com.creditya.loanservice.model.loan.gateways.LoanRepository;
+import com.creditya.loanservice.model.loanstatus.Status;
+import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusCounterRepository;
 import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusRepository;
-import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
-import com.creditya.loanservice.model.usersnapshot.gateways.UserSnapshotRepository;
 import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
 import com.creditya.loanservice.usecase.exception.IndexOutOfBoundsExceptionPage;
 import com.creditya.loanservice.usecase.exception.IndexOutOfBoundsExceptionPageSize;
-import com.creditya.loanservice.usecase.utils.LoanCalculator;
+import com.creditya.loanservice.usecase.utils.LoanEnricher;
+import com.creditya.loanservice.usecase.utils.PageCursor;
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.*;
@@ -21,30 +23,78 @@ public class GetPaginationLoanUseCase {
 
     private final LoanRepository loanRepository;
     private final LoanStatusRepository loanStatusRepository;
-    private final UserSnapshotRepository userSnapshotRepository;
-    private final LoanCalculator loanCalculator;
+    private final LoanStatusCounterRepository loanStatusCounterRepository;
+    private final LoanEnricher loanEnricher;
     private final UseCaseLogger logger;
 
     private static final int MAX_PAGE_SIZE = 20;
+    private static final int MAX_BULK_PAGE_SIZE = 5000;
+    private static final int BULK_CHUNK_SIZE = 250;
+    private static final int BULK_ENRICHMENT_CONCURRENCY = 4;
     private static final int DEFAULT_PAGE = 0;
     private static final int MIN_PAGE_SIZE = 1;
+    private static final List<Status> EXCLUDED_STATUSES = List.of(Status.APPROVED);
 
     public Mono<Page<LoanWithUser>> execute(int page, int size, List<String> filterStatuses) {
         validatePaginationParameters(page, size);
 
         int normalizedPageSize = Math.min(size, MAX_PAGE_SIZE);
 
-        return resolveStatusIds(filterStatuses)
-                .flatMap(statusIds -> buildPage(page, normalizedPageSize, statusIds))
+        return Mono.zip(resolveStatusIds(filterStatuses), resolveExcludedStatusIds())
+                .flatMap(ids -> buildPage(page, normalizedPageSize, ids.getT1(), ids.getT2()))
                 .doOnSubscribe(sub -> logExecutionStart(page, size, filterStatuses))
                 .doOnSuccess(this::logExecutionSuccess)
                 .doOnError(this::logExecutionError);
     }
 
+    public Mono<Page<LoanWithUser>> executeWithCursor(String cursor, int size, List<String> filterStatuses) {
+        validatePageSize(size);
+
+        int normalizedPageSize = Math.min(size, MAX_PAGE_SIZE);
+        PageCursor pageCursor = cursor == null || cursor.isBlank()
+                ? PageCursor.first(filterStatuses)
+                : PageCursor.decode(cursor);
+
+        return Mono.zip(resolveStatusIds(pageCursor.statuses()), resolveExcludedStatusIds())
+                .flatMap(ids -> buildCursorPage(pageCursor, normalizedPageSize, ids.getT1(), ids.getT2()))
+                .doOnSubscribe(sub -> logger.trace("Executing GetPaginationLoanUseCase with cursor: after={}, size={}, filters={}",
+                        pageCursor.lastLoanId(), size, pageCursor.statuses()))
+                .doOnSuccess(this::logExecutionSuccess)
+                .doOnError(this::logExecutionError);
+    }
+
+    /**
+     * Bulk mode for internal consumers: up to {@value #MAX_BULK_PAGE_SIZE} rows after the given
+     * loan id, streamed as they are read and enriched in chunks with bounded concurrency. No total
+     * is computed; the caller continues from the last {@code idLoan} it received. Chunks use the
+     * bulk enrichment policy: a chunk whose users cannot be loaded fails the stream rather than
+     * returning rows that are only partially enriched.
+     */
+    public Flux<LoanWithUser> executeBulk(UUID after, int size, List<String> filterStatuses) {
+        validatePageSize(size);
+
+        int normalizedPageSize = Math.min(size, MAX_BULK_PAGE_SIZE);
+        UUID lastLoanId = after == null ? PageCursor.first(filterStatuses).lastLoanId() : after;
+
+        return Mono.zip(resolveStatusIds(filterStatuses), resolveExcludedStatusIds())
+                .flatMapMany(ids -> loanRepository.findLoansAfterCursor(
+                        ids.getT1().toArray(UUID[]::new), ids.getT2().toArray(UUID[]::new), lastLoanId, normalizedPageSize))
+                .buffer(BULK_CHUNK_SIZE)
+                .flatMapSequential(loanEnricher::enrichBulk, BULK_ENRICHMENT_CONCURRENCY, 1)
+                .concatMapIterable(loans -> loans, 1)
+                .doOnSubscribe(sub -> logger.trace("Executing bulk listing: after={}, size={}, filters={}",
+                        lastLoanId, normalizedPageSize, filterStatuses))
+                .doOnError(this::logExecutionError);
+    }
+
     private void validatePaginationParameters(int page, int size) {
         if (page < DEFAULT_PAGE) {
             throw new IndexOutOfBoundsExceptionPage();
         }
+        validatePageSize(size);
+    }
+
+    private void validatePageSize(int size) {
         if (size < MIN_PAGE_SIZE) {
             throw new IndexOutOfBoundsExceptionPageSize();
         }
@@ -62,80 +112,51 @@ public class GetPaginationLoanUseCase {
                 .onErrorReturn(Collections.emptyList());
     }
 
-    private Mono<Page<LoanWithUser>> buildPage(int page, int size, List<UUID> statusIds) {
-        int offset = page * size;
-
-        Mono<List<LoanJoinedProjection>> loansListMono = getLoansList(statusIds, size, offset);
-        Mono<Long> totalCountMono = getTotalCount(statusIds);
-
-        return Mono.zip(loansListMono, totalCountMono)
-                .flatMap(tuple -> {
-                    List<LoanJoinedProjection> loans = tuple.getT1();
-                    Long totalCount = tuple.getT2();
-
-                    return enrichLoansWithUserData(loans)
-                            .map(enrichedLoans -> buildPageResponse(page, size, totalCount, enrichedLoans));
-                });
+    private Mono<List<UUID>> resolveExcludedStatusIds() {
+        return Flux.fromIterable(EXCLUDED_STATUSES)
+                .flatMap(loanStatusRepository::findIdByStatus)
+                .collectList();
     }
 
-    private Mono<List<LoanJoinedProjection>> getLoansList(List<UUID> statusIds, int size, int offset) {
+    private Mono<Page<LoanWithUser>> buildPage(int page, int size, List<UUID> statusIds, List<UUID> excludedStatusIds) {
+        int offset = page * size;
         UUID[] statusIdsArray = statusIds.toArray(UUID[]::new);
-        return loanRepository.findLoansWithTypeAndStatus(statusIdsArray, size, offset)
-                .collectList();
-    }
+        UUID[] excludedStatusIdsArray = excludedStatusIds.toArray(UUID[]::new);
 
-    private Mono<Long> getTotalCount(List<UUID> statusIds) {
-        return statusIds.isEmpty()
-                ? loanRepository.countAllLoans()
-                : loanRepository.countLoansByStatusIds(statusIds);
+        return loanRepository.findLoanPage(statusIdsArray, excludedStatusIdsArray, size, offset)
+                .flatMap(result -> loanEnricher.enrich(result.content())
+                        .map(enrichedLoans -> buildPageResponse(page, size, result.totalElements(), enrichedLoans, null)));
     }
 
-    private Mono<List<LoanWithUser>> enrichLoansWithUserData(List<LoanJoinedProjection> loans) {
-        if (loans.isEmpty()) {
-            return Mono.just(Collections.emptyList());
-        }
+    private Mono<Page<LoanWithUser>> buildCursorPage(PageCursor cursor, int size, List<UUID> statusIds,
+                                                     List<UUID> excludedStatusIds) {
+        UUID[] statusIdsArray = statusIds.toArray(UUID[]::new);
+        UUID[] excludedStatusIdsArray = excludedStatusIds.toArray(UUID[]::new);
 
-        List<UUID> userIds = extractUniqueUserIds(loans);
+        Mono<List<LoanJoinedProjection>> loansListMono = loanRepository
+                .findLoansAfterCursor(statusIdsArray, excludedStatusIdsArray, cursor.lastLoanId(), size + 1)
+                .collectList();
+        Mono<Long> totalCountMono = getTotalCount(statusIds, excludedStatusIds);
 
-        return userSnapshotRepository.findUsersByIds(userIds)
-                .collectMap(UserSnapshot::getUserId)
-                .map(userMap -> mapLoansWithUsers(loans, userMap))
-                .onErrorReturn(loans.stream()
-                        .map(loan -> buildLoanWithUser(loan, null))
-                        .toList());
-    }
+        return Mono.zip(loansListMono, totalCountMono)
+                .flatMap(tuple -> {
+                    List<LoanJoinedProjection> fetched = tuple.getT1();
+                    Long totalCount = tuple.getT2();
 
-    private List<UUID> extractUniqueUserIds(List<LoanJoinedProjection> loans) {
-        return loans.stream()
-                .map(LoanJoinedProjection::userId)
-                .filter(Objects::nonNull)
-                .distinct()
-                .toList();
-    }
+                    boolean hasNext = fetched.size() > size;
+                    List<LoanJoinedProjection> loans = hasNext ? fetched.subList(0, size) : fetched;
+                    String next = hasNext ? cursor.next(loans.getLast().idLoan()).encode() : null;
 
-    private List<LoanWithUser> mapLoansWithUsers(List<LoanJoinedProjection> loans, Map<UUID, UserSnapshot> userMap) {
-        return loans.stream()
-                .map(loan -> buildLoanWithUser(loan, userMap.get(loan.userId())))
-                .toList();
+                    return loanEnricher.enrich(loans)
+                            .map(enrichedLoans -> buildPageResponse(0, size, totalCount, enrichedLoans, next));
+                });
     }
 
-    private LoanWithUser buildLoanWithUser(LoanJoinedProjection loan, UserSnapshot user) {
-        return LoanWithUser.builder()
-                .idLoan(loan.idLoan())
-                .userSnapshot(user)
-                .amount(loan.amount())
-                .loanTerm(loan.loanTerm())
-                .email(loan.email())
-                .dni(loan.dni())
-                .loanStatusName(loan.loanStatusName())
-                .loanTypeName(loan.loanTypeName())
-                .interestRate(loan.interestRate())
-                .totalMonthlyDebt(loanCalculator.calculateTotalMonthlyDebt(loan))
-                .approvedLoan(loanCalculator.calculateApprovedLoansCount(loan))
-                .build();
+    private Mono<Long> getTotalCount(List<UUID> statusIds, List<UUID> excludedStatusIds) {
+        return loanStatusCounterRepository.countListedLoans(statusIds, excludedStatusIds);
     }
 
-    private Page<LoanWithUser> buildPageResponse(int page, int size, long totalElements, List<LoanWithUser> content) {
+    private Page<LoanWithUser> buildPageResponse(int page, int size, long totalElements, List<LoanWithUser> content, String next) {
         int totalPages = calculateTotalPages(totalElements, size);
 
         logger.trace("Built page response: page={}, size={}, totalElements={}, totalPages={}, contentSize={}",
@@ -147,6 +168,7 @@ public class GetPaginationLoanUseCase {
                 .limit(size)
                 .totalElements(totalElements)
                 .totalPages(totalPages)
+                .next(next)
                 .build();
     }
 
@@ -0,0 +1,96 @@
+package com.creditya.loanservice.usecase;
+
+import com.creditya.loanservice.model.idempotency.IdempotencyRecord;
+import com.creditya.loanservice.model.idempotency.gateways.IdempotencyRepository;
+import com.creditya.loanservice.model.loan.Loan;
+import com.creditya.loanservice.model.loan.data.LoanData;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.usecase.exception.IdempotencyKeyInProgressException;
+import com.creditya.loanservice.usecase.exception.IdempotencyKeyReusedException;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Loan creation keyed by a client-supplied idempotency key. The first request with a key runs
+ * {@link CreateLoanUseCase} and stores the created loan; repeats get that loan back without running
+ * the flow again, a repeat that arrives while the first is still running is refused, and so is a
+ * key reused for a different application. Keys are scoped to the authenticated user.
+ */
+@RequiredArgsConstructor
+public class IdempotentCreateLoanUseCase {
+
+    private final CreateLoanUseCase createLoanUseCase;
+    private final IdempotencyRepository idempotencyRepository;
+    private final UseCaseLogger logger;
+
+    public Mono<LoanData> createLoan(Loan loan, String loanTypeName, String idempotencyKey) {
+        return Mono.deferContextual(context -> {
+            UUID userId = UUID.fromString(context.get("userId"));
+            String fingerprint = fingerprint(loan, loanTypeName);
+
+            IdempotencyRecord claim = IdempotencyRecord.inFlight(userId, idempotencyKey, fingerprint);
+
+            return idempotencyRepository.claim(claim)
+                    .flatMap(existing -> replay(existing, fingerprint))
+                    .switchIfEmpty(Mono.defer(() -> createAndRemember(loan, loanTypeName, claim)));
+        });
+    }
+
+    private Mono<LoanData> replay(IdempotencyRecord existing, String fingerprint) {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            logger.info("Idempotency key {} reused for a different loan application", existing.key());
+            return Mono.error(new IdempotencyKeyReusedException());
+        }
+        if (!existing.isCompleted()) {
+            logger.info("Loan application with idempotency key {} is still in progress", existing.key());
+            return Mono.error(new IdempotencyKeyInProgressException());
+        }
+        logger.trace("Replaying loan {} for idempotency key {}", existing.loan().getIdLoan(), existing.key());
+        return Mono.just(existing.loan());
+    }
+
+    /**
+     * The result is stored in the loan transaction, so the loan and its key commit together. If the
+     * claim was taken over after its lock expired, storing fails and the loan is rolled back. A failed
+     * or cancelled creation releases the key so the client can retry with it.
+     */
+    private Mono<LoanData> createAndRemember(Loan loan, String loanTypeName, IdempotencyRecord claim) {
+        return createLoanUseCase.createLoan(loan, loanTypeName, created -> remember(claim, created))
+                .onErrorResume(err -> idempotencyRepository.release(claim).then(Mono.error(err)))
+                .doOnCancel(() -> idempotencyRepository.release(claim)
+                        .subscribe(null, err -> logger.error("Could not release idempotency key {}: {}",
+                                claim.key(), err.getMessage())));
+    }
+
+    private Mono<Void> remember(IdempotencyRecord claim, LoanData created) {
+        return idempotencyRepository.complete(claim, created)
+                .flatMap(stored -> {
+                    if (!stored) {
+                        logger.info("Idempotency key {} was taken over by another request", claim.key());
+                        return Mono.error(new IdempotencyKeyInProgressException());
+                    }
+                    return Mono.<Void>empty();
+                });
+    }
+
+    static String fingerprint(Loan loan, String loanTypeName) {
+        String canonical = String.join("|",
+                String.valueOf(loan.getDni()),
+                loan.getAmount() == null ? "null" : loan.getAmount().stripTrailingZeros().toPlainString(),
+                String.valueOf(loan.getLoanTerm()),
+                String.valueOf(loan.getEmail()),
+                String.valueOf(loanTypeName));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
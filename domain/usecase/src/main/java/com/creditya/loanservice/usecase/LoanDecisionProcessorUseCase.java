@@ -4,6 +4,7 @@ import com.creditya.loanservice.model.loan.Loan;
 import com.creditya.loanservice.model.loan.data.LoanApprovedEvent;
 import com.creditya.loanservice.model.loan.data.LoanDecision;
 import com.creditya.loanservice.model.loan.responseEvent.LoanStatusUpdateEvent;
+import com.creditya.loanservice.model.utils.gateways.TransactionalGateway;
 import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
@@ -17,8 +18,11 @@ public class LoanDecisionProcessorUseCase {
     private final SendNotificationUseCase sendNotificationUseCase;
     private final UseCaseLogger useCaseLogger;
     private final SendLoanApprovedEventUseCase sendLoanApprovedEventUseCase;
+    private final TransactionalGateway transactionalGateway;
 
     private static final String APPROVED_STATUS = "Approved";
+    private static final String AUTOMATIC_TRANSACTION_NAME = "loan-decision-automatic";
+    private static final String MANUAL_TRANSACTION_NAME = "loan-decision-manual";
 
     public Mono<LoanDecision> processAutomaticAnalysisResult(LoanStatusUpdateEvent analysisResult) {
         useCaseLogger.info("Processing automatic analysis result for loan {}", analysisResult.idLoan());
@@ -29,30 +33,34 @@ public class LoanDecisionProcessorUseCase {
                 true
         );
 
-        return updateLoanUseCase.updateLoan(decisionToUpdate)
-                .flatMap(updatedLoan -> handleApprovalEvent(updatedLoan, decisionToUpdate))
-                .flatMap(decisionAfterEvent ->
-                        sendNotificationUseCase.sendAutomaticResultNotification(analysisResult)
-                                .thenReturn(decisionAfterEvent)
-                );
+        return transactionalGateway.executeInTransaction(AUTOMATIC_TRANSACTION_NAME,
+                updateLoanUseCase.updateLoan(decisionToUpdate)
+                        .flatMap(updatedLoan -> handleApprovalEvent(updatedLoan, decisionToUpdate))
+                        .flatMap(decisionAfterEvent ->
+                                sendNotificationUseCase.sendAutomaticResultNotification(analysisResult)
+                                        .thenReturn(decisionAfterEvent)
+                        )
+        );
     }
 
     public Mono<LoanDecision> processManualUpdate(LoanDecision manualUpdateRequest) {
         useCaseLogger.info("Processing manual update for loan {}", manualUpdateRequest.getIdLoan());
 
-        return updateLoanUseCase.updateLoan(manualUpdateRequest)
-                .flatMap(updatedLoan -> {
-                    Mono<LoanDecision> decisionMono = handleApprovalEvent(updatedLoan, manualUpdateRequest);
-                    return Mono.zip(Mono.just(updatedLoan), decisionMono);
-                })
-                .flatMap(tuple -> {
-                    Loan updatedLoan = tuple.getT1();
-                    LoanDecision decisionAfterEvent = tuple.getT2();
-
-                    return sendNotificationUseCase.sendManualUpdateNotification(
-                                    updatedLoan, updatedLoan.getEmail(), manualUpdateRequest.getStatus())
-                            .thenReturn(decisionAfterEvent);
-                });
+        return transactionalGateway.executeInTransaction(MANUAL_TRANSACTION_NAME,
+                updateLoanUseCase.updateLoan(manualUpdateRequest)
+                        .flatMap(updatedLoan -> {
+                            Mono<LoanDecision> decisionMono = handleApprovalEvent(updatedLoan, manualUpdateRequest);
+                            return Mono.zip(Mono.just(updatedLoan), decisionMono);
+                        })
+                        .flatMap(tuple -> {
+                            Loan updatedLoan = tuple.getT1();
+                            LoanDecision decisionAfterEvent = tuple.getT2();
+
+                            return sendNotificationUseCase.sendManualUpdateNotification(
+                                            updatedLoan, updatedLoan.getEmail(), manualUpdateRequest.getStatus())
+                                    .thenReturn(decisionAfterEvent);
+                        })
+        );
     }
 
     private Mono<LoanDecision> handleApprovalEvent(Loan updatedLoan, LoanDecision decision) {
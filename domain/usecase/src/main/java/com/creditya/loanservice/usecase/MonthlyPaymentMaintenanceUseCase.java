@@ -0,0 +1,102 @@
+package com.creditya.loanservice.usecase;
+
+import com.creditya.loanservice.model.loan.data.LoanJoinedProjection;
+import com.creditya.loanservice.model.loan.data.MonthlyPaymentConsistency;
+import com.creditya.loanservice.model.loan.gateways.LoanRepository;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.usecase.utils.LoanCalculator;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains the {@code monthly_payment} stored with each loan: the backfill fills rows created
+ * before the column existed, and the consistency check compares stored values with what
+ * {@link LoanCalculator} computes today. Both walk the table in {@code id_loan} order, one chunk at a time.
+ */
+@RequiredArgsConstructor
+public class MonthlyPaymentMaintenanceUseCase {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final UUID FIRST_LOAN = new UUID(0L, 0L);
+    private static final UUID[] NO_STATUSES = new UUID[0];
+
+    private final LoanRepository loanRepository;
+    private final LoanCalculator loanCalculator;
+    private final UseCaseLogger logger;
+
+    public Mono<Long> backfill() {
+        return backfillAfter(FIRST_LOAN, 0L)
+                .doOnSubscribe(sub -> logger.info("Starting monthly payment backfill"))
+                .doOnSuccess(total -> logger.info("Monthly payment backfill finished, {} loans updated", total))
+                .doOnError(e -> logger.error("Monthly payment backfill failed: {}", e.getMessage()));
+    }
+
+    public Mono<MonthlyPaymentConsistency> checkConsistency() {
+        return checkAfter(FIRST_LOAN, MonthlyPaymentConsistency.EMPTY)
+                .doOnSuccess(report -> {
+                    if (report.mismatched() > 0 || report.missing() > 0) {
+                        logger.warn("Monthly payment check: {} loans checked, {} missing, {} differ from the calculator",
+                                report.checked(), report.missing(), report.mismatched());
+                    } else {
+                        logger.info("Monthly payment check: {} loans checked, all consistent", report.checked());
+                    }
+                });
+    }
+
+    private Mono<Long> backfillAfter(UUID cursor, long updated) {
+        return loanRepository.findLoansWithoutMonthlyPayment(cursor, CHUNK_SIZE)
+                .collectList()
+                .flatMap(chunk -> {
+                    if (chunk.isEmpty()) {
+                        return Mono.just(updated);
+                    }
+                    return loanRepository.saveMonthlyPayments(computePayments(chunk))
+                            .flatMap(saved -> backfillAfter(chunk.getLast().idLoan(), updated + saved));
+                });
+    }
+
+    private Map<UUID, BigDecimal> computePayments(List<LoanJoinedProjection> loans) {
+        Map<UUID, BigDecimal> payments = new LinkedHashMap<>();
+        for (LoanJoinedProjection loan : loans) {
+            if (loan.amount() == null || loan.loanTerm() == null || loan.loanTerm() <= 0) {
+                logger.warn("Skipping monthly payment backfill for loan {}: invalid amount or term", loan.idLoan());
+                continue;
+            }
+            payments.put(loan.idLoan(), loanCalculator.calculateTotalMonthlyDebt(loan));
+        }
+        return payments;
+    }
+
+    private Mono<MonthlyPaymentConsistency> checkAfter(UUID cursor, MonthlyPaymentConsistency report) {
+        return loanRepository.findLoansAfterCursor(NO_STATUSES, NO_STATUSES, cursor, CHUNK_SIZE)
+                .collectList()
+                .flatMap(chunk -> {
+                    if (chunk.isEmpty()) {
+                        return Mono.just(report);
+                    }
+                    return checkAfter(chunk.getLast().idLoan(), report.plus(check(chunk)));
+                });
+    }
+
+    private MonthlyPaymentConsistency check(List<LoanJoinedProjection> loans) {
+        long missing = 0;
+        long mismatched = 0;
+        for (LoanJoinedProjection loan : loans) {
+            if (loan.monthlyPayment() == null) {
+                missing++;
+            } else if (loan.amount() != null && loan.loanTerm() != null && loan.loanTerm() > 0
+                    && loan.monthlyPayment().compareTo(loanCalculator.calculateTotalMonthlyDebt(loan)) != 0) {
+                mismatched++;
+                logger.trace("Loan {} stores monthly payment {} but the calculator gives {}",
+                        loan.idLoan(), loan.monthlyPayment(), loanCalculator.calculateTotalMonthlyDebt(loan));
+            }
+        }
+        return new MonthlyPaymentConsistency(loans.size(), missing, mismatched);
+    }
+}
@@ -0,0 +1,120 @@
+package com.creditya.loanservice.usecase;
+
+import com.creditya.loanservice.model.loan.data.LoanJoinedProjection;
+import com.creditya.loanservice.model.loan.data.PortfolioTotal;
+import com.creditya.loanservice.model.loan.gateways.LoanRepository;
+import com.creditya.loanservice.model.money.Money;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.usecase.utils.PortfolioCalculator;
+import com.creditya.loanservice.usecase.utils.PortfolioCalculator.PortfolioColumns;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Totals the whole loan portfolio by status and loan type in one pass over {@code findAllLoans}.
+ * Rows are turned into primitive columns a chunk at a time and summed by {@link PortfolioCalculator},
+ * so only one chunk and the running totals are held in memory.
+ */
+@RequiredArgsConstructor
+public class PortfolioSummaryUseCase {
+
+    private static final int CHUNK_SIZE = 20_000;
+    private static final int CHUNK_PREFETCH = 1;
+    private static final UUID[] NO_EXCLUDED_STATUSES = new UUID[0];
+
+    private final LoanRepository loanRepository;
+    private final PortfolioCalculator portfolioCalculator;
+    private final UseCaseLogger logger;
+
+    public Mono<List<PortfolioTotal>> execute() {
+        return Mono.defer(() -> {
+            Totals totals = new Totals();
+            return loanRepository.findAllLoans(NO_EXCLUDED_STATUSES)
+                    .buffer(CHUNK_SIZE)
+                    .concatMap(chunk -> sumChunk(chunk, totals), CHUNK_PREFETCH)
+                    .then(Mono.fromCallable(totals::toPortfolioTotals));
+        })
+                .doOnSubscribe(sub -> logger.info("Starting loan portfolio summary"))
+                .doOnSuccess(result -> logger.info("Loan portfolio summary completed with {} groups", result.size()))
+                .doOnError(e -> logger.error("Loan portfolio summary failed: {}", e.getMessage(), e));
+    }
+
+    private Mono<Void> sumChunk(List<LoanJoinedProjection> chunk, Totals totals) {
+        PortfolioColumns columns = PortfolioColumns.withCapacity(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            LoanJoinedProjection loan = chunk.get(i);
+            int group = totals.groupOf(loan);
+            long amountCents = Money.ofRounded(loan.amount()).cents();
+
+            columns.amountCents()[i] = amountCents;
+            columns.loanTerms()[i] = loan.loanTerm() == null ? 0 : loan.loanTerm();
+            columns.monthlyRateMicros()[i] = PortfolioCalculator.monthlyRateMicros(loan.interestRate());
+            columns.storedPaymentCents()[i] = loan.monthlyPayment() == null
+                    ? PortfolioCalculator.NOT_STORED
+                    : Money.ofRounded(loan.monthlyPayment()).cents();
+            columns.groups()[i] = group;
+            totals.addLoan(group, amountCents);
+        }
+
+        return Mono.fromFuture(() -> portfolioCalculator.sumMonthlyPayments(columns.withSize(chunk.size()), totals.groupCount()))
+                .doOnNext(totals::addPayments)
+                .then();
+    }
+
+    private static final class Totals {
+
+        private final Map<GroupKey, Integer> groupIndex = new LinkedHashMap<>();
+        private long[] loanCounts = new long[8];
+        private long[] amountCents = new long[8];
+        private long[] paymentCents = new long[8];
+
+        int groupOf(LoanJoinedProjection loan) {
+            return groupIndex.computeIfAbsent(new GroupKey(loan.loanStatusName(), loan.loanTypeName()), key -> {
+                int index = groupIndex.size();
+                if (index == loanCounts.length) {
+                    loanCounts = Arrays.copyOf(loanCounts, index * 2);
+                    amountCents = Arrays.copyOf(amountCents, index * 2);
+                    paymentCents = Arrays.copyOf(paymentCents, index * 2);
+                }
+                return index;
+            });
+        }
+
+        int groupCount() {
+            return groupIndex.size();
+        }
+
+        void addLoan(int group, long cents) {
+            loanCounts[group]++;
+            amountCents[group] = Math.addExact(amountCents[group], cents);
+        }
+
+        void addPayments(long[] sums) {
+            for (int group = 0; group < sums.length; group++) {
+                paymentCents[group] = Math.addExact(paymentCents[group], sums[group]);
+            }
+        }
+
+        List<PortfolioTotal> toPortfolioTotals() {
+            List<PortfolioTotal> result = new ArrayList<>(groupIndex.size());
+            groupIndex.forEach((key, group) -> result.add(PortfolioTotal.builder()
+                    .loanStatusName(key.loanStatusName())
+                    .loanTypeName(key.loanTypeName())
+                    .loanCount(loanCounts[group])
+                    .totalAmount(Money.ofCents(amountCents[group]).toBigDecimal())
+                    .totalMonthlyDebt(Money.ofCents(paymentCents[group]).toBigDecimal())
+                    .build()));
+            return result;
+        }
+    }
+
+    private record GroupKey(String loanStatusName, String loanTypeName) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.creditya.loanservice.usecase;
+
+import com.creditya.loanservice.model.loan.Loan;
+import com.creditya.loanservice.model.loan.data.LoanSimulation;
+import com.creditya.loanservice.model.loan.responseEvent.PaymentInstallment;
+import com.creditya.loanservice.model.loantype.LoanType;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.usecase.utils.LoanCalculator;
+import com.creditya.loanservice.usecase.utils.LoanValidator;
+import com.creditya.loanservice.usecase.utils.PaymentScheduleCache;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class SimulateLoanUseCase {
+
+    private final LoanValidator loanValidator;
+    private final LoanCalculator loanCalculator;
+    private final PaymentScheduleCache paymentScheduleCache;
+    private final UseCaseLogger logger;
+
+    public Mono<LoanSimulation> execute(BigDecimal amount, Integer loanTerm, String loanTypeName) {
+        Loan loan = Loan.builder()
+                .amount(amount)
+                .loanTerm(loanTerm)
+                .build();
+
+        return loanValidator.validate(loan, loanTypeName)
+                .map(loanType -> simulate(amount, loanTerm, loanType))
+                .doOnNext(simulation -> logger.trace("Simulated {} month {} loan of {}: monthly payment {}",
+                        loanTerm, loanTypeName, amount, simulation.monthlyPayment()));
+    }
+
+    private LoanSimulation simulate(BigDecimal amount, Integer loanTerm, LoanType loanType) {
+        BigDecimal interestRate = loanType.getInterestRate();
+        BigDecimal monthlyPayment = loanCalculator.calculateMonthlyPayment(amount, interestRate, loanTerm);
+        List<PaymentInstallment> schedule = paymentScheduleCache.get(amount, interestRate, loanTerm);
+
+        return LoanSimulation.builder()
+                .loanType(loanType.getName())
+                .amount(amount)
+                .loanTerm(loanTerm)
+                .interestRate(interestRate)
+                .monthlyPayment(monthlyPayment)
+                .paymentSchedule(schedule)
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.creditya.loanservice.usecase;
+
+import com.creditya.loanservice.model.usersnapshot.UserChangedEvent;
+import com.creditya.loanservice.model.usersnapshot.gateways.UserSnapshotReplicaRepository;
+import com.creditya.loanservice.model.usersnapshot.gateways.UserSnapshotRepository;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Keeps the local {@code user_snapshot} replica in step with the authentication service:
+ * change events are applied one by one, and a backfill copies every borrower the replica
+ * does not know yet in chunks, so a fresh replica does not need a full event history. The
+ * backfill reads the authentication service directly rather than the user cache, and its rows
+ * give way to any change event for the same user.
+ */
+@RequiredArgsConstructor
+public class SyncUserSnapshotUseCase {
+
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+
+    private final UserSnapshotReplicaRepository userSnapshotReplicaRepository;
+    private final UserSnapshotRepository userSnapshotRepository;
+    private final UseCaseLogger logger;
+
+    public Mono<Void> applyChange(UserChangedEvent event) {
+        logger.trace("Applying user change for {} (deleted={})", event.userId(), event.deleted());
+        Instant changedAt = event.changedAt() == null ? Instant.now() : event.changedAt();
+
+        Mono<Void> write = event.deleted()
+                ? userSnapshotReplicaRepository.delete(event.userId(), changedAt)
+                : userSnapshotReplicaRepository.upsert(event.toSnapshot(), changedAt);
+
+        return write.then(Mono.defer(() -> userSnapshotRepository.invalidate(event.userId())));
+    }
+
+    public Mono<Long> backfill() {
+        logger.info("Starting user snapshot backfill");
+
+        return userSnapshotReplicaRepository.findUnreplicatedUserIds()
+                .buffer(BACKFILL_CHUNK_SIZE)
+                .concatMap(chunk -> userSnapshotRepository.findFreshUsersByIds(chunk)
+                        .collectList()
+                        .flatMap(userSnapshotReplicaRepository::insertBackfilled))
+                .reduce(0L, Long::sum)
+                .doOnSuccess(total -> logger.info("User snapshot backfill finished, {} users replicated", total))
+                .doOnError(e -> logger.error("User snapshot backfill failed: {}", e.getMessage()));
+    }
+}
@@ -4,7 +4,9 @@ import com.creditya.loanservice.model.loan.Loan;
 import com.creditya.loanservice.model.loan.data.LoanDecision;
 import com.creditya.loanservice.model.loan.gateways.LoanRepository;
 import com.creditya.loanservice.model.loanstatus.LoanStatus;
+import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusCounterRepository;
 import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusRepository;
+import com.creditya.loanservice.model.utils.gateways.TransactionalGateway;
 import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
 import com.creditya.loanservice.usecase.exception.LoanNotFoundException;
 import com.creditya.loanservice.usecase.exception.LoanStatusNotFoundException; // Corregido el tipo de excepción
@@ -19,6 +21,8 @@ public class UpdateLoanUseCase {
 
     private final LoanRepository loanRepository;
     private final LoanStatusRepository loanStatusRepository;
+    private final LoanStatusCounterRepository loanStatusCounterRepository;
+    private final TransactionalGateway transactionalGateway;
     private final UseCaseLogger useCaseLogger;
 
     public Mono<Loan> updateLoan(LoanDecision loanDecision) {
@@ -27,8 +31,9 @@ public class UpdateLoanUseCase {
         Mono<Loan> loanMono = findLoanOrFail(loanDecision.getIdLoan());
         Mono<LoanStatus> statusMono = findLoanStatusOrFail(loanDecision.getStatus());
 
-        return Mono.zip(loanMono, statusMono)
-                .flatMap(this::updateAndSaveLoan)
+        return transactionalGateway.executeInTransaction(
+                        Mono.zip(loanMono, statusMono)
+                                .flatMap(this::updateAndSaveLoan))
                 .doOnSuccess(updatedLoan -> useCaseLogger.trace("Successfully updated loan {}", updatedLoan.getIdLoan()));
     }
 
@@ -46,7 +51,11 @@ public class UpdateLoanUseCase {
         Loan loanToUpdate = loanAndStatusTuple.getT1();
         LoanStatus newStatus = loanAndStatusTuple.getT2();
 
+        UUID previousStatusId = loanToUpdate.getIdStatus();
+
         loanToUpdate.setIdStatus(newStatus.getIdStatus());
-        return loanRepository.createLoan(loanToUpdate);
+        return loanRepository.createLoan(loanToUpdate)
+                .flatMap(savedLoan -> loanStatusCounterRepository.transfer(previousStatusId, newStatus.getIdStatus())
+                        .thenReturn(savedLoan));
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.creditya.loanservice.usecase.exception;
+
+import com.creditya.loanservice.usecase.utils.ErrorCatalog;
+
+public class IdempotencyKeyInProgressException extends BaseException {
+    public IdempotencyKeyInProgressException() {
+        super(
+                ErrorCatalog.IDEMPOTENCY_KEY_IN_PROGRESS.getCode(),
+                ErrorCatalog.IDEMPOTENCY_KEY_IN_PROGRESS.getTitle(),
+                ErrorCatalog.IDEMPOTENCY_KEY_IN_PROGRESS.getMessage(),
+                ErrorCatalog.IDEMPOTENCY_KEY_IN_PROGRESS.getStatus(),
+                ErrorCatalog.IDEMPOTENCY_KEY_IN_PROGRESS.getErrors()
+        );
+    }
+}
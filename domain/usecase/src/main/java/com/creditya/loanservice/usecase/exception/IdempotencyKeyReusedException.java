@@ -0,0 +1,15 @@
+package com.creditya.loanservice.usecase.exception;
+
+import com.creditya.loanservice.usecase.utils.ErrorCatalog;
+
+public class IdempotencyKeyReusedException extends BaseException {
+    public IdempotencyKeyReusedException() {
+        super(
+                ErrorCatalog.IDEMPOTENCY_KEY_REUSED.getCode(),
+                ErrorCatalog.IDEMPOTENCY_KEY_REUSED.getTitle(),
+                ErrorCatalog.IDEMPOTENCY_KEY_REUSED.getMessage(),
+                ErrorCatalog.IDEMPOTENCY_KEY_REUSED.getStatus(),
+                ErrorCatalog.IDEMPOTENCY_KEY_REUSED.getErrors()
+        );
+    }
+}
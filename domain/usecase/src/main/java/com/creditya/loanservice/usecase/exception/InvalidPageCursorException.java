@@ -0,0 +1,15 @@
+package com.creditya.loanservice.usecase.exception;
+
+import com.creditya.loanservice.usecase.utils.ErrorCatalog;
+
+public class InvalidPageCursorException extends BaseException {
+    private static final ErrorCatalog error = ErrorCatalog.PAGE_CURSOR_INVALID;
+
+    public InvalidPageCursorException() {
+        super(  error.getCode(),
+                error.getTitle(),
+                error.getMessage(),
+                error.getStatus(),
+                error.getErrors());
+    }
+}
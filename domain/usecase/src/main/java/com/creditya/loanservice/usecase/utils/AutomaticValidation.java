@@ -7,26 +7,60 @@ import com.creditya.loanservice.model.creditanalisys.NewLoanDetails;
 import com.creditya.loanservice.model.loan.data.LoanData;
 import com.creditya.loanservice.model.loan.gateways.LoanRepository;
 import com.creditya.loanservice.model.loan.gateways.LoanSQSSender;
+import com.creditya.loanservice.model.loan.responseEvent.CalculationDetails;
+import com.creditya.loanservice.model.loan.responseEvent.LoanStatusUpdateEvent;
 import com.creditya.loanservice.model.loantype.LoanType;
 import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
 import com.creditya.loanservice.model.usersnapshot.gateways.UserSnapshotRepository;
 import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.model.utils.gateways.UseCaseMetrics;
+import com.creditya.loanservice.usecase.LoanDecisionProcessorUseCase;
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static com.creditya.loanservice.model.loanstatus.Status.REJECTED;
 
 @RequiredArgsConstructor
 public class AutomaticValidation {
 
+    static final String PRESCREEN_METRIC = "loan.capacity.prescreen";
+    private static final String OUTCOME_TAG = "outcome";
+
     private final LoanRepository loanRepository;
     private final UserSnapshotRepository userSnapshotRepository;
     private final LoanSQSSender loanSQSSender;
+    private final LoanCalculator loanCalculator;
+    private final CapacityEngine capacityEngine;
+    private final LoanDecisionProcessorUseCase loanDecisionProcessorUseCase;
+    private final UseCaseMetrics metrics;
     private final UseCaseLogger logger;
 
-    public Mono<LoanData> handle(LoanData loanData, LoanType loanType, UUID userId) {
+    /**
+     * Reads what the automatic analysis needs for loans of these types: the user's active loans and
+     * their snapshot, which may come from the auth service. Both are read concurrently and before
+     * any transaction opens, so no pooled connection waits on a remote call. Nothing is read when
+     * no type has automatic validation.
+     */
+    public Mono<Prefetch> prefetch(List<LoanType> loanTypes, UUID userId) {
+        if (loanTypes.stream().noneMatch(LoanType::getAutomaticValidation)) {
+            return Mono.just(Prefetch.NOT_REQUIRED);
+        }
+
+        Mono<List<ActiveLoanDetails>> activeLoansMono = loanRepository.findActiveLoansByUserId(userId).collectList();
+        Mono<UserSnapshot> userMono = userSnapshotRepository.findUserById(userId);
+
+        return Mono.zip(activeLoansMono, userMono)
+                .map(tuple -> new Prefetch(tuple.getT2(), tuple.getT1()));
+    }
+
+    public Mono<LoanData> handle(LoanData loanData, LoanType loanType, UUID userId, Prefetch prefetch) {
         boolean isAutomaticValidation = loanType.getAutomaticValidation();
 
         if (!isAutomaticValidation) {
@@ -35,24 +69,96 @@ public class AutomaticValidation {
         }
 
         logger.trace("Loan type has automatic validation for loan {}. Preparing message for Lambda analysis.", loanData.getIdLoan());
-        Mono<List<ActiveLoanDetails>> activeLoansMono = loanRepository.findActiveLoansByUserId(userId).collectList();
-        Mono<UserSnapshot> userMono = userSnapshotRepository.findUserById(userId);
+        CapacityEngine.Assessment assessment = assess(loanData, loanType, prefetch);
 
-        return Mono.zip(activeLoansMono, userMono)
-                .flatMap(tuple -> {
-                    List<ActiveLoanDetails> activeLoansList = tuple.getT1();
-                    UserSnapshot user = tuple.getT2();
-                    CreditAnalysis creditAnalysis = buildCreditAnalysisMessage(loanData, loanType, user.getBaseSalary(), activeLoansList, userId);
-                    return loanSQSSender.sendCreditAnalysis(creditAnalysis)
-                            .doOnSuccess(v -> logger.info("Successfully sent loan {} for automatic analysis.", loanData.getIdLoan()))
-                            .thenReturn(loanData);
-                });
+        if (assessment.clearlyUnaffordable()) {
+            return rejectLocally(loanData, loanType, userId, assessment);
+        }
+
+        metrics.increment(PRESCREEN_METRIC, OUTCOME_TAG, "forwarded");
+        CreditAnalysis creditAnalysis = buildCreditAnalysisMessage(loanData, loanType, prefetch, userId);
+        return loanSQSSender.sendCreditAnalysis(creditAnalysis)
+                .doOnSuccess(v -> logger.info("Successfully sent loan {} for automatic analysis.", loanData.getIdLoan()))
+                .thenReturn(loanData);
+    }
+
+    /**
+     * Batch counterpart of {@link #handle}: {@code loanTypes.get(i)} is the type of {@code loans.get(i)}.
+     * The loans that pass the pre-screen go out through {@link LoanSQSSender#sendCreditAnalyses}.
+     * Results keep input order.
+     */
+    public Mono<List<LoanData>> handleAll(List<LoanData> loans, List<LoanType> loanTypes, UUID userId, Prefetch prefetch) {
+        List<Integer> automatic = IntStream.range(0, loans.size())
+                .filter(i -> loanTypes.get(i).getAutomaticValidation())
+                .boxed()
+                .toList();
+
+        if (automatic.isEmpty()) {
+            logger.trace("No loan of the batch has automatic validation. Flow complete.");
+            return Mono.just(loans);
+        }
+
+        List<LoanData> results = new ArrayList<>(loans);
+        List<CreditAnalysis> creditAnalyses = new ArrayList<>();
+        List<Mono<LoanData>> rejections = new ArrayList<>();
+
+        for (int i : automatic) {
+            LoanData loanData = loans.get(i);
+            LoanType loanType = loanTypes.get(i);
+            CapacityEngine.Assessment assessment = assess(loanData, loanType, prefetch);
+
+            if (assessment.clearlyUnaffordable()) {
+                rejections.add(rejectLocally(loanData, loanType, userId, assessment)
+                        .doOnNext(rejected -> results.set(i, rejected)));
+            } else {
+                metrics.increment(PRESCREEN_METRIC, OUTCOME_TAG, "forwarded");
+                creditAnalyses.add(buildCreditAnalysisMessage(loanData, loanType, prefetch, userId));
+            }
+        }
+
+        Mono<Integer> sent = creditAnalyses.isEmpty()
+                ? Mono.just(0)
+                : loanSQSSender.sendCreditAnalyses(creditAnalyses)
+                        .doOnSuccess(count -> logger.info("Successfully sent {} loans for automatic analysis.", count));
+
+        return Flux.concat(rejections)
+                .then(sent)
+                .thenReturn(results);
+    }
+
+    private CapacityEngine.Assessment assess(LoanData loanData, LoanType loanType, Prefetch prefetch) {
+        BigDecimal newMonthlyPayment = loanCalculator.calculateMonthlyPayment(
+                loanData.getAmount(), loanType.getInterestRate(), loanData.getLoanTerm());
+        return capacityEngine.assess(prefetch.user().getBaseSalary(), prefetch.activeLoans(), newMonthlyPayment);
+    }
+
+    private Mono<LoanData> rejectLocally(LoanData loanData, LoanType loanType, UUID userId,
+                                         CapacityEngine.Assessment assessment) {
+        logger.info("Loan {} rejected by capacity pre-screen: monthly payment {} exceeds the allowed share of salary",
+                loanData.getIdLoan(), assessment.newMonthlyPayment());
+
+        LoanStatusUpdateEvent result = new LoanStatusUpdateEvent(
+                loanData.getIdLoan(),
+                userId,
+                loanData.getEmail(),
+                REJECTED.getName(),
+                new CalculationDetails(
+                        new com.creditya.loanservice.model.loan.responseEvent.NewLoanDetails(
+                                loanData.getAmount(), loanData.getLoanTerm(), loanType.getInterestRate()),
+                        assessment.availableCapacity(),
+                        assessment.newMonthlyPayment(),
+                        List.of()),
+                true
+        );
+
+        return loanDecisionProcessorUseCase.processAutomaticAnalysisResult(result)
+                .doOnSuccess(decision -> metrics.increment(PRESCREEN_METRIC, OUTCOME_TAG, "rejected"))
+                .thenReturn(loanData.toBuilder().status(REJECTED.getName()).build());
     }
 
     private CreditAnalysis buildCreditAnalysisMessage(LoanData loanData,
                                                       LoanType loanType,
-                                                      BigDecimal baseSalary,
-                                                      List<ActiveLoanDetails> activeLoans,
+                                                      Prefetch prefetch,
                                                       UUID userId) {
         NewLoanDetails newLoanDetails = new NewLoanDetails(
                 loanData.getAmount(),
@@ -61,8 +167,8 @@ public class AutomaticValidation {
         );
 
         ClientFinancialProfile profile = new ClientFinancialProfile(
-                baseSalary,
-                activeLoans
+                prefetch.user().getBaseSalary(),
+                prefetch.activeLoans()
         );
 
         return  CreditAnalysis.builder()
@@ -74,4 +180,11 @@ public class AutomaticValidation {
                 .automaticValidation(true)
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Remote reads done by {@link #prefetch}; {@link #NOT_REQUIRED} when no loan needs them.
+     */
+    public record Prefetch(UserSnapshot user, List<ActiveLoanDetails> activeLoans) {
+        public static final Prefetch NOT_REQUIRED = new Prefetch(null, List.of());
+    }
+}
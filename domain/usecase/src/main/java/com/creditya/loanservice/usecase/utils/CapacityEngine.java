@@ -0,0 +1,46 @@
+package com.creditya.loanservice.usecase.utils;
+
+import com.creditya.loanservice.model.creditanalisys.ActiveLoanDetails;
+import com.creditya.loanservice.model.money.Money;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * In-process debt-capacity check run before a loan is sent for remote credit analysis. Only
+ * loans whose new payment alone is above the allowed share of the salary are flagged; anything
+ * closer to the limit is left to the remote analysis.
+ */
+@RequiredArgsConstructor
+public class CapacityEngine {
+
+    private final LoanCalculator loanCalculator;
+    private final CapacityPolicy capacityPolicy;
+
+    public Assessment assess(BigDecimal baseSalary, List<ActiveLoanDetails> activeLoans, BigDecimal newMonthlyPayment) {
+        if (baseSalary == null) {
+            return new Assessment(null, newMonthlyPayment, false);
+        }
+
+        Money maxDebt = Money.ofRounded(baseSalary.multiply(capacityPolicy.maxDebtShare()));
+        Money activeDebt = Money.ZERO;
+        for (ActiveLoanDetails activeLoan : activeLoans) {
+            if (isComplete(activeLoan)) {
+                activeDebt = activeDebt.plus(Money.ofRounded(loanCalculator.calculateMonthlyPayment(
+                        activeLoan.amount(), activeLoan.interestRate(), activeLoan.loanTerm())));
+            }
+        }
+
+        Money availableCapacity = maxDebt.minus(activeDebt);
+        boolean clearlyUnaffordable = Money.ofRounded(newMonthlyPayment).compareTo(maxDebt) > 0;
+        return new Assessment(availableCapacity.toBigDecimal(), newMonthlyPayment, clearlyUnaffordable);
+    }
+
+    private boolean isComplete(ActiveLoanDetails loan) {
+        return loan.amount() != null && loan.interestRate() != null && loan.loanTerm() != null && loan.loanTerm() > 0;
+    }
+
+    public record Assessment(BigDecimal availableCapacity, BigDecimal newMonthlyPayment, boolean clearlyUnaffordable) {
+    }
+}
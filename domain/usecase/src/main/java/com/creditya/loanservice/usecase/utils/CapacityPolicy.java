@@ -0,0 +1,9 @@
+package com.creditya.loanservice.usecase.utils;
+
+import java.math.BigDecimal;
+
+/**
+ * Share of the base salary that all monthly loan payments together may take.
+ */
+public record CapacityPolicy(BigDecimal maxDebtShare) {
+}
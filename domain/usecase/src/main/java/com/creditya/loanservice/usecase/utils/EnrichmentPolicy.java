@@ -0,0 +1,19 @@
+package com.creditya.loanservice.usecase.utils;
+
+import java.time.Duration;
+
+/**
+ * How long a lookup may wait for user data. Interactive listings fall back to cached snapshots once
+ * the budget is spent; exports and bulk reads have a longer budget and fail instead, so they never
+ * ship rows that were silently left without user data.
+ */
+public record EnrichmentPolicy(Duration timeBudget, boolean fallBackToCache) {
+
+    public static EnrichmentPolicy listing(Duration timeBudget) {
+        return new EnrichmentPolicy(timeBudget, true);
+    }
+
+    public static EnrichmentPolicy bulk(Duration timeBudget) {
+        return new EnrichmentPolicy(timeBudget, false);
+    }
+}
@@ -28,6 +28,16 @@ public enum ErrorCatalog {
             )
     ),
 
+    PAGE_CURSOR_INVALID(
+            "APPLICATIONS_PAGE_CURSOR_INVALID",
+            "Invalid Page Cursor",
+            "The page cursor is malformed or was not issued by this service.",
+            400,
+            Map.of(
+                    "cursor", "Use the 'next' value returned by the previous page"
+            )
+    ),
+
     DNI_MISMATCH(
             "APPLICATIONS_DNI_MISMATCH",
             "DNI Mismatch",
@@ -99,6 +109,22 @@ public enum ErrorCatalog {
             )
     ),
 
+    IDEMPOTENCY_KEY_IN_PROGRESS(
+            "IDEMPOTENCY_KEY_IN_PROGRESS",
+            "Request In Progress",
+            "A request with the same Idempotency-Key is still being processed. Retry once it has finished.",
+            409,
+            Map.of("Idempotency-Key", "The first request sent with this key has not finished yet")
+    ),
+
+    IDEMPOTENCY_KEY_REUSED(
+            "IDEMPOTENCY_KEY_REUSED",
+            "Idempotency Key Reused",
+            "The Idempotency-Key was already used for a different request.",
+            422,
+            Map.of("Idempotency-Key", "Use a new key for every distinct loan application")
+    ),
+
     VALIDATION_EXCEPTION(
             "VALIDATION_EXCEPTION",
             "Validation Failed",
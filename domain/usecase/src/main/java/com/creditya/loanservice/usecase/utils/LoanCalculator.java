@@ -1,20 +1,29 @@
 package com.creditya.loanservice.usecase.utils;
 
 import com.creditya.loanservice.model.loan.data.LoanJoinedProjection;
+import com.creditya.loanservice.model.loan.responseEvent.PaymentInstallment;
+import com.creditya.loanservice.model.money.Money;
 import com.creditya.loanservice.usecase.exception.IndexOutOfBoundsExceptionPage;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class LoanCalculator {
 
     private static final int DEFAULT_DECIMAL_SCALE = 2;
     private static final int EXTRA_PRECISION = 4;
     private static final RoundingMode DEFAULT_ROUNDING_MODE = RoundingMode.HALF_UP;
+    private static final int MAX_CACHED_FACTORS = 1024;
+    private static final long RATE_UNIT = 1_000_000L; // monthly rates carry six decimals
 
     private final LoanStatus loanStatus;
+    private final ConcurrentMap<FactorKey, AnnuityFactor> annuityFactors = new ConcurrentHashMap<>();
 
     public LoanCalculator(LoanStatus loanStatus) {
         this.loanStatus = Objects.requireNonNull(loanStatus, "loanStatus must not be null");
@@ -29,28 +38,110 @@ public class LoanCalculator {
 
     public BigDecimal calculateTotalMonthlyDebt(LoanJoinedProjection loan) {
         Objects.requireNonNull(loan, "loan must not be null");
-        Objects.requireNonNull(loan.amount(), "loan amount must not be null");
-        Objects.requireNonNull(loan.interestRate(), "interestRate must not be null");
+        return calculateMonthlyPayment(loan.amount(), loan.interestRate(), loan.loanTerm());
+    }
+
+    /**
+     * Monthly payment stored with the loan when it was created, or computed from amount, rate
+     * and term for rows the backfill has not reached yet.
+     */
+    public BigDecimal resolveMonthlyPayment(LoanJoinedProjection loan) {
+        Objects.requireNonNull(loan, "loan must not be null");
+        return loan.monthlyPayment() != null ? loan.monthlyPayment() : calculateTotalMonthlyDebt(loan);
+    }
 
-        if (loan.loanTerm() <= 0) {
+    public BigDecimal calculateMonthlyPayment(BigDecimal amount, BigDecimal interestRate, Integer loanTerm) {
+        Objects.requireNonNull(amount, "loan amount must not be null");
+        Objects.requireNonNull(interestRate, "interestRate must not be null");
+
+        if (loanTerm == null || loanTerm <= 0) {
             throw new IndexOutOfBoundsExceptionPage();
         }
 
-        BigDecimal monthlyRate = loan.interestRate()
+        AnnuityFactor factor = annuityFactor(interestRate, loanTerm);
+
+        if (factor.interestFree()) {
+            return Money.isExact(amount)
+                    ? Money.of(amount).dividedBy(loanTerm).toBigDecimal()
+                    : amount.divide(BigDecimal.valueOf(loanTerm), DEFAULT_DECIMAL_SCALE, DEFAULT_ROUNDING_MODE);
+        }
+
+        return amount
+                .multiply(factor.numerator())
+                .divide(factor.denominator(), DEFAULT_DECIMAL_SCALE, DEFAULT_ROUNDING_MODE);
+    }
+
+    /**
+     * Month-by-month split of the annuity into interest and principal, in cents. The last
+     * installment takes whatever balance is left so the schedule always pays off the amount.
+     */
+    public List<PaymentInstallment> calculatePaymentSchedule(BigDecimal amount, BigDecimal interestRate, Integer loanTerm) {
+        Money payment = Money.ofRounded(calculateMonthlyPayment(amount, interestRate, loanTerm));
+        long monthlyRate = annuityFactor(interestRate, loanTerm).monthlyRate().unscaledValue().longValueExact();
+
+        Money balance = Money.ofRounded(amount);
+        List<PaymentInstallment> schedule = new ArrayList<>(loanTerm);
+        for (int month = 1; month <= loanTerm; month++) {
+            Money interest = balance.times(monthlyRate).dividedBy(RATE_UNIT);
+            Money principal = month == loanTerm ? balance : payment.minus(interest);
+            if (principal.compareTo(balance) > 0) {
+                principal = balance;
+            }
+            balance = balance.minus(principal);
+            schedule.add(new PaymentInstallment(month,
+                    principal.plus(interest).toBigDecimal(),
+                    principal.toBigDecimal(),
+                    interest.toBigDecimal(),
+                    balance.toBigDecimal()));
+        }
+        return List.copyOf(schedule);
+    }
+
+    int cachedFactorCount() {
+        return annuityFactors.size();
+    }
+
+    /**
+     * The annuity terms only depend on rate and term, of which there are few distinct pairs, so
+     * they are computed once and reused. The cache stops growing at {@value #MAX_CACHED_FACTORS}
+     * entries; rarer pairs are then computed on every call.
+     */
+    private AnnuityFactor annuityFactor(BigDecimal interestRate, int loanTerm) {
+        FactorKey key = new FactorKey(interestRate, loanTerm);
+        AnnuityFactor cached = annuityFactors.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        AnnuityFactor computed = computeAnnuityFactor(interestRate, loanTerm);
+        if (annuityFactors.size() < MAX_CACHED_FACTORS) {
+            annuityFactors.putIfAbsent(key, computed);
+        }
+        return computed;
+    }
+
+    private AnnuityFactor computeAnnuityFactor(BigDecimal interestRate, int loanTerm) {
+        BigDecimal monthlyRate = interestRate
                 .divide(BigDecimal.valueOf(100), DEFAULT_DECIMAL_SCALE + EXTRA_PRECISION, DEFAULT_ROUNDING_MODE)
                 .divide(BigDecimal.valueOf(12), DEFAULT_DECIMAL_SCALE + EXTRA_PRECISION, DEFAULT_ROUNDING_MODE);
 
         if (monthlyRate.compareTo(BigDecimal.ZERO) == 0) {
-            return loan.amount()
-                    .divide(BigDecimal.valueOf(loan.loanTerm()), DEFAULT_DECIMAL_SCALE, DEFAULT_ROUNDING_MODE);
+            return AnnuityFactor.INTEREST_FREE;
         }
 
-        BigDecimal onePlusRate = BigDecimal.ONE.add(monthlyRate);
-        BigDecimal numerator = monthlyRate.multiply(onePlusRate.pow(loan.loanTerm(), MathContext.DECIMAL64));
-        BigDecimal denominator = onePlusRate.pow(loan.loanTerm(), MathContext.DECIMAL64).subtract(BigDecimal.ONE);
+        BigDecimal compounded = BigDecimal.ONE.add(monthlyRate).pow(loanTerm, MathContext.DECIMAL64);
+        return new AnnuityFactor(monthlyRate, monthlyRate.multiply(compounded), compounded.subtract(BigDecimal.ONE));
+    }
+
+    private record FactorKey(BigDecimal interestRate, int loanTerm) {
+    }
 
-        return loan.amount()
-                .multiply(numerator)
-                .divide(denominator, DEFAULT_DECIMAL_SCALE, DEFAULT_ROUNDING_MODE);
+    private record AnnuityFactor(BigDecimal monthlyRate, BigDecimal numerator, BigDecimal denominator) {
+
+        static final AnnuityFactor INTEREST_FREE = new AnnuityFactor(BigDecimal.ZERO, null, null);
+
+        boolean interestFree() {
+            return numerator == null;
+        }
     }
 }
@@ -0,0 +1,98 @@
+package com.creditya.loanservice.usecase.utils;
+
+import com.creditya.loanservice.model.loan.data.LoanJoinedProjection;
+import com.creditya.loanservice.model.loan.data.LoanWithUser;
+import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
+import com.creditya.loanservice.model.usersnapshot.gateways.UserSnapshotRepository;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Turns loan rows into {@link LoanWithUser} with one bulk user lookup per call. Interactive
+ * listings use the listing {@link EnrichmentPolicy}, past which rows are filled from cached
+ * snapshots only; exports and bulk reads use the bulk policy, which fails the call instead.
+ */
+@RequiredArgsConstructor
+public class LoanEnricher {
+
+    private final UserSnapshotRepository userSnapshotRepository;
+    private final LoanCalculator loanCalculator;
+    private final EnrichmentPolicy listingPolicy;
+    private final EnrichmentPolicy bulkPolicy;
+    private final UseCaseLogger logger;
+
+    public Mono<List<LoanWithUser>> enrich(List<LoanJoinedProjection> loans) {
+        return enrich(loans, listingPolicy);
+    }
+
+    public Mono<List<LoanWithUser>> enrichBulk(List<LoanJoinedProjection> loans) {
+        return enrich(loans, bulkPolicy);
+    }
+
+    private Mono<List<LoanWithUser>> enrich(List<LoanJoinedProjection> loans, EnrichmentPolicy policy) {
+        if (loans.isEmpty()) {
+            return Mono.just(Collections.emptyList());
+        }
+
+        List<UUID> userIds = extractUniqueUserIds(loans);
+
+        Mono<Map<UUID, UserSnapshot>> users = userSnapshotRepository.findUsersByIds(userIds)
+                .collectMap(UserSnapshot::getUserId)
+                .timeout(policy.timeBudget());
+
+        if (!policy.fallBackToCache()) {
+            return users
+                    .doOnError(error -> logger.error("User enrichment for {} users did not finish within {}: {}",
+                            userIds.size(), policy.timeBudget(), error.toString()))
+                    .map(userMap -> mapLoansWithUsers(loans, userMap));
+        }
+
+        return users
+                .onErrorResume(error -> {
+                    logger.warn("User enrichment for {} users did not finish within {}: {}. Using cached snapshots",
+                            userIds.size(), policy.timeBudget(), error.toString());
+                    return userSnapshotRepository.findCachedUsersByIds(userIds)
+                            .collectMap(UserSnapshot::getUserId)
+                            .onErrorReturn(Collections.emptyMap());
+                })
+                .map(userMap -> mapLoansWithUsers(loans, userMap));
+    }
+
+    private List<UUID> extractUniqueUserIds(List<LoanJoinedProjection> loans) {
+        return loans.stream()
+                .map(LoanJoinedProjection::userId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
+    private List<LoanWithUser> mapLoansWithUsers(List<LoanJoinedProjection> loans, Map<UUID, UserSnapshot> userMap) {
+        return loans.stream()
+                .map(loan -> buildLoanWithUser(loan, userMap.get(loan.userId())))
+                .toList();
+    }
+
+    private LoanWithUser buildLoanWithUser(LoanJoinedProjection loan, UserSnapshot user) {
+        return LoanWithUser.builder()
+                .idLoan(loan.idLoan())
+                .userSnapshot(user)
+                .amount(loan.amount())
+                .loanTerm(loan.loanTerm())
+                .email(loan.email())
+                .dni(loan.dni())
+                .loanStatusName(loan.loanStatusName())
+                .loanTypeName(loan.loanTypeName())
+                .interestRate(loan.interestRate())
+                .totalMonthlyDebt(loanCalculator.resolveMonthlyPayment(loan))
+                .approvedLoan(loanCalculator.calculateApprovedLoansCount(loan))
+                .enriched(user != null)
+                .build();
+    }
+}
@@ -26,6 +26,10 @@ public class LoanValidator {
                 .switchIfEmpty(Mono.error(new LoanAmountOutOfRangeException()));
     }
 
+    /**
+     * Compares the exact requested amount, so sub-cent digits past a bound are rejected rather
+     * than rounded into range.
+     */
     private boolean isAmountInRange(Loan loan, LoanType type, String loanTypeName) {
         boolean inRange = loan.getAmount().compareTo(type.getMinimumAmount()) >= 0 &&
                 loan.getAmount().compareTo(type.getMaximumAmount()) <= 0;
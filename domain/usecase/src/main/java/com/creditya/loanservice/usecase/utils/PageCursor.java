@@ -0,0 +1,55 @@
+package com.creditya.loanservice.usecase.utils;
+
+import com.creditya.loanservice.usecase.exception.InvalidPageCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position for the loan listing: the last {@code id_loan} served
+ * plus the status filter that was active, so follow-up pages keep the same filter.
+ */
+public record PageCursor(UUID lastLoanId, List<String> statuses) {
+
+    private static final UUID FIRST_PAGE = new UUID(0L, 0L);
+    private static final String FIELD_SEPARATOR = "|";
+    private static final String STATUS_SEPARATOR = ",";
+
+    public PageCursor {
+        statuses = statuses == null ? List.of() : List.copyOf(statuses);
+    }
+
+    public static PageCursor first(List<String> statuses) {
+        return new PageCursor(FIRST_PAGE, statuses);
+    }
+
+    public PageCursor next(UUID lastLoanId) {
+        return new PageCursor(lastLoanId, statuses);
+    }
+
+    public String encode() {
+        String raw = lastLoanId + FIELD_SEPARATOR + String.join(STATUS_SEPARATOR, statuses);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(FIELD_SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidPageCursorException();
+            }
+            UUID lastLoanId = UUID.fromString(raw.substring(0, separator));
+            String statusPart = raw.substring(separator + 1);
+            List<String> statuses = statusPart.isEmpty()
+                    ? List.of()
+                    : Arrays.asList(statusPart.split(STATUS_SEPARATOR));
+            return new PageCursor(lastLoanId, statuses);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageCursorException();
+        }
+    }
+}
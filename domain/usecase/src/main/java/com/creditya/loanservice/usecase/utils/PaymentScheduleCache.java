@@ -0,0 +1,57 @@
+package com.creditya.loanservice.usecase.utils;
+
+import com.creditya.loanservice.model.loan.responseEvent.PaymentInstallment;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of amortization schedules keyed by amount, rate and term. Schedules
+ * are computed outside the lock, so two callers missing on the same key may both compute it.
+ */
+public class PaymentScheduleCache {
+
+    private final LoanCalculator loanCalculator;
+    private final Map<ScheduleKey, List<PaymentInstallment>> schedules;
+
+    public PaymentScheduleCache(LoanCalculator loanCalculator, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.loanCalculator = loanCalculator;
+        this.schedules = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ScheduleKey, List<PaymentInstallment>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public List<PaymentInstallment> get(BigDecimal amount, BigDecimal interestRate, int loanTerm) {
+        ScheduleKey key = new ScheduleKey(amount.stripTrailingZeros(), interestRate.stripTrailingZeros(), loanTerm);
+        List<PaymentInstallment> cached;
+        synchronized (schedules) {
+            cached = schedules.get(key);
+        }
+        if (cached != null) {
+            return cached;
+        }
+
+        List<PaymentInstallment> computed = loanCalculator.calculatePaymentSchedule(amount, interestRate, loanTerm);
+        synchronized (schedules) {
+            schedules.put(key, computed);
+        }
+        return computed;
+    }
+
+    int size() {
+        synchronized (schedules) {
+            return schedules.size();
+        }
+    }
+
+    private record ScheduleKey(BigDecimal amount, BigDecimal interestRate, int loanTerm) {
+    }
+}
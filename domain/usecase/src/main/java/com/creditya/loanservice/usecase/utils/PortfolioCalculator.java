@@ -0,0 +1,121 @@
+package com.creditya.loanservice.usecase.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Portfolio-wide counterpart of {@link LoanCalculator}: sums monthly payments per group over
+ * primitive columns, splitting the rows into chunks evaluated in parallel on a fork/join pool.
+ * Payments are computed in double precision and rounded half up to the cent, so a row can land
+ * one cent away from {@link LoanCalculator#calculateMonthlyPayment}; use it for totals only.
+ */
+public class PortfolioCalculator {
+
+    public static final long NOT_STORED = -1L;
+
+    static final int CHUNK_SIZE = 4096;
+    private static final double RATE_UNIT = 1_000_000d;
+
+    private final ForkJoinPool pool;
+
+    public PortfolioCalculator(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool, "pool must not be null");
+    }
+
+    /**
+     * Monthly rate in millionths, rounded the way {@link LoanCalculator} rounds it.
+     */
+    public static long monthlyRateMicros(BigDecimal annualRatePercent) {
+        long annualMicros = annualRatePercent.movePointRight(4).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        return Math.floorDiv(annualMicros + 6, 12);
+    }
+
+    static long monthlyPaymentCents(long amountCents, int loanTerm, long monthlyRateMicros) {
+        if (loanTerm <= 0) {
+            return 0L;
+        }
+        if (monthlyRateMicros == 0L) {
+            return Math.floorDiv(2 * amountCents + loanTerm, 2L * loanTerm);
+        }
+        double rate = monthlyRateMicros / RATE_UNIT;
+        double compounded = Math.pow(1 + rate, loanTerm);
+        return Math.round(amountCents * rate * compounded / (compounded - 1));
+    }
+
+    /**
+     * Sums the first {@code size} rows' monthly payments into {@code groupCount} buckets. A row
+     * whose {@code storedPaymentCents} is not {@link #NOT_STORED} contributes that value as is.
+     */
+    public CompletableFuture<long[]> sumMonthlyPayments(PortfolioColumns columns, int groupCount) {
+        return CompletableFuture.supplyAsync(() -> pool.invoke(new SumTask(columns, groupCount, 0, columns.size())), pool);
+    }
+
+    /**
+     * Column-oriented batch of loans; {@code groups[i]} is the bucket row {@code i} is summed into.
+     */
+    public record PortfolioColumns(long[] amountCents,
+                                   int[] loanTerms,
+                                   long[] monthlyRateMicros,
+                                   long[] storedPaymentCents,
+                                   int[] groups,
+                                   int size) {
+
+        public static PortfolioColumns withCapacity(int capacity) {
+            return new PortfolioColumns(new long[capacity], new int[capacity], new long[capacity],
+                    new long[capacity], new int[capacity], 0);
+        }
+
+        public PortfolioColumns withSize(int size) {
+            return new PortfolioColumns(amountCents, loanTerms, monthlyRateMicros, storedPaymentCents, groups, size);
+        }
+    }
+
+    private static final class SumTask extends RecursiveTask<long[]> {
+
+        private final PortfolioColumns columns;
+        private final int groupCount;
+        private final int from;
+        private final int to;
+
+        SumTask(PortfolioColumns columns, int groupCount, int from, int to) {
+            this.columns = columns;
+            this.groupCount = groupCount;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= CHUNK_SIZE) {
+                return sumRange();
+            }
+            int middle = (from + to) >>> 1;
+            SumTask left = new SumTask(columns, groupCount, from, middle);
+            left.fork();
+            long[] right = new SumTask(columns, groupCount, middle, to).compute();
+            long[] sums = left.join();
+            for (int group = 0; group < groupCount; group++) {
+                sums[group] = Math.addExact(sums[group], right[group]);
+            }
+            return sums;
+        }
+
+        private long[] sumRange() {
+            long[] sums = new long[groupCount];
+            long[] amounts = columns.amountCents();
+            int[] terms = columns.loanTerms();
+            long[] rates = columns.monthlyRateMicros();
+            long[] stored = columns.storedPaymentCents();
+            int[] groups = columns.groups();
+            for (int i = from; i < to; i++) {
+                long payment = stored[i] != NOT_STORED ? stored[i] : monthlyPaymentCents(amounts[i], terms[i], rates[i]);
+                sums[groups[i]] += payment;
+            }
+            return sums;
+        }
+    }
+}
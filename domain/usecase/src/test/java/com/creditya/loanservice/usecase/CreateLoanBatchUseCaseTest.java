@@ -0,0 +1,177 @@
+package com.creditya.loanservice.usecase;
+
+import com.creditya.loanservice.model.loan.Loan;
+import com.creditya.loanservice.model.loan.data.LoanApplication;
+import com.creditya.loanservice.model.loan.data.LoanBatchResult;
+import com.creditya.loanservice.model.loan.data.LoanData;
+import com.creditya.loanservice.model.loan.gateways.LoanRepository;
+import com.creditya.loanservice.model.loanstatus.LoanStatus;
+import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusCounterRepository;
+import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusRepository;
+import com.creditya.loanservice.model.loantype.LoanType;
+import com.creditya.loanservice.model.utils.gateways.TransactionalGateway;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.usecase.exception.LoanAmountOutOfRangeException;
+import com.creditya.loanservice.usecase.exception.LoanStatusNotFoundException;
+import com.creditya.loanservice.usecase.utils.AutomaticValidation;
+import com.creditya.loanservice.usecase.utils.ErrorCatalog;
+import com.creditya.loanservice.usecase.utils.LoanCalculator;
+import com.creditya.loanservice.usecase.utils.LoanValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CreateLoanBatchUseCaseTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private LoanStatusRepository loanStatusRepository;
+
+    @Mock
+    private LoanStatusCounterRepository loanStatusCounterRepository;
+
+    @Mock
+    private LoanValidator loanValidator;
+
+    @Mock
+    private AutomaticValidation automaticValidation;
+
+    @Mock
+    private LoanCalculator loanCalculator;
+
+    @Mock
+    private TransactionalGateway transactionalGateway;
+
+    @Mock
+    private UseCaseLogger logger;
+
+    private CreateLoanBatchUseCase useCase;
+
+    private final UUID userId = UUID.randomUUID();
+    private final String dni = "12345678Z";
+    private final LoanStatus pending = LoanStatus.builder().idStatus(UUID.randomUUID()).name("Pending review").build();
+    private final LoanType personal = LoanType.builder()
+            .idLoanType(UUID.randomUUID())
+            .name("PERSONAL")
+            .interestRate(new BigDecimal("12"))
+            .automaticValidation(false)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        useCase = new CreateLoanBatchUseCase(loanRepository, loanStatusRepository, loanStatusCounterRepository,
+                loanValidator, automaticValidation, loanCalculator, transactionalGateway, logger);
+    }
+
+    private LoanApplication application(int index, String loanDni, String amount) {
+        Loan loan = Loan.builder()
+                .amount(new BigDecimal(amount))
+                .loanTerm(12)
+                .email("test@example.com")
+                .dni(loanDni)
+                .build();
+        return new LoanApplication(index, loan, "PERSONAL");
+    }
+
+    @Test
+    void createLoans_insertsValidApplicationsTogetherAndReportsFailuresPerItem() {
+        LoanApplication valid = application(0, dni, "1000");
+        LoanApplication foreign = application(1, "87654321X", "1000");
+        LoanApplication outOfRange = application(2, dni, "999999");
+        LoanApplication alsoValid = application(3, dni, "2000");
+
+        when(loanValidator.validate(valid.loan(), "PERSONAL")).thenReturn(Mono.just(personal));
+        when(loanValidator.validate(outOfRange.loan(), "PERSONAL")).thenReturn(Mono.error(new LoanAmountOutOfRangeException()));
+        when(loanValidator.validate(alsoValid.loan(), "PERSONAL")).thenReturn(Mono.just(personal));
+        when(automaticValidation.prefetch(anyList(), eq(userId))).thenReturn(Mono.just(AutomaticValidation.Prefetch.NOT_REQUIRED));
+        when(transactionalGateway.executeInTransaction(eq("create-loan-batch"), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        when(loanStatusRepository.findByName("Pending review")).thenReturn(Mono.just(pending));
+        when(loanCalculator.calculateMonthlyPayment(any(), any(), any())).thenReturn(new BigDecimal("88.85"));
+        when(loanRepository.saveLoans(anyList())).thenAnswer(invocation -> {
+            List<Loan> loans = invocation.getArgument(0);
+            return Flux.fromIterable(loans).map(loan -> loan.toBuilder().idLoan(UUID.randomUUID()).build());
+        });
+        when(loanStatusCounterRepository.incrementBy(pending.getIdStatus(), 2L)).thenReturn(Mono.empty());
+        when(automaticValidation.handleAll(anyList(), anyList(), eq(userId), eq(AutomaticValidation.Prefetch.NOT_REQUIRED)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(useCase.createLoans(List.of(valid, foreign, outOfRange, alsoValid))
+                        .contextWrite(Context.of("userId", userId.toString(), "userDni", dni)))
+                .assertNext(results -> {
+                    assertEquals(List.of(0, 1, 2, 3), results.stream().map(LoanBatchResult::index).toList());
+                    assertTrue(results.get(0).isCreated());
+                    assertEquals(ErrorCatalog.DNI_MISMATCH.getCode(), results.get(1).errorCode());
+                    assertEquals(ErrorCatalog.LOAN_AMOUNT_OUT_OF_RANGE.getCode(), results.get(2).errorCode());
+                    assertTrue(results.get(3).isCreated());
+                    assertEquals(new BigDecimal("2000"), results.get(3).loan().getAmount());
+                    assertEquals("Pending review", results.get(3).loan().getStatus());
+                })
+                .verifyComplete();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Loan>> saved = ArgumentCaptor.forClass(List.class);
+        verify(loanRepository).saveLoans(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        saved.getValue().forEach(loan -> {
+            assertEquals(userId, loan.getUserId());
+            assertEquals(pending.getIdStatus(), loan.getIdStatus());
+            assertEquals(personal.getIdLoanType(), loan.getIdLoanType());
+            assertEquals(new BigDecimal("88.85"), loan.getMonthlyPayment());
+        });
+        verify(automaticValidation).prefetch(List.of(personal, personal), userId);
+        verify(transactionalGateway).executeInTransaction(eq("create-loan-batch"), any());
+        verify(loanRepository, never()).createLoan(any());
+    }
+
+    @Test
+    void createLoans_noValidApplication_skipsTheTransaction() {
+        LoanApplication foreign = application(0, "87654321X", "1000");
+
+        StepVerifier.create(useCase.createLoans(List.of(foreign))
+                        .contextWrite(Context.of("userId", userId.toString(), "userDni", dni)))
+                .assertNext(results -> {
+                    assertEquals(1, results.size());
+                    assertFalse(results.get(0).isCreated());
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(transactionalGateway, loanRepository, loanStatusCounterRepository, automaticValidation);
+    }
+
+    @Test
+    void createLoans_pendingStatusMissing_failsTheBatch() {
+        LoanApplication valid = application(0, dni, "1000");
+
+        when(loanValidator.validate(valid.loan(), "PERSONAL")).thenReturn(Mono.just(personal));
+        when(automaticValidation.prefetch(anyList(), eq(userId))).thenReturn(Mono.just(AutomaticValidation.Prefetch.NOT_REQUIRED));
+        when(transactionalGateway.executeInTransaction(eq("create-loan-batch"), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        when(loanStatusRepository.findByName("Pending review")).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.createLoans(List.of(valid))
+                        .contextWrite(Context.of("userId", userId.toString(), "userDni", dni)))
+                .expectError(LoanStatusNotFoundException.class)
+                .verify();
+
+        verify(loanRepository, never()).saveLoans(anyList());
+    }
+}
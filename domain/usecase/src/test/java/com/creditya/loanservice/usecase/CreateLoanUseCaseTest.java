@@ -1,49 +1,52 @@
 package com.creditya.loanservice.usecase;
 
-import com.creditya.loanservice.model.creditanalisys.ActiveLoanDetails;
-import com.creditya.loanservice.model.creditanalisys.CreditAnalysis;
 import com.creditya.loanservice.model.loan.Loan;
+import com.creditya.loanservice.model.loan.data.LoanCreationOutcome;
+import com.creditya.loanservice.model.loan.data.LoanCreationResult;
 import com.creditya.loanservice.model.loan.data.LoanData;
 import com.creditya.loanservice.model.loan.gateways.LoanRepository;
-import com.creditya.loanservice.model.loan.gateways.LoanSQSSender;
-import com.creditya.loanservice.model.loanstatus.LoanStatus;
-import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusRepository;
 import com.creditya.loanservice.model.loantype.LoanType;
-import com.creditya.loanservice.model.loantype.gateways.LoanTypeRepository;
-import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
-import com.creditya.loanservice.model.usersnapshot.gateways.UserSnapshotRepository;
 import com.creditya.loanservice.model.utils.gateways.TransactionalGateway;
 import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
 import com.creditya.loanservice.usecase.exception.LoanAmountOutOfRangeException;
 import com.creditya.loanservice.usecase.exception.LoanStatusNotFoundException;
 import com.creditya.loanservice.usecase.exception.LoanTypeNotFoundException;
 import com.creditya.loanservice.usecase.exception.UnauthorizedLoanApplicationException;
+import com.creditya.loanservice.usecase.utils.AutomaticValidation;
+import com.creditya.loanservice.usecase.utils.LoanCalculator;
+import com.creditya.loanservice.usecase.utils.LoanValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.*;
-
-import reactor.core.publisher.Flux;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 import reactor.util.context.Context;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
-import static reactor.core.publisher.Mono.when;
 
+@ExtendWith(MockitoExtension.class)
 class CreateLoanUseCaseTest {
 
+    private static final String PENDING = "Pending review";
+
     @Mock private LoanRepository loanRepository;
-    @Mock private LoanTypeRepository loanTypeRepository;
-    @Mock private LoanStatusRepository loanStatusRepository;
-    @Mock private UserSnapshotRepository userSnapshotRepository;
-    @Mock private LoanSQSSender loanSQSSender;
+    @Mock private LoanValidator loanValidator;
+    @Mock private AutomaticValidation automaticValidation;
+    @Mock private LoanCalculator loanCalculator;
     @Mock private TransactionalGateway transactionalGateway;
     @Mock private UseCaseLogger logger;
 
-    @InjectMocks
     private CreateLoanUseCase createLoanUseCase;
 
     private final UUID userId = UUID.randomUUID();
@@ -51,11 +54,11 @@ class CreateLoanUseCaseTest {
 
     private Loan loan;
     private LoanType loanType;
-    private LoanStatus loanStatus;
 
     @BeforeEach
     void setUp() {
-        MockitoAnnotations.openMocks(this);
+        createLoanUseCase = new CreateLoanUseCase(loanRepository, loanValidator, automaticValidation,
+                loanCalculator, transactionalGateway, logger);
 
         loan = Loan.builder()
                 .dni(dni)
@@ -69,110 +72,168 @@ class CreateLoanUseCaseTest {
                 .name("personal")
                 .minimumAmount(BigDecimal.valueOf(500))
                 .maximumAmount(BigDecimal.valueOf(2000))
-                .interestRate(BigDecimal.valueOf(0.1))
+                .interestRate(BigDecimal.valueOf(12))
                 .automaticValidation(false)
                 .build();
+    }
+
+    private Mono<LoanData> createLoan(Loan application) {
+        return createLoanUseCase.createLoan(application, "personal")
+                .contextWrite(Context.of("userId", userId.toString(), "userDni", dni));
+    }
 
-        loanStatus = LoanStatus.builder()
-                .idStatus(UUID.randomUUID())
-                .name("PENDING")
+    private void givenValidApplication() {
+        when(loanValidator.validate(loan, "personal")).thenReturn(Mono.just(loanType));
+        when(automaticValidation.prefetch(List.of(loanType), userId))
+                .thenReturn(Mono.just(AutomaticValidation.Prefetch.NOT_REQUIRED));
+        when(transactionalGateway.executeInTransaction(eq("create-loan"), any())).thenAnswer(inv -> inv.getArgument(1));
+        when(loanCalculator.calculateMonthlyPayment(loan.getAmount(), loanType.getInterestRate(), 12))
+                .thenReturn(new BigDecimal("88.85"));
+    }
+
+    @Test
+    void createLoan_success_insertsWithOneStatement() {
+        givenValidApplication();
+        LoanData created = LoanData.builder()
+                .idLoan(UUID.randomUUID())
+                .dni(dni)
+                .status(PENDING)
+                .loanType("personal")
                 .build();
+        when(loanRepository.createLoanAtomically(loan, "personal", PENDING))
+                .thenReturn(Mono.just(new LoanCreationResult(LoanCreationOutcome.CREATED, created)));
+        when(automaticValidation.handle(created, loanType, userId, AutomaticValidation.Prefetch.NOT_REQUIRED))
+                .thenReturn(Mono.just(created));
+
+        StepVerifier.create(createLoan(loan))
+                .expectNext(created)
+                .verifyComplete();
+
+        assertEquals(userId, loan.getUserId());
+        assertEquals(new BigDecimal("88.85"), loan.getMonthlyPayment());
+        verify(loanRepository, never()).createLoan(any());
+    }
 
-        when(transactionalGateway.executeInTransaction(any())).thenAnswer(inv -> inv.getArgument(0));
+    @Test
+    void createLoan_prefetchesRemoteReadsBeforeOpeningTransaction() {
+        givenValidApplication();
+        LoanData created = LoanData.builder().idLoan(UUID.randomUUID()).dni(dni).status(PENDING).build();
+        when(loanRepository.createLoanAtomically(loan, "personal", PENDING))
+                .thenReturn(Mono.just(new LoanCreationResult(LoanCreationOutcome.CREATED, created)));
+        when(automaticValidation.handle(any(), any(), any(), any())).thenReturn(Mono.just(created));
+
+        StepVerifier.create(createLoan(loan))
+                .expectNext(created)
+                .verifyComplete();
+
+        InOrder inOrder = inOrder(automaticValidation, transactionalGateway, loanRepository);
+        inOrder.verify(automaticValidation).prefetch(List.of(loanType), userId);
+        inOrder.verify(transactionalGateway).executeInTransaction(eq("create-loan"), any());
+        inOrder.verify(loanRepository).createLoanAtomically(loan, "personal", PENDING);
     }
 
     @Test
-    void createLoan_success_withoutAutomaticValidation() {
-        when(loanTypeRepository.findByName("personal")).thenReturn(Mono.just(loanType));
-        when(loanStatusRepository.findByName("PENDING")).thenReturn(Mono.just(loanStatus));
-        when(loanRepository.createLoan(any())).thenReturn(Mono.just(loan));
-
-        LoanData result = createLoanUseCase.createLoan(loan, "personal")
-                .contextWrite(Context.of("userId", userId.toString(), "userDni", dni))
-                .block();
-
-        assertNotNull(result);
-        assertEquals(loan.getDni(), result.getDni());
-        assertEquals("personal", result.getLoanType());
-        assertEquals("PENDING", result.getStatus());
-
-        verify(loanRepository).createLoan(any());
-        verifyNoInteractions(loanSQSSender);
+    void createLoan_onCreatedHookRunsInsideTheLoanTransaction() {
+        AtomicBoolean inTransaction = new AtomicBoolean();
+        AtomicBoolean hookRanInTransaction = new AtomicBoolean();
+        when(loanValidator.validate(loan, "personal")).thenReturn(Mono.just(loanType));
+        when(automaticValidation.prefetch(List.of(loanType), userId))
+                .thenReturn(Mono.just(AutomaticValidation.Prefetch.NOT_REQUIRED));
+        when(transactionalGateway.executeInTransaction(eq("create-loan"), any())).thenAnswer(inv -> {
+            Mono<?> action = inv.getArgument(1);
+            return Mono.defer(() -> {
+                inTransaction.set(true);
+                return action.doFinally(signal -> inTransaction.set(false));
+            });
+        });
+        when(loanCalculator.calculateMonthlyPayment(loan.getAmount(), loanType.getInterestRate(), 12))
+                .thenReturn(new BigDecimal("88.85"));
+        LoanData created = LoanData.builder().idLoan(UUID.randomUUID()).dni(dni).status(PENDING).build();
+        when(loanRepository.createLoanAtomically(loan, "personal", PENDING))
+                .thenReturn(Mono.just(new LoanCreationResult(LoanCreationOutcome.CREATED, created)));
+        when(automaticValidation.handle(any(), any(), any(), any())).thenReturn(Mono.just(created));
+
+        StepVerifier.create(createLoanUseCase.createLoan(loan, "personal",
+                                stored -> Mono.fromRunnable(() -> hookRanInTransaction.set(inTransaction.get())))
+                        .contextWrite(Context.of("userId", userId.toString(), "userDni", dni)))
+                .expectNext(created)
+                .verifyComplete();
+
+        assertTrue(hookRanInTransaction.get());
     }
 
     @Test
-    void createLoan_success_withAutomaticValidation() {
-        // given
-        loanType.setAutomaticValidation(true);
-
-        when(loanTypeRepository.findByName("personal")).thenReturn(Mono.just(loanType));
-        when(loanStatusRepository.findByName("PENDING")).thenReturn(Mono.just(loanStatus));
-        when(loanRepository.createLoan(any())).thenReturn(Mono.just(loan));
-        when(loanRepository.findActiveLoansByUserId(userId)).thenReturn(Flux.just(new ActiveLoanDetails()));
-        when(userSnapshotRepository.findUserById(userId)).thenReturn(Mono.just(new UserSnapshot(userId, BigDecimal.valueOf(3000))));
-        when(loanSQSSender.sendCreditAnalysis(any(CreditAnalysis.class))).thenReturn(Mono.empty());
-
-        // when
-        LoanData result = createLoanUseCase.createLoan(loan, "personal")
-                .contextWrite(Context.of("userId", userId.toString(), "userDni", dni))
-                .block();
-
-        // then
-        assertNotNull(result);
-        verify(loanSQSSender).sendCreditAnalysis(any(CreditAnalysis.class));
+    void createLoan_failingOnCreatedHookFailsTheCreation() {
+        givenValidApplication();
+        LoanData created = LoanData.builder().idLoan(UUID.randomUUID()).dni(dni).status(PENDING).build();
+        when(loanRepository.createLoanAtomically(loan, "personal", PENDING))
+                .thenReturn(Mono.just(new LoanCreationResult(LoanCreationOutcome.CREATED, created)));
+        when(automaticValidation.handle(any(), any(), any(), any())).thenReturn(Mono.just(created));
+
+        StepVerifier.create(createLoanUseCase.createLoan(loan, "personal",
+                                stored -> Mono.error(new IllegalStateException("key store unavailable")))
+                        .contextWrite(Context.of("userId", userId.toString(), "userDni", dni)))
+                .expectError(IllegalStateException.class)
+                .verify();
     }
 
     @Test
     void createLoan_fail_unauthorizedDni() {
-        // given
-        String otherDni = "99999999";
-
         Loan invalidLoan = Loan.builder()
-                .dni(otherDni)
+                .dni("99999999")
                 .amount(BigDecimal.valueOf(1000))
                 .build();
 
-        // when / then
-        assertThrows(UnauthorizedLoanApplicationException.class, () ->
-                createLoanUseCase.createLoan(invalidLoan, "personal")
-                        .contextWrite(Context.of("userId", userId.toString(), "userDni", dni))
-                        .block()
-        );
+        StepVerifier.create(createLoan(invalidLoan))
+                .expectError(UnauthorizedLoanApplicationException.class)
+                .verify();
+
+        verifyNoInteractions(loanRepository, loanValidator);
     }
 
     @Test
-    void createLoan_fail_loanTypeNotFound() {
-        when(loanTypeRepository.findByName("personal")).thenReturn(Mono.empty());
-
-        assertThrows(LoanTypeNotFoundException.class, () ->
-                createLoanUseCase.createLoan(loan, "personal")
-                        .contextWrite(Context.of("userId", userId.toString(), "userDni", dni))
-                        .block()
-        );
+    void createLoan_fail_loanTypeNotFoundInCache() {
+        when(loanValidator.validate(loan, "personal")).thenReturn(Mono.error(new LoanTypeNotFoundException()));
+
+        StepVerifier.create(createLoan(loan))
+                .expectError(LoanTypeNotFoundException.class)
+                .verify();
+
+        verifyNoInteractions(loanRepository, automaticValidation, transactionalGateway);
     }
 
     @Test
-    void createLoan_fail_amountOutOfRange() {
-        loan.setAmount(BigDecimal.valueOf(10000)); // fuera de rango
+    void createLoan_fail_loanTypeRemovedInDatabase() {
+        givenValidApplication();
+        when(loanRepository.createLoanAtomically(eq(loan), eq("personal"), eq(PENDING)))
+                .thenReturn(Mono.just(new LoanCreationResult(LoanCreationOutcome.LOAN_TYPE_NOT_FOUND, null)));
 
-        when(loanTypeRepository.findByName("personal")).thenReturn(Mono.just(loanType));
+        StepVerifier.create(createLoan(loan))
+                .expectError(LoanTypeNotFoundException.class)
+                .verify();
 
-        assertThrows(LoanAmountOutOfRangeException.class, () ->
-                createLoanUseCase.createLoan(loan, "personal")
-                        .contextWrite(Context.of("userId", userId.toString(), "userDni", dni))
-                        .block()
-        );
+        verify(automaticValidation, never()).handle(any(), any(), any(), any());
+    }
+
+    @Test
+    void createLoan_fail_amountOutOfRangeInDatabase() {
+        givenValidApplication();
+        when(loanRepository.createLoanAtomically(eq(loan), eq("personal"), eq(PENDING)))
+                .thenReturn(Mono.just(new LoanCreationResult(LoanCreationOutcome.LOAN_AMOUNT_OUT_OF_RANGE, null)));
+
+        StepVerifier.create(createLoan(loan))
+                .expectError(LoanAmountOutOfRangeException.class)
+                .verify();
     }
 
     @Test
     void createLoan_fail_statusNotFound() {
-        when(loanTypeRepository.findByName("personal")).thenReturn(Mono.just(loanType));
-        when(loanStatusRepository.findByName("PENDING")).thenReturn(Mono.empty());
-
-        assertThrows(LoanStatusNotFoundException.class, () ->
-                createLoanUseCase.createLoan(loan, "personal")
-                        .contextWrite(Context.of("userId", userId.toString(), "userDni", dni))
-                        .block()
-        );
+        givenValidApplication();
+        when(loanRepository.createLoanAtomically(eq(loan), eq("personal"), eq(PENDING)))
+                .thenReturn(Mono.just(new LoanCreationResult(LoanCreationOutcome.LOAN_STATUS_NOT_FOUND, null)));
+
+        StepVerifier.create(createLoan(loan))
+                .expectError(LoanStatusNotFoundException.class)
+                .verify();
     }
 }
@@ -0,0 +1,117 @@
+package com.creditya.loanservice.usecase;
+
+import com.creditya.loanservice.model.loan.data.LoanJoinedProjection;
+import com.creditya.loanservice.model.loan.gateways.LoanRepository;
+import com.creditya.loanservice.model.loanstatus.Status;
+import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusRepository;
+import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
+import com.creditya.loanservice.model.usersnapshot.gateways.UserSnapshotRepository;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.usecase.utils.EnrichmentPolicy;
+import com.creditya.loanservice.usecase.utils.LoanCalculator;
+import com.creditya.loanservice.usecase.utils.LoanEnricher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportLoansUseCaseTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private LoanStatusRepository loanStatusRepository;
+
+    @Mock
+    private UserSnapshotRepository userSnapshotRepository;
+
+    @Mock
+    private LoanCalculator loanCalculator;
+
+    @Mock
+    private UseCaseLogger logger;
+
+    private ExportLoansUseCase useCase;
+
+    private final UUID approvedStatusId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        LoanEnricher loanEnricher = new LoanEnricher(userSnapshotRepository, loanCalculator,
+                EnrichmentPolicy.listing(Duration.ofMillis(50)), EnrichmentPolicy.bulk(Duration.ofMillis(200)), logger);
+        useCase = new ExportLoansUseCase(loanRepository, loanStatusRepository, loanEnricher, logger);
+
+        when(loanStatusRepository.findIdByStatus(Status.APPROVED)).thenReturn(Mono.just(approvedStatusId));
+        lenient().when(loanCalculator.resolveMonthlyPayment(any())).thenReturn(BigDecimal.ZERO);
+        lenient().when(loanCalculator.calculateApprovedLoansCount(any())).thenReturn(0L);
+    }
+
+    private LoanJoinedProjection loan(UUID userId) {
+        return new LoanJoinedProjection(UUID.randomUUID(), userId, BigDecimal.valueOf(1000), 12,
+                "test@example.com", "12345678", "Pending review", "PERSONAL", BigDecimal.valueOf(5.0), null);
+    }
+
+    @Test
+    void execute_streamsEveryRowEnrichedInChunks() {
+        List<LoanJoinedProjection> loans = IntStream.range(0, 1200)
+                .mapToObj(i -> loan(UUID.randomUUID()))
+                .toList();
+
+        when(loanRepository.findAllLoans(new UUID[]{approvedStatusId})).thenReturn(Flux.fromIterable(loans));
+        when(userSnapshotRepository.findUsersByIds(anyList())).thenAnswer(invocation -> {
+            List<UUID> ids = invocation.getArgument(0);
+            return Flux.fromIterable(ids).map(id -> UserSnapshot.builder().userId(id).name("User").build());
+        });
+
+        StepVerifier.create(useCase.execute())
+                .expectNextCount(1200)
+                .verifyComplete();
+
+        verify(userSnapshotRepository, times(3)).findUsersByIds(argThat(ids -> ids.size() <= 500));
+    }
+
+    @Test
+    void execute_honoursDownstreamDemand() {
+        List<LoanJoinedProjection> loans = IntStream.range(0, 1500)
+                .mapToObj(i -> loan(UUID.randomUUID()))
+                .toList();
+
+        when(loanRepository.findAllLoans(any())).thenReturn(Flux.fromIterable(loans));
+        when(userSnapshotRepository.findUsersByIds(anyList())).thenReturn(Flux.empty());
+
+        StepVerifier.create(useCase.execute(), 10)
+                .expectNextCount(10)
+                .thenCancel()
+                .verify();
+
+        verify(userSnapshotRepository, atMost(2)).findUsersByIds(anyList());
+    }
+
+    @Test
+    void execute_slowEnrichmentFailsTheExportInsteadOfUsingCachedUsers() {
+        when(loanRepository.findAllLoans(new UUID[]{approvedStatusId})).thenReturn(Flux.just(loan(UUID.randomUUID())));
+        when(userSnapshotRepository.findUsersByIds(anyList())).thenReturn(Flux.never());
+
+        StepVerifier.create(useCase.execute())
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+
+        verify(userSnapshotRepository, never()).findCachedUsersByIds(anyList());
+    }
+}
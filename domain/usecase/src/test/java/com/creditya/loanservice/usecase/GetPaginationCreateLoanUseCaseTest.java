@@ -1,17 +1,24 @@
 package com.creditya.loanservice.usecase;
 
 import com.creditya.loanservice.model.loan.data.LoanJoinedProjection;
+import com.creditya.loanservice.model.loan.data.LoanPageResult;
 import com.creditya.loanservice.model.loan.gateways.LoanRepository;
+import com.creditya.loanservice.model.loanstatus.Status;
+import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusCounterRepository;
 import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusRepository;
 import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
 import com.creditya.loanservice.model.usersnapshot.gateways.UserSnapshotRepository;
 import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
 import com.creditya.loanservice.usecase.exception.IndexOutOfBoundsExceptionPage;
 import com.creditya.loanservice.usecase.exception.IndexOutOfBoundsExceptionPageSize;
+import com.creditya.loanservice.usecase.exception.InvalidPageCursorException;
+import com.creditya.loanservice.usecase.utils.EnrichmentPolicy;
 import com.creditya.loanservice.usecase.utils.LoanCalculator;
+import com.creditya.loanservice.usecase.utils.LoanEnricher;
+import com.creditya.loanservice.usecase.utils.PageCursor;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
@@ -19,7 +26,10 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
 
 import static org.mockito.Mockito.*;
 
@@ -32,6 +42,9 @@ class GetPaginationCreateLoanUseCaseTest {
     @Mock
     private LoanStatusRepository loanStatusRepository;
 
+    @Mock
+    private LoanStatusCounterRepository loanStatusCounterRepository;
+
     @Mock
     private UserSnapshotRepository userSnapshotRepository;
 
@@ -41,9 +54,19 @@ class GetPaginationCreateLoanUseCaseTest {
     @Mock
     private UseCaseLogger logger;
 
-    @InjectMocks
     private GetPaginationLoanUseCase useCase;
 
+    private final UUID approvedStatusId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        LoanEnricher loanEnricher = new LoanEnricher(userSnapshotRepository, loanCalculator,
+                EnrichmentPolicy.listing(Duration.ofMillis(50)), EnrichmentPolicy.bulk(Duration.ofMillis(200)), logger);
+        useCase = new GetPaginationLoanUseCase(loanRepository, loanStatusRepository,
+                loanStatusCounterRepository, loanEnricher, logger);
+        lenient().when(loanStatusRepository.findIdByStatus(Status.APPROVED)).thenReturn(Mono.just(approvedStatusId));
+    }
+
     private LoanJoinedProjection buildLoan(UUID loanId, UUID userId, BigDecimal amount) {
         return new LoanJoinedProjection(
                 loanId,
@@ -54,7 +77,8 @@ class GetPaginationCreateLoanUseCaseTest {
                 "12345678",
                 "PENDING",
                 "PERSONAL",
-                BigDecimal.valueOf(5.0)
+                BigDecimal.valueOf(5.0),
+                null
         );
     }
 
@@ -74,11 +98,10 @@ class GetPaginationCreateLoanUseCaseTest {
         List<UUID> statusIds = List.of(UUID.randomUUID());
 
         when(loanStatusRepository.findIdsByNames(filters)).thenReturn(Flux.fromIterable(statusIds));
-        when(loanRepository.findLoansWithTypeAndStatus(any(), anyInt(), anyInt()))
-                .thenReturn(Flux.just(loan));
-        when(loanRepository.countLoansByStatusIds(anyList())).thenReturn(Mono.just(1L));
+        when(loanRepository.findLoanPage(any(), any(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(new LoanPageResult(List.of(loan), 1L)));
         when(userSnapshotRepository.findUsersByIds(anyList())).thenReturn(Flux.just(buildUser(userId)));
-        when(loanCalculator.calculateTotalMonthlyDebt(any())).thenReturn(BigDecimal.valueOf(2000));
+        when(loanCalculator.resolveMonthlyPayment(any())).thenReturn(BigDecimal.valueOf(2000));
         when(loanCalculator.calculateApprovedLoansCount(any())).thenReturn(1L);
 
         StepVerifier.create(useCase.execute(0, 10, filters))
@@ -94,11 +117,10 @@ class GetPaginationCreateLoanUseCaseTest {
         UUID userId = UUID.randomUUID();
         LoanJoinedProjection loan = buildLoan(userId, loanId, BigDecimal.valueOf(1000));
 
-        when(loanRepository.findLoansWithTypeAndStatus(any(), anyInt(), anyInt()))
-                .thenReturn(Flux.just(loan));
-        when(loanRepository.countAllLoans()).thenReturn(Mono.just(1L));
+        when(loanRepository.findLoanPage(any(), any(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(new LoanPageResult(List.of(loan), 1L)));
         when(userSnapshotRepository.findUsersByIds(anyList())).thenReturn(Flux.just(buildUser(userId)));
-        when(loanCalculator.calculateTotalMonthlyDebt(any())).thenReturn(BigDecimal.valueOf(2000));
+        when(loanCalculator.resolveMonthlyPayment(any())).thenReturn(BigDecimal.valueOf(2000));
         when(loanCalculator.calculateApprovedLoansCount(any())).thenReturn(1L);
 
         StepVerifier.create(useCase.execute(0, 10, Collections.emptyList()))
@@ -109,9 +131,8 @@ class GetPaginationCreateLoanUseCaseTest {
 
     @Test
     void execute_emptyLoans() {
-        when(loanRepository.findLoansWithTypeAndStatus(any(), anyInt(), anyInt()))
-                .thenReturn(Flux.empty());
-        when(loanRepository.countAllLoans()).thenReturn(Mono.just(0L));
+        when(loanRepository.findLoanPage(any(), any(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(new LoanPageResult(List.of(), 0L)));
 
         StepVerifier.create(useCase.execute(0, 10, Collections.emptyList()))
                 .expectNextMatches(page -> page.getContent().isEmpty() && page.getTotalElements() == 0)
@@ -135,11 +156,10 @@ class GetPaginationCreateLoanUseCaseTest {
         UUID userId = UUID.randomUUID();
         LoanJoinedProjection loan = buildLoan(userId, loanId, BigDecimal.valueOf(1000));
 
-        when(loanRepository.findLoansWithTypeAndStatus(any(), anyInt(), anyInt()))
-                .thenReturn(Flux.just(loan));
-        when(loanRepository.countAllLoans()).thenReturn(Mono.just(1L));
+        when(loanRepository.findLoanPage(any(), any(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(new LoanPageResult(List.of(loan), 1L)));
         when(userSnapshotRepository.findUsersByIds(anyList())).thenReturn(Flux.empty());
-        when(loanCalculator.calculateTotalMonthlyDebt(any())).thenReturn(BigDecimal.ZERO);
+        when(loanCalculator.resolveMonthlyPayment(any())).thenReturn(BigDecimal.ZERO);
         when(loanCalculator.calculateApprovedLoansCount(any())).thenReturn(0L);
 
         StepVerifier.create(useCase.execute(0, 10, Collections.emptyList()))
@@ -148,6 +168,33 @@ class GetPaginationCreateLoanUseCaseTest {
                 .verifyComplete();
     }
 
+    @Test
+    void execute_enrichmentFallsBackToCachedUsersWhenBudgetExpires() {
+        UUID cachedLoanId = UUID.randomUUID();
+        UUID cachedUserId = UUID.randomUUID();
+        UUID missingLoanId = UUID.randomUUID();
+        UUID missingUserId = UUID.randomUUID();
+        LoanJoinedProjection cachedLoan = buildLoan(cachedLoanId, cachedUserId, BigDecimal.valueOf(1000));
+        LoanJoinedProjection missingLoan = buildLoan(missingLoanId, missingUserId, BigDecimal.valueOf(2000));
+
+        when(loanRepository.findLoanPage(any(), any(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(new LoanPageResult(List.of(cachedLoan, missingLoan), 2L)));
+        when(userSnapshotRepository.findUsersByIds(anyList())).thenReturn(Flux.never());
+        when(userSnapshotRepository.findCachedUsersByIds(anyList())).thenReturn(Flux.just(buildUser(cachedUserId)));
+        when(loanCalculator.resolveMonthlyPayment(any())).thenReturn(BigDecimal.ZERO);
+        when(loanCalculator.calculateApprovedLoansCount(any())).thenReturn(0L);
+
+        StepVerifier.create(useCase.execute(0, 10, Collections.emptyList()))
+                .expectNextMatches(page -> page.getContent().size() == 2
+                        && page.getContent().get(0).isEnriched()
+                        && page.getContent().get(0).getUserSnapshot().getUserId().equals(cachedUserId)
+                        && !page.getContent().get(1).isEnriched()
+                        && page.getContent().get(1).getUserSnapshot() == null)
+                .verifyComplete();
+
+        verify(logger).warn(anyString(), any(), any(), any());
+    }
+
     @Test
     void execute_logsErrorOnRepositoryFailure() {
         RuntimeException ex = new RuntimeException("Repository failed");
@@ -157,4 +204,93 @@ class GetPaginationCreateLoanUseCaseTest {
                 .expectError(RuntimeException.class)
                 .verify();
     }
+
+    @Test
+    void executeWithCursor_returnsNextCursorWhenMoreRowsExist() {
+        UUID firstLoanId = UUID.randomUUID();
+        UUID secondLoanId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+
+        when(loanRepository.findLoansAfterCursor(any(), any(), any(), eq(2)))
+                .thenReturn(Flux.just(buildLoan(firstLoanId, userId, BigDecimal.valueOf(1000)),
+                        buildLoan(secondLoanId, userId, BigDecimal.valueOf(2000))));
+        when(loanStatusCounterRepository.countListedLoans(Collections.emptyList(), List.of(approvedStatusId))).thenReturn(Mono.just(5L));
+        when(userSnapshotRepository.findUsersByIds(anyList())).thenReturn(Flux.just(buildUser(userId)));
+        when(loanCalculator.resolveMonthlyPayment(any())).thenReturn(BigDecimal.TEN);
+        when(loanCalculator.calculateApprovedLoansCount(any())).thenReturn(0L);
+
+        StepVerifier.create(useCase.executeWithCursor(null, 1, Collections.emptyList()))
+                .expectNextMatches(page -> page.getContent().size() == 1
+                        && page.getContent().getFirst().getIdLoan().equals(firstLoanId)
+                        && PageCursor.decode(page.getNext()).lastLoanId().equals(firstLoanId))
+                .verifyComplete();
+    }
+
+    @Test
+    void executeWithCursor_keepsStatusFilterFromToken() {
+        UUID lastLoanId = UUID.randomUUID();
+        UUID statusId = UUID.randomUUID();
+        String token = new PageCursor(lastLoanId, List.of("Rejected")).encode();
+
+        when(loanStatusRepository.findIdsByNames(List.of("Rejected"))).thenReturn(Flux.just(statusId));
+        when(loanRepository.findLoansAfterCursor(any(), any(), eq(lastLoanId), eq(11))).thenReturn(Flux.empty());
+        when(loanStatusCounterRepository.countListedLoans(List.of(statusId), List.of(approvedStatusId))).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(useCase.executeWithCursor(token, 10, List.of("Pending review")))
+                .expectNextMatches(page -> page.getContent().isEmpty() && page.getNext() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void executeWithCursor_rejectsMalformedToken() {
+        StepVerifier.create(Mono.defer(() -> useCase.executeWithCursor("%%%", 10, Collections.emptyList())))
+                .expectErrorMatches(InvalidPageCursorException.class::isInstance)
+                .verify();
+    }
+
+    @Test
+    void executeBulk_allowsLargePagesAndEnrichesInChunks() {
+        List<LoanJoinedProjection> loans = IntStream.range(0, 1200)
+                .mapToObj(i -> buildLoan(UUID.randomUUID(), UUID.randomUUID(), BigDecimal.valueOf(1000)))
+                .toList();
+
+        when(loanRepository.findLoansAfterCursor(any(), any(), eq(new UUID(0L, 0L)), eq(3000)))
+                .thenReturn(Flux.fromIterable(loans));
+        when(userSnapshotRepository.findUsersByIds(anyList())).thenReturn(Flux.empty());
+        when(loanCalculator.resolveMonthlyPayment(any())).thenReturn(BigDecimal.ZERO);
+        when(loanCalculator.calculateApprovedLoansCount(any())).thenReturn(0L);
+
+        StepVerifier.create(useCase.executeBulk(null, 3000, Collections.emptyList()))
+                .expectNextCount(1200)
+                .verifyComplete();
+
+        verify(userSnapshotRepository, times(5)).findUsersByIds(anyList());
+        verifyNoInteractions(loanStatusCounterRepository);
+    }
+
+    @Test
+    void executeBulk_enrichmentTimeoutFailsTheStreamInsteadOfReturningPartialRows() {
+        List<LoanJoinedProjection> loans = IntStream.range(0, 300)
+                .mapToObj(i -> buildLoan(UUID.randomUUID(), UUID.randomUUID(), BigDecimal.valueOf(1000)))
+                .toList();
+
+        when(loanRepository.findLoansAfterCursor(any(), any(), eq(new UUID(0L, 0L)), eq(300)))
+                .thenReturn(Flux.fromIterable(loans));
+        when(userSnapshotRepository.findUsersByIds(anyList())).thenReturn(Flux.never());
+
+        StepVerifier.create(useCase.executeBulk(null, 300, Collections.emptyList()))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+
+        verify(userSnapshotRepository, never()).findCachedUsersByIds(anyList());
+    }
+
+    @Test
+    void executeBulk_capsPageSize() {
+        UUID after = UUID.randomUUID();
+        when(loanRepository.findLoansAfterCursor(any(), any(), eq(after), eq(5000))).thenReturn(Flux.empty());
+
+        StepVerifier.create(useCase.executeBulk(after, 100_000, Collections.emptyList()))
+                .verifyComplete();
+    }
 }
@@ -0,0 +1,197 @@
+package com.creditya.loanservice.usecase;
+
+import com.creditya.loanservice.model.idempotency.IdempotencyRecord;
+import com.creditya.loanservice.model.idempotency.gateways.IdempotencyRepository;
+import com.creditya.loanservice.model.loan.Loan;
+import com.creditya.loanservice.model.loan.data.LoanData;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.usecase.exception.IdempotencyKeyInProgressException;
+import com.creditya.loanservice.usecase.exception.IdempotencyKeyReusedException;
+import com.creditya.loanservice.usecase.exception.LoanAmountOutOfRangeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentCreateLoanUseCaseTest {
+
+    private static final String KEY = "b2f7c3c4-retry";
+
+    @Mock
+    private CreateLoanUseCase createLoanUseCase;
+
+    @Mock
+    private IdempotencyRepository idempotencyRepository;
+
+    @Mock
+    private UseCaseLogger logger;
+
+    private IdempotentCreateLoanUseCase useCase;
+
+    private final UUID userId = UUID.randomUUID();
+    private Loan loan;
+    private String fingerprint;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new IdempotentCreateLoanUseCase(createLoanUseCase, idempotencyRepository, logger);
+        loan = Loan.builder()
+                .dni("12345678")
+                .amount(new BigDecimal("1000.00"))
+                .loanTerm(12)
+                .email("test@email.com")
+                .build();
+        fingerprint = IdempotentCreateLoanUseCase.fingerprint(loan, "personal");
+    }
+
+    private boolean isOwnClaim(IdempotencyRecord claim) {
+        return claim.userId().equals(userId) && claim.key().equals(KEY)
+                && claim.fingerprint().equals(fingerprint) && !claim.isCompleted();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenCreationStoringResult(LoanData created) {
+        when(createLoanUseCase.createLoan(eq(loan), eq("personal"), any())).thenAnswer(inv -> {
+            Function<LoanData, Mono<Void>> onCreated = inv.getArgument(2);
+            return onCreated.apply(created).thenReturn(created);
+        });
+    }
+
+    private Mono<LoanData> createLoan() {
+        return useCase.createLoan(loan, "personal", KEY)
+                .contextWrite(Context.of("userId", userId.toString(), "userDni", "12345678"));
+    }
+
+    @Test
+    void createLoan_firstRequest_createsAndStoresTheLoan() {
+        LoanData created = LoanData.builder().idLoan(UUID.randomUUID()).dni("12345678").build();
+        when(idempotencyRepository.claim(argThat(this::isOwnClaim))).thenReturn(Mono.empty());
+        givenCreationStoringResult(created);
+        when(idempotencyRepository.complete(argThat(this::isOwnClaim), eq(created))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(createLoan())
+                .expectNext(created)
+                .verifyComplete();
+
+        verify(idempotencyRepository, never()).release(any());
+    }
+
+    @Test
+    void createLoan_completedRepeat_returnsOriginalLoanWithoutCreating() {
+        LoanData original = LoanData.builder().idLoan(UUID.randomUUID()).dni("12345678").build();
+        when(idempotencyRepository.claim(any()))
+                .thenReturn(Mono.just(new IdempotencyRecord(userId, KEY, fingerprint, UUID.randomUUID(), original)));
+
+        StepVerifier.create(createLoan())
+                .expectNext(original)
+                .verifyComplete();
+
+        verifyNoInteractions(createLoanUseCase);
+    }
+
+    @Test
+    void createLoan_repeatWhileInFlight_isRefused() {
+        when(idempotencyRepository.claim(any()))
+                .thenReturn(Mono.just(IdempotencyRecord.inFlight(userId, KEY, fingerprint)));
+
+        StepVerifier.create(createLoan())
+                .expectError(IdempotencyKeyInProgressException.class)
+                .verify();
+
+        verifyNoInteractions(createLoanUseCase);
+    }
+
+    @Test
+    void createLoan_keyReusedForDifferentApplication_isRefused() {
+        String otherFingerprint = IdempotentCreateLoanUseCase.fingerprint(loan.toBuilder().amount(new BigDecimal("2000")).build(), "personal");
+        when(idempotencyRepository.claim(any()))
+                .thenReturn(Mono.just(new IdempotencyRecord(userId, KEY, otherFingerprint, UUID.randomUUID(), LoanData.builder().build())));
+
+        StepVerifier.create(createLoan())
+                .expectError(IdempotencyKeyReusedException.class)
+                .verify();
+
+        verifyNoInteractions(createLoanUseCase);
+    }
+
+    @Test
+    void createLoan_failedCreation_releasesTheKey() {
+        when(idempotencyRepository.claim(any())).thenReturn(Mono.empty());
+        when(createLoanUseCase.createLoan(eq(loan), eq("personal"), any()))
+                .thenReturn(Mono.error(new LoanAmountOutOfRangeException()));
+        when(idempotencyRepository.release(argThat(this::isOwnClaim))).thenReturn(Mono.empty());
+
+        StepVerifier.create(createLoan())
+                .expectError(LoanAmountOutOfRangeException.class)
+                .verify();
+
+        verify(idempotencyRepository, never()).complete(any(), any());
+    }
+
+    @Test
+    void createLoan_storingResultFailsAfterLoanIsCreated_failsTheCreationAndReleasesTheKey() {
+        LoanData created = LoanData.builder().idLoan(UUID.randomUUID()).dni("12345678").build();
+        when(idempotencyRepository.claim(any())).thenReturn(Mono.empty());
+        givenCreationStoringResult(created);
+        when(idempotencyRepository.complete(any(), eq(created)))
+                .thenReturn(Mono.error(new IllegalStateException("connection reset")));
+        when(idempotencyRepository.release(argThat(this::isOwnClaim))).thenReturn(Mono.empty());
+
+        StepVerifier.create(createLoan())
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        verify(idempotencyRepository).release(any());
+    }
+
+    @Test
+    void createLoan_claimTakenOverWhileCreating_isRefusedSoTheLoanRollsBack() {
+        LoanData created = LoanData.builder().idLoan(UUID.randomUUID()).dni("12345678").build();
+        when(idempotencyRepository.claim(any())).thenReturn(Mono.empty());
+        givenCreationStoringResult(created);
+        when(idempotencyRepository.complete(any(), eq(created))).thenReturn(Mono.just(false));
+        when(idempotencyRepository.release(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(createLoan())
+                .expectError(IdempotencyKeyInProgressException.class)
+                .verify();
+    }
+
+    @Test
+    void createLoan_cancelledByClient_releasesTheKey() {
+        when(idempotencyRepository.claim(any())).thenReturn(Mono.empty());
+        when(createLoanUseCase.createLoan(eq(loan), eq("personal"), any())).thenReturn(Mono.never());
+        when(idempotencyRepository.release(argThat(this::isOwnClaim))).thenReturn(Mono.empty());
+
+        StepVerifier.create(createLoan())
+                .thenCancel()
+                .verify();
+
+        verify(idempotencyRepository).release(any());
+    }
+
+    @Test
+    void fingerprint_ignoresAmountScaleButNotContent() {
+        Loan rescaled = loan.toBuilder().amount(new BigDecimal("1000")).build();
+        Loan otherTerm = loan.toBuilder().loanTerm(24).build();
+
+        assertEquals(fingerprint, IdempotentCreateLoanUseCase.fingerprint(rescaled, "personal"));
+        assertNotEquals(fingerprint, IdempotentCreateLoanUseCase.fingerprint(otherTerm, "personal"));
+        assertNotEquals(fingerprint, IdempotentCreateLoanUseCase.fingerprint(loan, "mortgage"));
+    }
+}
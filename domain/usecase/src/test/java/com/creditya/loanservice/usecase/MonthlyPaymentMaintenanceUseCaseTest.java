@@ -0,0 +1,79 @@
+package com.creditya.loanservice.usecase;
+
+import com.creditya.loanservice.model.loan.data.LoanJoinedProjection;
+import com.creditya.loanservice.model.loan.gateways.LoanRepository;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.usecase.utils.LoanCalculator;
+import com.creditya.loanservice.usecase.utils.LoanStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyPaymentMaintenanceUseCaseTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private UseCaseLogger logger;
+
+    private MonthlyPaymentMaintenanceUseCase useCase;
+
+    private final UUID firstLoan = new UUID(0L, 0L);
+
+    @BeforeEach
+    void setUp() {
+        useCase = new MonthlyPaymentMaintenanceUseCase(loanRepository, new LoanCalculator(new LoanStatus()), logger);
+    }
+
+    private LoanJoinedProjection loan(UUID loanId, int term, BigDecimal monthlyPayment) {
+        return new LoanJoinedProjection(loanId, UUID.randomUUID(), BigDecimal.valueOf(1000), term,
+                "test@example.com", "12345678", "Pending review", "PERSONAL", BigDecimal.valueOf(12), monthlyPayment);
+    }
+
+    @Test
+    void backfill_storesComputedPaymentsAndSkipsInvalidTerms() {
+        UUID valid = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID invalid = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+        when(loanRepository.findLoansWithoutMonthlyPayment(firstLoan, 500))
+                .thenReturn(Flux.just(loan(valid, 12, null), loan(invalid, 0, null)));
+        when(loanRepository.findLoansWithoutMonthlyPayment(invalid, 500)).thenReturn(Flux.empty());
+        when(loanRepository.saveMonthlyPayments(Map.of(valid, new BigDecimal("88.85")))).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(useCase.backfill())
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void checkConsistency_countsMissingAndMismatchedRows() {
+        UUID consistent = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID drifted = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        UUID missing = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+        when(loanRepository.findLoansAfterCursor(any(), any(), eq(firstLoan), eq(500)))
+                .thenReturn(Flux.just(
+                        loan(consistent, 12, new BigDecimal("88.85")),
+                        loan(drifted, 12, new BigDecimal("80.00")),
+                        loan(missing, 12, null)));
+        when(loanRepository.findLoansAfterCursor(any(), any(), eq(missing), eq(500))).thenReturn(Flux.empty());
+
+        StepVerifier.create(useCase.checkConsistency())
+                .expectNextMatches(report -> report.checked() == 3 && report.mismatched() == 1 && report.missing() == 1)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,85 @@
+package com.creditya.loanservice.usecase;
+
+import com.creditya.loanservice.model.loan.data.LoanJoinedProjection;
+import com.creditya.loanservice.model.loan.gateways.LoanRepository;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.usecase.utils.PortfolioCalculator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PortfolioSummaryUseCaseTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private UseCaseLogger logger;
+
+    private ForkJoinPool pool;
+    private PortfolioSummaryUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+        useCase = new PortfolioSummaryUseCase(loanRepository, new PortfolioCalculator(pool), logger);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private LoanJoinedProjection loan(String status, String type, String amount, String rate, int term, String stored) {
+        return new LoanJoinedProjection(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal(amount), term,
+                "test@example.com", "12345678", status, type, new BigDecimal(rate),
+                stored == null ? null : new BigDecimal(stored));
+    }
+
+    @Test
+    void execute_totalsByStatusAndType() {
+        when(loanRepository.findAllLoans(any(UUID[].class))).thenReturn(Flux.just(
+                loan("PENDING", "PERSONAL", "1000.00", "12", 12, null),
+                loan("PENDING", "PERSONAL", "1200.00", "0", 12, null),
+                loan("APPROVED", "PERSONAL", "1000.00", "12", 12, "90.00"),
+                loan("PENDING", "MORTGAGE", "50000.00", "5", 360, "268.42")));
+
+        StepVerifier.create(useCase.execute())
+                .assertNext(totals -> {
+                    assertEquals(3, totals.size());
+                    assertEquals("PENDING", totals.get(0).loanStatusName());
+                    assertEquals("PERSONAL", totals.get(0).loanTypeName());
+                    assertEquals(2, totals.get(0).loanCount());
+                    assertEquals(new BigDecimal("2200.00"), totals.get(0).totalAmount());
+                    assertEquals(new BigDecimal("188.85"), totals.get(0).totalMonthlyDebt());
+                    assertEquals(new BigDecimal("90.00"), totals.get(1).totalMonthlyDebt());
+                    assertEquals(new BigDecimal("268.42"), totals.get(2).totalMonthlyDebt());
+                })
+                .verifyComplete();
+
+        verify(loanRepository).findAllLoans(argThat(excluded -> excluded.length == 0));
+    }
+
+    @Test
+    void execute_emptyPortfolio_returnsNoGroups() {
+        when(loanRepository.findAllLoans(any(UUID[].class))).thenReturn(Flux.empty());
+
+        StepVerifier.create(useCase.execute())
+                .assertNext(totals -> assertTrue(totals.isEmpty()))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,102 @@
+package com.creditya.loanservice.usecase;
+
+import com.creditya.loanservice.model.loantype.LoanType;
+import com.creditya.loanservice.model.loantype.gateways.LoanTypeRepository;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.usecase.exception.LoanAmountOutOfRangeException;
+import com.creditya.loanservice.usecase.exception.LoanTypeNotFoundException;
+import com.creditya.loanservice.usecase.utils.LoanCalculator;
+import com.creditya.loanservice.usecase.utils.LoanStatus;
+import com.creditya.loanservice.usecase.utils.LoanValidator;
+import com.creditya.loanservice.usecase.utils.PaymentScheduleCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SimulateLoanUseCaseTest {
+
+    @Mock
+    private LoanTypeRepository loanTypeRepository;
+
+    @Mock
+    private UseCaseLogger logger;
+
+    private LoanCalculator loanCalculator;
+    private SimulateLoanUseCase useCase;
+
+    private final LoanType personal = LoanType.builder()
+            .name("PERSONAL")
+            .minimumAmount(new BigDecimal("500.00"))
+            .maximumAmount(new BigDecimal("50000.00"))
+            .interestRate(new BigDecimal("12"))
+            .automaticValidation(false)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        loanCalculator = spy(new LoanCalculator(new LoanStatus()));
+        useCase = new SimulateLoanUseCase(new LoanValidator(loanTypeRepository, logger), loanCalculator,
+                new PaymentScheduleCache(loanCalculator, 16), logger);
+    }
+
+    @Test
+    void execute_returnsMonthlyPaymentAndScheduleThatPaysOffTheAmount() {
+        when(loanTypeRepository.findByName("PERSONAL")).thenReturn(Mono.just(personal));
+
+        StepVerifier.create(useCase.execute(new BigDecimal("1000.00"), 12, "PERSONAL"))
+                .assertNext(simulation -> {
+                    assertEquals("PERSONAL", simulation.loanType());
+                    assertEquals(new BigDecimal("88.85"), simulation.monthlyPayment());
+                    assertEquals(12, simulation.paymentSchedule().size());
+                    assertEquals(new BigDecimal("88.85"), simulation.paymentSchedule().get(0).payment());
+                    assertEquals(new BigDecimal("10.00"), simulation.paymentSchedule().get(0).interest());
+                    assertEquals(new BigDecimal("1000.00"), simulation.paymentSchedule().stream()
+                            .map(installment -> installment.principal())
+                            .reduce(BigDecimal.ZERO, BigDecimal::add));
+                    assertEquals(0, simulation.paymentSchedule().get(11).remainingBalance().signum());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_reusesCachedScheduleForEquivalentAmounts() {
+        when(loanTypeRepository.findByName("PERSONAL")).thenReturn(Mono.just(personal));
+
+        StepVerifier.create(useCase.execute(new BigDecimal("1000.00"), 24, "PERSONAL")
+                        .zipWith(useCase.execute(new BigDecimal("1000"), 24, "PERSONAL")))
+                .assertNext(pair -> assertSame(pair.getT1().paymentSchedule(), pair.getT2().paymentSchedule()))
+                .verifyComplete();
+
+        verify(loanCalculator, times(1)).calculatePaymentSchedule(any(), any(), any());
+    }
+
+    @Test
+    void execute_amountOutOfRange_fails() {
+        when(loanTypeRepository.findByName("PERSONAL")).thenReturn(Mono.just(personal));
+
+        StepVerifier.create(useCase.execute(new BigDecimal("100"), 12, "PERSONAL"))
+                .expectError(LoanAmountOutOfRangeException.class)
+                .verify();
+
+        verify(loanCalculator, never()).calculatePaymentSchedule(any(), any(), any());
+    }
+
+    @Test
+    void execute_unknownLoanType_fails() {
+        when(loanTypeRepository.findByName("UNKNOWN")).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.execute(new BigDecimal("1000"), 12, "UNKNOWN"))
+                .expectError(LoanTypeNotFoundException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,92 @@
+package com.creditya.loanservice.usecase;
+
+import com.creditya.loanservice.model.usersnapshot.UserChangedEvent;
+import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
+import com.creditya.loanservice.model.usersnapshot.gateways.UserSnapshotReplicaRepository;
+import com.creditya.loanservice.model.usersnapshot.gateways.UserSnapshotRepository;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SyncUserSnapshotUseCaseTest {
+
+    @Mock
+    private UserSnapshotReplicaRepository userSnapshotReplicaRepository;
+
+    @Mock
+    private UserSnapshotRepository userSnapshotRepository;
+
+    @Mock
+    private UseCaseLogger logger;
+
+    @InjectMocks
+    private SyncUserSnapshotUseCase useCase;
+
+    @Test
+    void applyChange_upsertsAndInvalidatesCachedUser() {
+        UUID userId = UUID.randomUUID();
+        Instant changedAt = Instant.parse("2025-01-01T10:00:00Z");
+        UserChangedEvent event = new UserChangedEvent(userId, "Ana", "ana@test.com",
+                BigDecimal.valueOf(3000), false, changedAt);
+
+        when(userSnapshotReplicaRepository.upsert(any(UserSnapshot.class), eq(changedAt))).thenReturn(Mono.empty());
+        when(userSnapshotRepository.invalidate(userId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.applyChange(event)).verifyComplete();
+
+        verify(userSnapshotReplicaRepository).upsert(argThat(u -> u.getUserId().equals(userId)), eq(changedAt));
+        verify(userSnapshotRepository).invalidate(userId);
+    }
+
+    @Test
+    void applyChange_deletesRemovedUser() {
+        UUID userId = UUID.randomUUID();
+        Instant changedAt = Instant.now();
+        UserChangedEvent event = new UserChangedEvent(userId, null, null, null, true, changedAt);
+
+        when(userSnapshotReplicaRepository.delete(userId, changedAt)).thenReturn(Mono.empty());
+        when(userSnapshotRepository.invalidate(userId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.applyChange(event)).verifyComplete();
+
+        verify(userSnapshotReplicaRepository, never()).upsert(any(), any());
+        verify(userSnapshotRepository).invalidate(userId);
+    }
+
+    @Test
+    void backfill_copiesMissingUsersInChunksStraightFromTheAuthService() {
+        List<UUID> missing = IntStream.range(0, 1200).mapToObj(i -> UUID.randomUUID()).toList();
+
+        when(userSnapshotReplicaRepository.findUnreplicatedUserIds()).thenReturn(Flux.fromIterable(missing));
+        when(userSnapshotRepository.findFreshUsersByIds(anyList())).thenAnswer(invocation -> {
+            List<UUID> chunk = invocation.getArgument(0);
+            return Flux.fromIterable(chunk).map(id -> UserSnapshot.builder().userId(id).build());
+        });
+        when(userSnapshotReplicaRepository.insertBackfilled(anyList()))
+                .thenAnswer(invocation -> Mono.just((long) invocation.<List<UserSnapshot>>getArgument(0).size()));
+
+        StepVerifier.create(useCase.backfill())
+                .expectNext(1200L)
+                .verifyComplete();
+
+        verify(userSnapshotRepository, times(3)).findFreshUsersByIds(anyList());
+        verify(userSnapshotRepository, never()).findUsersByIds(anyList());
+        verify(userSnapshotReplicaRepository, never()).upsert(any(), any());
+    }
+}
@@ -0,0 +1,109 @@
+package com.creditya.loanservice.usecase;
+
+import com.creditya.loanservice.model.loan.Loan;
+import com.creditya.loanservice.model.loan.data.LoanDecision;
+import com.creditya.loanservice.model.loan.gateways.LoanRepository;
+import com.creditya.loanservice.model.loanstatus.LoanStatus;
+import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusCounterRepository;
+import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusRepository;
+import com.creditya.loanservice.model.utils.gateways.TransactionalGateway;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.usecase.exception.LoanNotFoundException;
+import com.creditya.loanservice.usecase.exception.LoanStatusNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UpdateLoanUseCaseTest {
+
+    @Mock private LoanRepository loanRepository;
+    @Mock private LoanStatusRepository loanStatusRepository;
+    @Mock private LoanStatusCounterRepository loanStatusCounterRepository;
+    @Mock private TransactionalGateway transactionalGateway;
+    @Mock private UseCaseLogger logger;
+
+    private UpdateLoanUseCase useCase;
+
+    private final UUID loanId = UUID.randomUUID();
+    private final UUID pendingStatusId = UUID.randomUUID();
+    private final UUID approvedStatusId = UUID.randomUUID();
+    private final LoanStatus approved = LoanStatus.builder().idStatus(approvedStatusId).name("APPROVED").build();
+    private final LoanDecision decision = LoanDecision.builder().idLoan(loanId).status("APPROVED").build();
+
+    @BeforeEach
+    void setUp() {
+        useCase = new UpdateLoanUseCase(loanRepository, loanStatusRepository, loanStatusCounterRepository,
+                transactionalGateway, logger);
+        when(transactionalGateway.executeInTransaction(any())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void updateLoan_movesTheLoanFromItsPreviousStatusCounterToTheNewOne() {
+        Loan loan = Loan.builder().idLoan(loanId).idStatus(pendingStatusId).build();
+        when(loanRepository.findLoanById(loanId)).thenReturn(Mono.just(loan));
+        when(loanStatusRepository.findByName("APPROVED")).thenReturn(Mono.just(approved));
+        when(loanRepository.createLoan(loan)).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(loanStatusCounterRepository.transfer(pendingStatusId, approvedStatusId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.updateLoan(decision))
+                .assertNext(updated -> assertEquals(approvedStatusId, updated.getIdStatus()))
+                .verifyComplete();
+
+        InOrder inOrder = inOrder(loanRepository, loanStatusCounterRepository);
+        inOrder.verify(loanRepository).createLoan(loan);
+        inOrder.verify(loanStatusCounterRepository).transfer(pendingStatusId, approvedStatusId);
+    }
+
+    @Test
+    void updateLoan_failedCounterTransferFailsTheUpdate() {
+        Loan loan = Loan.builder().idLoan(loanId).idStatus(pendingStatusId).build();
+        when(loanRepository.findLoanById(loanId)).thenReturn(Mono.just(loan));
+        when(loanStatusRepository.findByName("APPROVED")).thenReturn(Mono.just(approved));
+        when(loanRepository.createLoan(loan)).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(loanStatusCounterRepository.transfer(pendingStatusId, approvedStatusId))
+                .thenReturn(Mono.error(new IllegalStateException("counter unavailable")));
+
+        StepVerifier.create(useCase.updateLoan(decision))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    @Test
+    void updateLoan_unknownLoan_failsWithoutTouchingTheCounters() {
+        when(loanRepository.findLoanById(loanId)).thenReturn(Mono.empty());
+        when(loanStatusRepository.findByName("APPROVED")).thenReturn(Mono.just(approved));
+
+        StepVerifier.create(useCase.updateLoan(decision))
+                .expectError(LoanNotFoundException.class)
+                .verify();
+
+        verify(loanRepository, never()).createLoan(any());
+        verifyNoInteractions(loanStatusCounterRepository);
+    }
+
+    @Test
+    void updateLoan_unknownStatus_failsWithoutTouchingTheCounters() {
+        Loan loan = Loan.builder().idLoan(loanId).idStatus(pendingStatusId).build();
+        when(loanRepository.findLoanById(loanId)).thenReturn(Mono.just(loan));
+        when(loanStatusRepository.findByName("APPROVED")).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.updateLoan(decision))
+                .expectError(LoanStatusNotFoundException.class)
+                .verify();
+
+        verify(loanRepository, never()).createLoan(any());
+        verifyNoInteractions(loanStatusCounterRepository);
+    }
+}
@@ -0,0 +1,171 @@
+package com.creditya.loanservice.usecase.utils;
+
+import com.creditya.loanservice.model.creditanalisys.CreditAnalysis;
+import com.creditya.loanservice.model.loan.data.LoanData;
+import com.creditya.loanservice.model.loan.data.LoanDecision;
+import com.creditya.loanservice.model.loan.gateways.LoanRepository;
+import com.creditya.loanservice.model.loan.gateways.LoanSQSSender;
+import com.creditya.loanservice.model.loan.responseEvent.LoanStatusUpdateEvent;
+import com.creditya.loanservice.model.loantype.LoanType;
+import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
+import com.creditya.loanservice.model.usersnapshot.gateways.UserSnapshotRepository;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.model.utils.gateways.UseCaseMetrics;
+import com.creditya.loanservice.usecase.LoanDecisionProcessorUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AutomaticValidationTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private UserSnapshotRepository userSnapshotRepository;
+
+    @Mock
+    private LoanSQSSender loanSQSSender;
+
+    @Mock
+    private LoanDecisionProcessorUseCase loanDecisionProcessorUseCase;
+
+    @Mock
+    private UseCaseMetrics metrics;
+
+    @Mock
+    private UseCaseLogger logger;
+
+    private AutomaticValidation automaticValidation;
+
+    private final UUID userId = UUID.randomUUID();
+    private final LoanType loanType = LoanType.builder()
+            .name("PERSONAL")
+            .interestRate(new BigDecimal("12"))
+            .automaticValidation(true)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        LoanCalculator loanCalculator = new LoanCalculator(new LoanStatus());
+        CapacityEngine capacityEngine = new CapacityEngine(loanCalculator, new CapacityPolicy(new BigDecimal("0.35")));
+        automaticValidation = new AutomaticValidation(loanRepository, userSnapshotRepository, loanSQSSender,
+                loanCalculator, capacityEngine, loanDecisionProcessorUseCase, metrics, logger);
+
+        lenient().when(loanRepository.findActiveLoansByUserId(userId)).thenReturn(Flux.empty());
+        lenient().when(userSnapshotRepository.findUserById(userId)).thenReturn(Mono.just(UserSnapshot.builder()
+                .userId(userId)
+                .baseSalary(new BigDecimal("3000"))
+                .build()));
+    }
+
+    private LoanData loanData(String amount) {
+        return LoanData.builder()
+                .idLoan(UUID.randomUUID())
+                .amount(new BigDecimal(amount))
+                .loanTerm(12)
+                .email("test@example.com")
+                .status("Pending review")
+                .loanType("PERSONAL")
+                .build();
+    }
+
+    @Test
+    void handle_affordableLoan_isForwardedToRemoteAnalysis() {
+        LoanData loan = loanData("1000");
+        when(loanSQSSender.sendCreditAnalysis(any(CreditAnalysis.class))).thenReturn(Mono.just("message-id"));
+
+        StepVerifier.create(automaticValidation.prefetch(List.of(loanType), userId)
+                        .flatMap(prefetch -> automaticValidation.handle(loan, loanType, userId, prefetch)))
+                .expectNext(loan)
+                .verifyComplete();
+
+        verify(metrics).increment(AutomaticValidation.PRESCREEN_METRIC, "outcome", "forwarded");
+        verifyNoInteractions(loanDecisionProcessorUseCase);
+    }
+
+    @Test
+    void handle_clearlyUnaffordableLoan_isRejectedWithoutRoundTrip() {
+        LoanData loan = loanData("20000");
+        when(loanDecisionProcessorUseCase.processAutomaticAnalysisResult(any()))
+                .thenReturn(Mono.just(new LoanDecision(loan.getIdLoan(), "Rejected", true)));
+
+        StepVerifier.create(automaticValidation.prefetch(List.of(loanType), userId)
+                        .flatMap(prefetch -> automaticValidation.handle(loan, loanType, userId, prefetch)))
+                .assertNext(result -> assertEquals("Rejected", result.getStatus()))
+                .verifyComplete();
+
+        ArgumentCaptor<LoanStatusUpdateEvent> event = ArgumentCaptor.forClass(LoanStatusUpdateEvent.class);
+        verify(loanDecisionProcessorUseCase).processAutomaticAnalysisResult(event.capture());
+        assertEquals("Rejected", event.getValue().status());
+        assertEquals(new BigDecimal("1050.00"), event.getValue().calculationDetails().availableCapacity());
+        assertEquals(new BigDecimal("1776.98"), event.getValue().calculationDetails().newLoanMonthlyPayment());
+        verify(metrics).increment(AutomaticValidation.PRESCREEN_METRIC, "outcome", "rejected");
+        verifyNoInteractions(loanSQSSender);
+    }
+
+    @Test
+    void handleAll_readsProfileOnceAndSendsForwardedLoansInOneBatch() {
+        LoanType manualType = loanType.toBuilder().name("MORTGAGE").automaticValidation(false).build();
+        LoanData affordable = loanData("1000");
+        LoanData manual = loanData("1000");
+        LoanData unaffordable = loanData("20000");
+        LoanData alsoAffordable = loanData("2000");
+        when(loanDecisionProcessorUseCase.processAutomaticAnalysisResult(any()))
+                .thenReturn(Mono.just(new LoanDecision(unaffordable.getIdLoan(), "Rejected", true)));
+        when(loanSQSSender.sendCreditAnalyses(anyList())).thenReturn(Mono.just(2));
+
+        List<LoanType> loanTypes = List.of(loanType, manualType, loanType, loanType);
+
+        StepVerifier.create(automaticValidation.prefetch(loanTypes, userId)
+                        .flatMap(prefetch -> automaticValidation.handleAll(
+                                List.of(affordable, manual, unaffordable, alsoAffordable), loanTypes, userId, prefetch)))
+                .assertNext(results -> {
+                    assertSame(affordable, results.get(0));
+                    assertSame(manual, results.get(1));
+                    assertEquals("Rejected", results.get(2).getStatus());
+                    assertSame(alsoAffordable, results.get(3));
+                })
+                .verifyComplete();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CreditAnalysis>> sent = ArgumentCaptor.forClass(List.class);
+        verify(loanSQSSender).sendCreditAnalyses(sent.capture());
+        assertEquals(List.of(affordable.getIdLoan(), alsoAffordable.getIdLoan()),
+                sent.getValue().stream().map(CreditAnalysis::idLoan).toList());
+        verify(loanRepository, times(1)).findActiveLoansByUserId(userId);
+        verify(userSnapshotRepository, times(1)).findUserById(userId);
+        verify(loanSQSSender, never()).sendCreditAnalysis(any());
+        verify(metrics, times(2)).increment(AutomaticValidation.PRESCREEN_METRIC, "outcome", "forwarded");
+        verify(metrics).increment(AutomaticValidation.PRESCREEN_METRIC, "outcome", "rejected");
+    }
+
+    @Test
+    void prefetch_noAutomaticLoanType_skipsRemoteReads() {
+        LoanType manualType = loanType.toBuilder().automaticValidation(false).build();
+        LoanData loan = loanData("1000");
+
+        StepVerifier.create(automaticValidation.prefetch(List.of(manualType), userId)
+                        .flatMap(prefetch -> automaticValidation.handle(loan, manualType, userId, prefetch)))
+                .expectNext(loan)
+                .verifyComplete();
+
+        verifyNoInteractions(loanRepository, userSnapshotRepository, loanSQSSender);
+    }
+}
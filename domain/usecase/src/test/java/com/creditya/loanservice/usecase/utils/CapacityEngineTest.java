@@ -0,0 +1,60 @@
+package com.creditya.loanservice.usecase.utils;
+
+import com.creditya.loanservice.model.creditanalisys.ActiveLoanDetails;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CapacityEngineTest {
+
+    private final CapacityEngine engine = new CapacityEngine(
+            new LoanCalculator(new LoanStatus()), new CapacityPolicy(new BigDecimal("0.35")));
+
+    @Test
+    void assess_subtractsActiveLoanPaymentsFromAllowedDebt() {
+        ActiveLoanDetails active = new ActiveLoanDetails(UUID.randomUUID(), new BigDecimal("1000"), 12, new BigDecimal("12"));
+
+        CapacityEngine.Assessment assessment = engine.assess(new BigDecimal("3000"), List.of(active), new BigDecimal("500.00"));
+
+        assertEquals(new BigDecimal("961.15"), assessment.availableCapacity());
+        assertFalse(assessment.clearlyUnaffordable());
+    }
+
+    @Test
+    void assess_paymentAboveAllowedShareAlone_isClearlyUnaffordable() {
+        CapacityEngine.Assessment assessment = engine.assess(new BigDecimal("3000"), List.of(), new BigDecimal("1050.01"));
+
+        assertTrue(assessment.clearlyUnaffordable());
+    }
+
+    @Test
+    void assess_paymentOverCapacityOnlyBecauseOfActiveLoans_isLeftToRemoteAnalysis() {
+        ActiveLoanDetails active = new ActiveLoanDetails(UUID.randomUUID(), new BigDecimal("12000"), 12, BigDecimal.ZERO);
+
+        CapacityEngine.Assessment assessment = engine.assess(new BigDecimal("3000"), List.of(active), new BigDecimal("1000.00"));
+
+        assertEquals(new BigDecimal("50.00"), assessment.availableCapacity());
+        assertFalse(assessment.clearlyUnaffordable());
+    }
+
+    @Test
+    void assess_ignoresIncompleteActiveLoans() {
+        ActiveLoanDetails incomplete = new ActiveLoanDetails(UUID.randomUUID(), new BigDecimal("1000"), null, BigDecimal.ONE);
+
+        CapacityEngine.Assessment assessment = engine.assess(new BigDecimal("3000"), List.of(incomplete), BigDecimal.TEN);
+
+        assertEquals(new BigDecimal("1050.00"), assessment.availableCapacity());
+    }
+
+    @Test
+    void assess_unknownSalary_isNeverRejectedLocally() {
+        CapacityEngine.Assessment assessment = engine.assess(null, List.of(), new BigDecimal("99999"));
+
+        assertNull(assessment.availableCapacity());
+        assertFalse(assessment.clearlyUnaffordable());
+    }
+}
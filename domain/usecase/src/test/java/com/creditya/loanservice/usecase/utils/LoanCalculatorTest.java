@@ -1,11 +1,15 @@
 package com.creditya.loanservice.usecase.utils;
 
 import com.creditya.loanservice.model.loan.data.LoanJoinedProjection;
+import com.creditya.loanservice.model.loan.responseEvent.PaymentInstallment;
 import com.creditya.loanservice.usecase.exception.IndexOutOfBoundsExceptionPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,7 +29,7 @@ class LoanCalculatorTest {
         return new LoanJoinedProjection(
                 null, null, amount, term,
                 "test@example.com", "12345678",
-                statusName, "PERSONAL", interestRate
+                statusName, "PERSONAL", interestRate, null
         );
     }
 
@@ -90,4 +94,93 @@ class LoanCalculatorTest {
         BigDecimal result = calculator.calculateTotalMonthlyDebt(loan);
         assertEquals(BigDecimal.valueOf(88.85), result.setScale(2, BigDecimal.ROUND_HALF_UP));
     }
+
+    @Test
+    void calculateTotalMonthlyDebt_matchesUncachedFormulaExactly() {
+        int[] terms = {1, 6, 12, 24, 36, 48, 60, 120, 360};
+        String[] rates = {"0.01", "1.5", "5", "5.0", "7.25", "12", "18.99", "35"};
+        String[] amounts = {"0.01", "999.99", "1000", "25000.50", "1234567.89"};
+
+        for (String rate : rates) {
+            for (int term : terms) {
+                for (String amount : amounts) {
+                    LoanJoinedProjection loan = buildLoan(new BigDecimal(amount), new BigDecimal(rate), term, "PENDING");
+                    BigDecimal expected = referenceMonthlyDebt(loan);
+
+                    assertEquals(expected, calculator.calculateTotalMonthlyDebt(loan), rate + "/" + term + "/" + amount);
+                    assertEquals(expected, calculator.calculateTotalMonthlyDebt(loan), "cached " + rate + "/" + term + "/" + amount);
+                }
+            }
+        }
+        assertEquals(rates.length * terms.length, calculator.cachedFactorCount());
+    }
+
+    @Test
+    void calculateTotalMonthlyDebt_interestFreeMatchesBigDecimalDivisionExactly() {
+        String[] amounts = {"0", "0.01", "0.05", "1", "7", "100.1", "999.99", "1000", "25000.50", "1E+3", "1000.005"};
+
+        for (int term = 1; term <= 120; term++) {
+            for (String amount : amounts) {
+                LoanJoinedProjection loan = buildLoan(new BigDecimal(amount), BigDecimal.ZERO, term, "PENDING");
+                assertEquals(referenceMonthlyDebt(loan), calculator.calculateTotalMonthlyDebt(loan), term + "/" + amount);
+            }
+        }
+    }
+
+    @Test
+    void calculateTotalMonthlyDebt_cacheStopsGrowingAtItsBound() {
+        for (int term = 1; term <= 1100; term++) {
+            calculator.calculateTotalMonthlyDebt(buildLoan(BigDecimal.valueOf(1000), BigDecimal.valueOf(5), term, "PENDING"));
+        }
+        assertEquals(1024, calculator.cachedFactorCount());
+    }
+
+    @Test
+    void calculatePaymentSchedule_paysOffAmountWithConsistentRows() {
+        String[] rates = {"0", "5", "12", "35"};
+        int[] terms = {1, 12, 60, 360};
+        BigDecimal amount = new BigDecimal("25000.50");
+
+        for (String rate : rates) {
+            for (int term : terms) {
+                List<PaymentInstallment> schedule = calculator.calculatePaymentSchedule(amount, new BigDecimal(rate), term);
+                BigDecimal payment = calculator.calculateMonthlyPayment(amount, new BigDecimal(rate), term);
+
+                assertEquals(term, schedule.size(), rate + "/" + term);
+                BigDecimal balance = amount;
+                for (PaymentInstallment installment : schedule) {
+                    balance = balance.subtract(installment.principal());
+                    assertEquals(balance, installment.remainingBalance(), rate + "/" + term + "/" + installment.month());
+                    assertEquals(installment.payment(), installment.principal().add(installment.interest()));
+                    if (installment.month() < term) {
+                        assertEquals(payment, installment.payment(), rate + "/" + term + "/" + installment.month());
+                    }
+                }
+                assertEquals(0, balance.signum(), rate + "/" + term);
+            }
+        }
+    }
+
+    @Test
+    void resolveMonthlyPayment_prefersStoredValue() {
+        LoanJoinedProjection stored = buildLoan(BigDecimal.valueOf(1000), BigDecimal.valueOf(12), 12, "PENDING")
+                .toBuilder().monthlyPayment(new BigDecimal("90.00")).build();
+        LoanJoinedProjection legacy = buildLoan(BigDecimal.valueOf(1000), BigDecimal.valueOf(12), 12, "PENDING");
+
+        assertEquals(new BigDecimal("90.00"), calculator.resolveMonthlyPayment(stored));
+        assertEquals(new BigDecimal("88.85"), calculator.resolveMonthlyPayment(legacy));
+    }
+
+    private BigDecimal referenceMonthlyDebt(LoanJoinedProjection loan) {
+        BigDecimal monthlyRate = loan.interestRate()
+                .divide(BigDecimal.valueOf(100), 6, RoundingMode.HALF_UP)
+                .divide(BigDecimal.valueOf(12), 6, RoundingMode.HALF_UP);
+        if (monthlyRate.compareTo(BigDecimal.ZERO) == 0) {
+            return loan.amount().divide(BigDecimal.valueOf(loan.loanTerm()), 2, RoundingMode.HALF_UP);
+        }
+        BigDecimal onePlusRate = BigDecimal.ONE.add(monthlyRate);
+        BigDecimal numerator = monthlyRate.multiply(onePlusRate.pow(loan.loanTerm(), MathContext.DECIMAL64));
+        BigDecimal denominator = onePlusRate.pow(loan.loanTerm(), MathContext.DECIMAL64).subtract(BigDecimal.ONE);
+        return loan.amount().multiply(numerator).divide(denominator, 2, RoundingMode.HALF_UP);
+    }
 }
@@ -0,0 +1,88 @@
+package com.creditya.loanservice.usecase.utils;
+
+import com.creditya.loanservice.model.loan.Loan;
+import com.creditya.loanservice.model.loantype.LoanType;
+import com.creditya.loanservice.model.loantype.gateways.LoanTypeRepository;
+import com.creditya.loanservice.model.utils.gateways.UseCaseLogger;
+import com.creditya.loanservice.usecase.exception.LoanAmountOutOfRangeException;
+import com.creditya.loanservice.usecase.exception.LoanTypeNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanValidatorTest {
+
+    @Mock
+    private LoanTypeRepository loanTypeRepository;
+
+    @Mock
+    private UseCaseLogger logger;
+
+    private LoanValidator validator;
+
+    private final LoanType personal = LoanType.builder()
+            .idLoanType(UUID.randomUUID())
+            .name("personal")
+            .minimumAmount(new BigDecimal("100.00"))
+            .maximumAmount(new BigDecimal("1000.00"))
+            .interestRate(BigDecimal.valueOf(12))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        validator = new LoanValidator(loanTypeRepository, logger);
+    }
+
+    private Loan loan(String amount) {
+        return Loan.builder().amount(new BigDecimal(amount)).loanTerm(12).build();
+    }
+
+    @Test
+    void validate_amountOnTheBounds_isAccepted() {
+        when(loanTypeRepository.findByName("personal")).thenReturn(Mono.just(personal));
+
+        StepVerifier.create(validator.validate(loan("100.00"), "personal"))
+                .expectNext(personal)
+                .verifyComplete();
+        StepVerifier.create(validator.validate(loan("1000"), "personal"))
+                .expectNext(personal)
+                .verifyComplete();
+    }
+
+    @Test
+    void validate_subCentAboveMaximum_isRejectedRatherThanRoundedDown() {
+        when(loanTypeRepository.findByName("personal")).thenReturn(Mono.just(personal));
+
+        StepVerifier.create(validator.validate(loan("1000.004"), "personal"))
+                .expectError(LoanAmountOutOfRangeException.class)
+                .verify();
+    }
+
+    @Test
+    void validate_subCentBelowMinimum_isRejectedRatherThanRoundedUp() {
+        when(loanTypeRepository.findByName("personal")).thenReturn(Mono.just(personal));
+
+        StepVerifier.create(validator.validate(loan("99.995"), "personal"))
+                .expectError(LoanAmountOutOfRangeException.class)
+                .verify();
+    }
+
+    @Test
+    void validate_unknownLoanType_isRejected() {
+        when(loanTypeRepository.findByName("unknown")).thenReturn(Mono.empty());
+
+        StepVerifier.create(validator.validate(loan("500.00"), "unknown"))
+                .expectError(LoanTypeNotFoundException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,82 @@
+package com.creditya.loanservice.usecase.utils;
+
+import com.creditya.loanservice.usecase.utils.PortfolioCalculator.PortfolioColumns;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortfolioCalculatorTest {
+
+    private ForkJoinPool pool;
+    private PortfolioCalculator calculator;
+    private final LoanCalculator loanCalculator = new LoanCalculator(new LoanStatus());
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        calculator = new PortfolioCalculator(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void monthlyRateMicros_roundsLikeLoanCalculator() {
+        assertEquals(10_000L, PortfolioCalculator.monthlyRateMicros(new BigDecimal("12")));
+        assertEquals(15_825L, PortfolioCalculator.monthlyRateMicros(new BigDecimal("18.99")));
+        assertEquals(1L, PortfolioCalculator.monthlyRateMicros(new BigDecimal("0.01")));
+        assertEquals(0L, PortfolioCalculator.monthlyRateMicros(BigDecimal.ZERO));
+    }
+
+    @Test
+    void monthlyPaymentCents_staysWithinACentOfLoanCalculator() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 20_000; i++) {
+            BigDecimal rate = BigDecimal.valueOf(random.nextInt(0, 4000), 2);
+            int term = random.nextInt(1, 361);
+            BigDecimal amount = BigDecimal.valueOf(random.nextLong(1, 1_500_000_000L), 2);
+
+            long expected = loanCalculator.calculateMonthlyPayment(amount, rate, term).unscaledValue().longValueExact();
+            long actual = PortfolioCalculator.monthlyPaymentCents(
+                    amount.unscaledValue().longValueExact(), term, PortfolioCalculator.monthlyRateMicros(rate));
+
+            assertTrue(Math.abs(expected - actual) <= 1, rate + "/" + term + "/" + amount);
+        }
+    }
+
+    @Test
+    void monthlyPaymentCents_nonPositiveTerm_isZero() {
+        assertEquals(0L, PortfolioCalculator.monthlyPaymentCents(100_000L, 0, 10_000L));
+    }
+
+    @Test
+    void sumMonthlyPayments_matchesSequentialSumAcrossChunks() {
+        int size = PortfolioCalculator.CHUNK_SIZE * 5 + 17;
+        PortfolioColumns columns = PortfolioColumns.withCapacity(size + 3);
+        SplittableRandom random = new SplittableRandom(11);
+        long[] expected = new long[3];
+        for (int i = 0; i < size; i++) {
+            columns.amountCents()[i] = random.nextLong(10_000L, 5_000_000L);
+            columns.loanTerms()[i] = random.nextInt(1, 121);
+            columns.monthlyRateMicros()[i] = random.nextLong(0L, 30_000L);
+            columns.storedPaymentCents()[i] = i % 3 == 0 ? 12_345L : PortfolioCalculator.NOT_STORED;
+            columns.groups()[i] = i % 3;
+            expected[i % 3] += i % 3 == 0
+                    ? 12_345L
+                    : PortfolioCalculator.monthlyPaymentCents(columns.amountCents()[i], columns.loanTerms()[i],
+                    columns.monthlyRateMicros()[i]);
+        }
+
+        long[] sums = calculator.sumMonthlyPayments(columns.withSize(size), 3).join();
+
+        assertArrayEquals(expected, sums);
+    }
+}
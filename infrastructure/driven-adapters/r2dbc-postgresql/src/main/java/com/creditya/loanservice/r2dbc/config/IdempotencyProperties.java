@@ -0,0 +1,25 @@
+package com.creditya.loanservice.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapters.r2dbc.idempotency")
+public record IdempotencyProperties(
+        Duration lockTime,
+        Duration retention,
+        Duration cacheTtl,
+        Long cacheMaximumSize) {
+
+    private static final Duration DEFAULT_LOCK_TIME = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_RETENTION = Duration.ofHours(24);
+    private static final Duration DEFAULT_CACHE_TTL = Duration.ofMinutes(10);
+    private static final long DEFAULT_CACHE_MAXIMUM_SIZE = 10_000L;
+
+    public IdempotencyProperties {
+        lockTime = lockTime == null ? DEFAULT_LOCK_TIME : lockTime;
+        retention = retention == null ? DEFAULT_RETENTION : retention;
+        cacheTtl = cacheTtl == null ? DEFAULT_CACHE_TTL : cacheTtl;
+        cacheMaximumSize = cacheMaximumSize == null ? DEFAULT_CACHE_MAXIMUM_SIZE : cacheMaximumSize;
+    }
+}
@@ -0,0 +1,19 @@
+package com.creditya.loanservice.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapters.r2dbc.counters")
+public record LoanStatusCounterProperties(
+        Integer stripes,
+        Duration reconcileInterval) {
+
+    private static final int DEFAULT_STRIPES = 8;
+    private static final Duration DEFAULT_RECONCILE_INTERVAL = Duration.ofMinutes(10);
+
+    public LoanStatusCounterProperties {
+        stripes = stripes == null || stripes < 1 ? DEFAULT_STRIPES : stripes;
+        reconcileInterval = reconcileInterval == null ? DEFAULT_RECONCILE_INTERVAL : reconcileInterval;
+    }
+}
@@ -0,0 +1,16 @@
+package com.creditya.loanservice.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapters.r2dbc.reference-data")
+public record ReferenceDataProperties(
+        Duration refreshInterval) {
+
+    private static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofMinutes(5);
+
+    public ReferenceDataProperties {
+        refreshInterval = refreshInterval == null ? DEFAULT_REFRESH_INTERVAL : refreshInterval;
+    }
+}
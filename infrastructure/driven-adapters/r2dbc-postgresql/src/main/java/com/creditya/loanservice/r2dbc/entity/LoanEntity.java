@@ -28,4 +28,6 @@ public class LoanEntity {
     private UUID idLoanType;
     @Column("user_id")
     private UUID userId;
+    @Column("monthly_payment")
+    private BigDecimal monthlyPayment;
 }
@@ -0,0 +1,204 @@
+package com.creditya.loanservice.r2dbc.idempotency_adapter;
+
+import com.creditya.loanservice.model.idempotency.IdempotencyRecord;
+import com.creditya.loanservice.model.idempotency.gateways.IdempotencyRepository;
+import com.creditya.loanservice.model.loan.data.LoanData;
+import com.creditya.loanservice.r2dbc.config.IdempotencyProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Idempotency keys in {@code loan_idempotency_key}, with an in-memory cache in front. Claims made
+ * here and completed keys are cached, so a repeat that reaches the same instance is answered without
+ * a database round trip; the unique key on the table settles races between instances. An in-flight
+ * claim whose lock has expired, or any row older than the retention, is taken over by the next claim,
+ * and a new {@code claim_id} marks the row as no longer owned by the request that lost it.
+ * Completion runs inside the loan transaction, so it drops the cached claim instead of caching a
+ * result that may still roll back.
+ */
+@Repository
+public class IdempotencyRepositoryAdapter implements IdempotencyRepository {
+
+    private static final String CACHE_NAME = "loan_idempotency_key";
+
+    private static final String CLAIM = """
+            WITH claimed AS (
+                INSERT INTO loan_idempotency_key (user_id, idempotency_key, fingerprint, claim_id, locked_until)
+                VALUES (:userId, :key, :fingerprint, :claimId, now() + (:lockMillis * INTERVAL '1 millisecond'))
+                ON CONFLICT (user_id, idempotency_key) DO UPDATE
+                SET fingerprint = EXCLUDED.fingerprint,
+                    claim_id = EXCLUDED.claim_id,
+                    locked_until = EXCLUDED.locked_until,
+                    created_at = now(),
+                    id_loan = NULL, amount = NULL, loan_term = NULL, email = NULL,
+                    dni = NULL, loan_status = NULL, loan_type = NULL
+                WHERE (loan_idempotency_key.id_loan IS NULL AND loan_idempotency_key.locked_until < now())
+                   OR loan_idempotency_key.created_at < now() - (:retentionMillis * INTERVAL '1 millisecond')
+                RETURNING 1
+            )
+            SELECT EXISTS (SELECT 1 FROM claimed) AS claimed,
+                   k.fingerprint, k.claim_id, k.id_loan, k.amount, k.loan_term, k.email, k.dni, k.loan_status, k.loan_type
+            FROM (SELECT 1) one
+            LEFT JOIN loan_idempotency_key k
+              ON k.user_id = :userId AND k.idempotency_key = :key
+            """;
+
+    private static final String COMPLETE = """
+            UPDATE loan_idempotency_key
+            SET locked_until = NULL,
+                id_loan = :idLoan, amount = :amount, loan_term = :loanTerm, email = :email,
+                dni = :dni, loan_status = :loanStatus, loan_type = :loanType
+            WHERE user_id = :userId AND idempotency_key = :key
+              AND claim_id = :claimId AND id_loan IS NULL
+            """;
+
+    private static final String RELEASE = """
+            DELETE FROM loan_idempotency_key
+            WHERE user_id = :userId AND idempotency_key = :key
+              AND claim_id = :claimId AND id_loan IS NULL
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final Duration lockTime;
+    private final Duration retention;
+    private final Cache<CacheKey, IdempotencyRecord> cache;
+
+    public IdempotencyRepositoryAdapter(DatabaseClient databaseClient,
+                                        IdempotencyProperties properties,
+                                        MeterRegistry meterRegistry) {
+        this.databaseClient = databaseClient;
+        this.lockTime = properties.lockTime();
+        this.retention = properties.retention();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.cacheMaximumSize())
+                .expireAfter(new CompletedInFlightExpiry(min(properties.cacheTtl(), retention), lockTime))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Mono<IdempotencyRecord> claim(IdempotencyRecord claim) {
+        CacheKey cacheKey = new CacheKey(claim.userId(), claim.key());
+        IdempotencyRecord cached = cache.getIfPresent(cacheKey);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        return databaseClient.sql(CLAIM)
+                .bind("userId", claim.userId())
+                .bind("key", claim.key())
+                .bind("fingerprint", claim.fingerprint())
+                .bind("claimId", claim.claimId())
+                .bind("lockMillis", lockTime.toMillis())
+                .bind("retentionMillis", retention.toMillis())
+                .map((row, metadata) -> toClaimResult(row, claim))
+                .one()
+                .flatMap(result -> {
+                    if (result.claimed()) {
+                        cache.put(cacheKey, claim);
+                        return Mono.empty();
+                    }
+                    if (result.existing().isCompleted()) {
+                        cache.put(cacheKey, result.existing());
+                    }
+                    return Mono.just(result.existing());
+                });
+    }
+
+    @Override
+    public Mono<Boolean> complete(IdempotencyRecord claim, LoanData loan) {
+        return databaseClient.sql(COMPLETE)
+                .bind("userId", claim.userId())
+                .bind("key", claim.key())
+                .bind("claimId", claim.claimId())
+                .bind("idLoan", Parameter.fromOrEmpty(loan.getIdLoan(), UUID.class))
+                .bind("amount", Parameter.fromOrEmpty(loan.getAmount(), BigDecimal.class))
+                .bind("loanTerm", Parameter.fromOrEmpty(loan.getLoanTerm(), Integer.class))
+                .bind("email", Parameter.fromOrEmpty(loan.getEmail(), String.class))
+                .bind("dni", Parameter.fromOrEmpty(loan.getDni(), String.class))
+                .bind("loanStatus", Parameter.fromOrEmpty(loan.getStatus(), String.class))
+                .bind("loanType", Parameter.fromOrEmpty(loan.getLoanType(), String.class))
+                .fetch()
+                .rowsUpdated()
+                .map(updated -> updated > 0)
+                .doFinally(signal -> cache.invalidate(new CacheKey(claim.userId(), claim.key())));
+    }
+
+    @Override
+    public Mono<Void> release(IdempotencyRecord claim) {
+        return databaseClient.sql(RELEASE)
+                .bind("userId", claim.userId())
+                .bind("key", claim.key())
+                .bind("claimId", claim.claimId())
+                .fetch()
+                .rowsUpdated()
+                .doFinally(signal -> cache.invalidate(new CacheKey(claim.userId(), claim.key())))
+                .then();
+    }
+
+    /**
+     * A key claimed by a concurrent request that committed after this statement's snapshot is not
+     * visible to the select; it is reported as in flight under the caller's fingerprint.
+     */
+    private ClaimResult toClaimResult(Row row, IdempotencyRecord claim) {
+        if (Boolean.TRUE.equals(row.get("claimed", Boolean.class))) {
+            return new ClaimResult(true, null);
+        }
+        String fingerprint = row.get("fingerprint", String.class);
+        if (fingerprint == null) {
+            return new ClaimResult(false, claim);
+        }
+        UUID idLoan = row.get("id_loan", UUID.class);
+        LoanData loan = idLoan == null ? null : LoanData.builder()
+                .idLoan(idLoan)
+                .amount(row.get("amount", BigDecimal.class))
+                .loanTerm(row.get("loan_term", Integer.class))
+                .email(row.get("email", String.class))
+                .dni(row.get("dni", String.class))
+                .status(row.get("loan_status", String.class))
+                .loanType(row.get("loan_type", String.class))
+                .build();
+        return new ClaimResult(false,
+                new IdempotencyRecord(claim.userId(), claim.key(), fingerprint, row.get("claim_id", UUID.class), loan));
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private record CacheKey(UUID userId, String key) {}
+
+    private record ClaimResult(boolean claimed, IdempotencyRecord existing) {}
+
+    private record CompletedInFlightExpiry(Duration completedTtl, Duration inFlightTtl)
+            implements Expiry<CacheKey, IdempotencyRecord> {
+
+        @Override
+        public long expireAfterCreate(CacheKey key, IdempotencyRecord value, long currentTime) {
+            return (value.isCompleted() ? completedTtl : inFlightTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(CacheKey key, IdempotencyRecord value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(CacheKey key, IdempotencyRecord value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
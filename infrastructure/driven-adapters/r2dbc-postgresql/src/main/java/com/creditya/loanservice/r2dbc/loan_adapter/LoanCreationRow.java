@@ -0,0 +1,15 @@
+package com.creditya.loanservice.r2dbc.loan_adapter;
+
+import java.util.UUID;
+
+/**
+ * Row returned by the single-statement loan creation. {@code outcome} is always set; the
+ * other columns only when the loan was inserted.
+ */
+public record LoanCreationRow(
+        String outcome,
+        UUID idLoan,
+        String loanStatusName,
+        String loanTypeName
+) {
+}
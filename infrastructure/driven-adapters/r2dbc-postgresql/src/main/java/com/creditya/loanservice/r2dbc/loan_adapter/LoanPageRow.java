@@ -0,0 +1,35 @@
+package com.creditya.loanservice.r2dbc.loan_adapter;
+
+import com.creditya.loanservice.model.loan.data.LoanJoinedProjection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Row of the single round-trip listing query: one loan of the requested page plus
+ * the total of matching loans. An out-of-range page yields a single row with only
+ * {@code totalCount} set.
+ */
+public record LoanPageRow(
+        UUID idLoan,
+        UUID userId,
+        BigDecimal amount,
+        Integer loanTerm,
+        String email,
+        String dni,
+        String loanStatusName,
+        String loanTypeName,
+        BigDecimal interestRate,
+        BigDecimal monthlyPayment,
+        Long totalCount
+) {
+
+    public boolean hasLoan() {
+        return idLoan != null;
+    }
+
+    public LoanJoinedProjection toProjection() {
+        return new LoanJoinedProjection(idLoan, userId, amount, loanTerm, email, dni,
+                loanStatusName, loanTypeName, interestRate, monthlyPayment);
+    }
+}
@@ -3,7 +3,7 @@ package com.creditya.loanservice.r2dbc.loan_adapter;
 import com.creditya.loanservice.model.creditanalisys.ActiveLoanDetails;
 import com.creditya.loanservice.model.loan.data.LoanJoinedProjection;
 import com.creditya.loanservice.r2dbc.entity.LoanEntity;
-import lombok.NonNull;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.query.ReactiveQueryByExampleExecutor;
@@ -11,14 +11,77 @@ import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
+import java.math.BigDecimal;
 import java.util.UUID;
 
 public interface LoanReactiveRepository extends ReactiveCrudRepository<LoanEntity, UUID>, ReactiveQueryByExampleExecutor<LoanEntity> {
 
-    Mono<Long> countByIdStatusIn(List<UUID> statusIds);
-    @NonNull
-    Mono<Long>  count();
+    @Query("""
+    SELECT COUNT(*)
+    FROM loan l
+    WHERE
+      l.id_status <> ALL(:excludeStatusIds)
+      AND (
+        CARDINALITY(:statusIds) = 0
+        OR l.id_status = ANY(:statusIds)
+      )
+""")
+    Mono<Long> countListedLoans(@Param("statusIds") UUID[] statusIds,
+                                @Param("excludeStatusIds") UUID[] excludeStatusIds);
+
+    @Query("""
+    WITH filtered AS (
+        SELECT l.id_loan, l.user_id, l.amount, l.loan_term, l.email, l.dni, l.id_status, l.id_loan_type, l.monthly_payment
+        FROM loan l
+        WHERE
+          l.id_status <> ALL(:excludeStatusIds)
+          AND (
+            CARDINALITY(:statusIds) = 0
+            OR l.id_status = ANY(:statusIds)
+          )
+    ),
+    total AS (
+        SELECT COUNT(*) AS total_count FROM filtered
+    ),
+    page_rows AS (
+        SELECT
+            f.id_loan,
+            f.user_id,
+            f.amount,
+            f.loan_term,
+            f.email,
+            f.dni,
+            COALESCE(s.name, 'UNKNOWN') AS loan_status_name,
+            COALESCE(t.name, 'UNKNOWN') AS loan_type_name,
+            COALESCE(t.interest_rate, 0.0) AS interest_rate,
+            f.monthly_payment
+        FROM filtered f
+        LEFT JOIN loan_type t ON f.id_loan_type = t.id_loan_type
+        LEFT JOIN loan_status s ON f.id_status = s.id_status
+        ORDER BY f.id_loan
+        LIMIT :limit OFFSET :offset
+    )
+    SELECT
+        p.id_loan,
+        p.user_id,
+        p.amount,
+        p.loan_term,
+        p.email,
+        p.dni,
+        p.loan_status_name,
+        p.loan_type_name,
+        p.interest_rate,
+        p.monthly_payment,
+        total.total_count
+    FROM total
+    LEFT JOIN page_rows p ON TRUE
+    ORDER BY p.id_loan
+""")
+    Flux<LoanPageRow> findLoanPage(
+                                   @Param("statusIds") UUID[] statusIds,
+                                   @Param("excludeStatusIds") UUID[] excludeStatusIds,
+                                   @Param("limit") int limit,
+                                   @Param("offset") int offset);
 
     @Query("""
     SELECT
@@ -30,23 +93,26 @@ public interface LoanReactiveRepository extends ReactiveCrudRepository<LoanEntit
         l.dni,
         COALESCE(s.name, 'UNKNOWN') AS loan_status_name,
         COALESCE(t.name, 'UNKNOWN') AS loan_type_name,
-        COALESCE(t.interest_rate, 0.0) AS interest_rate
+        COALESCE(t.interest_rate, 0.0) AS interest_rate,
+        l.monthly_payment
     FROM loan l
     LEFT JOIN loan_type t ON l.id_loan_type = t.id_loan_type
     LEFT JOIN loan_status s ON l.id_status = s.id_status
-     WHERE 
-      l.id_status != (SELECT ls.id_status FROM loan_status ls WHERE ls.name = 'Approved')
+     WHERE
+      l.id_status <> ALL(:excludeStatusIds)
       AND (
         CARDINALITY(:statusIds) = 0
         OR l.id_status = ANY(:statusIds)
       )
+      AND l.id_loan > :cursor
     ORDER BY l.id_loan
-    LIMIT :limit OFFSET :offset
+    LIMIT :limit
 """)
-    Flux<LoanJoinedProjection> findLoansWithTypeAndStatus(
-                                                          @Param("statusIds") UUID[] statusIds,
-                                                          @Param("limit") int limit,
-                                                          @Param("offset") int offset);
+    Flux<LoanJoinedProjection> findLoansAfterCursor(
+                                                    @Param("statusIds") UUID[] statusIds,
+                                                    @Param("excludeStatusIds") UUID[] excludeStatusIds,
+                                                    @Param("cursor") UUID cursor,
+                                                    @Param("limit") int limit);
 
     @Query("""
     SELECT
@@ -58,15 +124,132 @@ public interface LoanReactiveRepository extends ReactiveCrudRepository<LoanEntit
         l.dni,
         COALESCE(s.name, 'UNKNOWN') AS loan_status_name,
         COALESCE(t.name, 'UNKNOWN') AS loan_type_name,
-        COALESCE(t.interest_rate, 0.0) AS interest_rate
+        COALESCE(t.interest_rate, 0.0) AS interest_rate,
+        l.monthly_payment
     FROM loan l
     LEFT JOIN loan_type t ON l.id_loan_type = t.id_loan_type
     LEFT JOIN loan_status s ON l.id_status = s.id_status
     WHERE 
-      l.id_status != (SELECT ls.id_status FROM loan_status ls WHERE ls.name = 'Approved')
+      l.id_status <> ALL(:excludeStatusIds)
+    ORDER BY l.id_loan
+""")
+    Flux<LoanJoinedProjection> findAllLoans(@Param("excludeStatusIds") UUID[] excludeStatusIds);
+
+    @Query("""
+    SELECT
+        l.id_loan,
+        l.user_id,
+        l.amount,
+        l.loan_term,
+        l.email,
+        l.dni,
+        COALESCE(s.name, 'UNKNOWN') AS loan_status_name,
+        COALESCE(t.name, 'UNKNOWN') AS loan_type_name,
+        COALESCE(t.interest_rate, 0.0) AS interest_rate,
+        l.monthly_payment
+    FROM loan l
+    LEFT JOIN loan_type t ON l.id_loan_type = t.id_loan_type
+    LEFT JOIN loan_status s ON l.id_status = s.id_status
+    WHERE
+      l.monthly_payment IS NULL
+      AND l.id_loan > :cursor
     ORDER BY l.id_loan
+    LIMIT :limit
+""")
+    Flux<LoanJoinedProjection> findLoansWithoutMonthlyPayment(@Param("cursor") UUID cursor,
+                                                              @Param("limit") int limit);
+
+    @Query("""
+    WITH loan_type_match AS (
+        SELECT
+            t.id_loan_type,
+            t.name,
+            :amount BETWEEN t.minimum_amount AND t.maximum_amount AS amount_in_range
+        FROM loan_type t
+        WHERE t.name = :loanTypeName
+    ),
+    status_match AS (
+        SELECT s.id_status, s.name
+        FROM loan_status s
+        WHERE s.name = :statusName
+    ),
+    inserted AS (
+        INSERT INTO loan (id_loan, amount, loan_term, email, dni, id_status, id_loan_type, user_id, monthly_payment)
+        SELECT :idLoan, :amount, :loanTerm, :email, :dni, s.id_status, t.id_loan_type, :userId, :monthlyPayment
+        FROM loan_type_match t
+        CROSS JOIN status_match s
+        WHERE t.amount_in_range
+        RETURNING id_loan, id_status
+    ),
+    counted AS (
+        INSERT INTO loan_status_counter (id_status, stripe, total)
+        SELECT i.id_status, :stripe, 1
+        FROM inserted i
+        ON CONFLICT (id_status, stripe)
+        DO UPDATE SET total = loan_status_counter.total + EXCLUDED.total
+    )
+    SELECT
+        CASE
+            WHEN t.id_loan_type IS NULL THEN 'LOAN_TYPE_NOT_FOUND'
+            WHEN NOT t.amount_in_range THEN 'LOAN_AMOUNT_OUT_OF_RANGE'
+            WHEN s.id_status IS NULL THEN 'LOAN_STATUS_NOT_FOUND'
+            ELSE 'CREATED'
+        END AS outcome,
+        i.id_loan,
+        s.name AS loan_status_name,
+        t.name AS loan_type_name
+    FROM (SELECT 1) AS single_row
+    LEFT JOIN loan_type_match t ON TRUE
+    LEFT JOIN status_match s ON TRUE
+    LEFT JOIN inserted i ON TRUE
+""")
+    Mono<LoanCreationRow> createLoanAtomically(@Param("idLoan") UUID idLoan,
+                                               @Param("amount") BigDecimal amount,
+                                               @Param("loanTerm") Integer loanTerm,
+                                               @Param("email") String email,
+                                               @Param("dni") String dni,
+                                               @Param("userId") UUID userId,
+                                               @Param("monthlyPayment") BigDecimal monthlyPayment,
+                                               @Param("loanTypeName") String loanTypeName,
+                                               @Param("statusName") String statusName,
+                                               @Param("stripe") int stripe);
+
+    @Modifying
+    @Query("""
+    INSERT INTO loan (id_loan, amount, loan_term, email, dni, id_status, id_loan_type, user_id, monthly_payment)
+    SELECT *
+    FROM UNNEST(
+        :loanIds::UUID[],
+        :amounts::NUMERIC[],
+        :loanTerms::INTEGER[],
+        :emails::TEXT[],
+        :dnis::TEXT[],
+        :statusIds::UUID[],
+        :loanTypeIds::UUID[],
+        :userIds::UUID[],
+        :monthlyPayments::NUMERIC[]
+    )
+""")
+    Mono<Integer> insertLoans(@Param("loanIds") UUID[] loanIds,
+                              @Param("amounts") BigDecimal[] amounts,
+                              @Param("loanTerms") Integer[] loanTerms,
+                              @Param("emails") String[] emails,
+                              @Param("dnis") String[] dnis,
+                              @Param("statusIds") UUID[] statusIds,
+                              @Param("loanTypeIds") UUID[] loanTypeIds,
+                              @Param("userIds") UUID[] userIds,
+                              @Param("monthlyPayments") BigDecimal[] monthlyPayments);
+
+    @Modifying
+    @Query("""
+    UPDATE loan l
+    SET monthly_payment = u.monthly_payment
+    FROM UNNEST(:loanIds::UUID[], :monthlyPayments::NUMERIC[]) AS u(id_loan, monthly_payment)
+    WHERE l.id_loan = u.id_loan
+      AND l.monthly_payment IS NULL
 """)
-    Flux<LoanJoinedProjection> findAllLoans();
+    Mono<Integer> updateMonthlyPayments(@Param("loanIds") UUID[] loanIds,
+                                        @Param("monthlyPayments") BigDecimal[] monthlyPayments);
 
 
     @Query("""
@@ -82,9 +265,10 @@ public interface LoanReactiveRepository extends ReactiveCrudRepository<LoanEntit
         WHERE
             l.user_id = :userId
         AND
-            l.id_status = (SELECT id_status FROM loan_status WHERE name = 'Approved' LIMIT 1)
+            l.id_status = :approvedStatusId
     """)
-    Flux<ActiveLoanDetails> findActiveLoansByUserId(UUID uuid);
+    Flux<ActiveLoanDetails> findActiveLoansByUserId(@Param("userId") UUID userId,
+                                                    @Param("approvedStatusId") UUID approvedStatusId);
 
 
 }
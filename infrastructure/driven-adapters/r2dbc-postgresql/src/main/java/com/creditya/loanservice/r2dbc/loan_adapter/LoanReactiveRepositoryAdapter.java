@@ -2,17 +2,27 @@ package com.creditya.loanservice.r2dbc.loan_adapter;
 
 import com.creditya.loanservice.model.creditanalisys.ActiveLoanDetails;
 import com.creditya.loanservice.model.loan.Loan;
+import com.creditya.loanservice.model.loan.data.LoanCreationOutcome;
+import com.creditya.loanservice.model.loan.data.LoanCreationResult;
+import com.creditya.loanservice.model.loan.data.LoanData;
 import com.creditya.loanservice.model.loan.data.LoanJoinedProjection;
+import com.creditya.loanservice.model.loan.data.LoanPageResult;
 import com.creditya.loanservice.model.loan.gateways.LoanRepository;
+import com.creditya.loanservice.model.loanstatus.Status;
+import com.creditya.loanservice.r2dbc.config.LoanStatusCounterProperties;
 import com.creditya.loanservice.r2dbc.entity.LoanEntity;
 import com.creditya.loanservice.r2dbc.helper.ReactiveAdapterOperations;
+import com.creditya.loanservice.r2dbc.reference_data.ReferenceDataCache;
 import org.reactivecommons.utils.ObjectMapper;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Repository
 public class LoanReactiveRepositoryAdapter extends ReactiveAdapterOperations<
@@ -21,9 +31,16 @@ public class LoanReactiveRepositoryAdapter extends ReactiveAdapterOperations<
         UUID,
         LoanReactiveRepository
 > implements LoanRepository {
-    public LoanReactiveRepositoryAdapter(LoanReactiveRepository repository, ObjectMapper mapper) {
+    private final ReferenceDataCache referenceDataCache;
+    private final LoanStatusCounterProperties counterProperties;
+
+    public LoanReactiveRepositoryAdapter(LoanReactiveRepository repository, ObjectMapper mapper,
+                                         ReferenceDataCache referenceDataCache,
+                                         LoanStatusCounterProperties counterProperties) {
 
         super(repository, mapper, d -> mapper.map(d, Loan.class));
+        this.referenceDataCache = referenceDataCache;
+        this.counterProperties = counterProperties;
     }
 
     @Override
@@ -31,6 +48,61 @@ public class LoanReactiveRepositoryAdapter extends ReactiveAdapterOperations<
         return this.repository.save(this.toData(loan)).map(this::toEntity);
     }
 
+    /**
+     * The stripe of {@code loan_status_counter} is picked here, the same way
+     * {@code LoanStatusCounterRepositoryAdapter} picks it, so the counter row is bumped by the
+     * same statement that inserts the loan.
+     */
+    @Override
+    public Mono<LoanCreationResult> createLoanAtomically(Loan loan, String loanTypeName, String statusName) {
+        UUID idLoan = loan.getIdLoan() != null ? loan.getIdLoan() : UUID.randomUUID();
+        return this.repository.createLoanAtomically(
+                        idLoan,
+                        loan.getAmount(),
+                        loan.getLoanTerm(),
+                        loan.getEmail(),
+                        loan.getDni(),
+                        loan.getUserId(),
+                        loan.getMonthlyPayment(),
+                        loanTypeName,
+                        statusName,
+                        ThreadLocalRandom.current().nextInt(counterProperties.stripes()))
+                .map(row -> toCreationResult(row, loan));
+    }
+
+    @Override
+    public Flux<Loan> saveLoans(List<Loan> loans) {
+        return this.saveAllEntities(Flux.fromIterable(loans));
+    }
+
+    /**
+     * Inserts the whole batch with one multi-row statement instead of one {@code INSERT} per
+     * entity. Ids are assigned here so every saved row can be handed back in input order.
+     */
+    @Override
+    protected Flux<LoanEntity> saveData(Flux<LoanEntity> data) {
+        return data.collectList()
+                .flatMapMany(entities -> {
+                    if (entities.isEmpty()) {
+                        return Flux.empty();
+                    }
+                    entities.stream()
+                            .filter(entity -> entity.getIdLoan() == null)
+                            .forEach(entity -> entity.setIdLoan(UUID.randomUUID()));
+                    return this.repository.insertLoans(
+                                    entities.stream().map(LoanEntity::getIdLoan).toArray(UUID[]::new),
+                                    entities.stream().map(LoanEntity::getAmount).toArray(BigDecimal[]::new),
+                                    entities.stream().map(LoanEntity::getLoanTerm).toArray(Integer[]::new),
+                                    entities.stream().map(LoanEntity::getEmail).toArray(String[]::new),
+                                    entities.stream().map(LoanEntity::getDni).toArray(String[]::new),
+                                    entities.stream().map(LoanEntity::getIdStatus).toArray(UUID[]::new),
+                                    entities.stream().map(LoanEntity::getIdLoanType).toArray(UUID[]::new),
+                                    entities.stream().map(LoanEntity::getUserId).toArray(UUID[]::new),
+                                    entities.stream().map(LoanEntity::getMonthlyPayment).toArray(BigDecimal[]::new))
+                            .thenMany(Flux.fromIterable(entities));
+                });
+    }
+
     @Override
     public Mono<Loan> findLoanById(UUID uuid) {
         return this.repository.findById(uuid).map(this::toEntity);
@@ -39,28 +111,68 @@ public class LoanReactiveRepositoryAdapter extends ReactiveAdapterOperations<
 
 
     @Override
-    public Mono<Long> countAllLoans() {
-        return this.repository.count();
+    public Flux<LoanJoinedProjection> findAllLoans(UUID[] excludeStatusIds) {
+        return this.repository.findAllLoans(excludeStatusIds);
     }
 
     @Override
-    public Flux<LoanJoinedProjection> findAllLoans() {
-        return this.repository.findAllLoans();
+    public Mono<Long> countLoans(UUID[] statusIds, UUID[] excludeStatusIds) {
+        return this.repository.countListedLoans(statusIds, excludeStatusIds);
     }
 
     @Override
-    public Mono<Long> countLoansByStatusIds(List<UUID> statusIds) {
-        return this.repository.countByIdStatusIn(statusIds);
+    public Mono<LoanPageResult> findLoanPage(UUID[] statusIds, UUID[] excludeStatusIds, int limit, int offset) {
+        return this.repository.findLoanPage(statusIds, excludeStatusIds, limit, offset)
+                .collectList()
+                .map(rows -> new LoanPageResult(
+                        rows.stream()
+                                .filter(LoanPageRow::hasLoan)
+                                .map(LoanPageRow::toProjection)
+                                .toList(),
+                        rows.isEmpty() ? 0L : rows.getFirst().totalCount()));
     }
 
     @Override
-    public Flux<LoanJoinedProjection> findLoansWithTypeAndStatus(UUID[] statusIds, int limit, int offset) {
-        return this.repository.findLoansWithTypeAndStatus(statusIds,limit,offset);
+    public Flux<LoanJoinedProjection> findLoansAfterCursor(UUID[] statusIds, UUID[] excludeStatusIds, UUID cursor, int limit) {
+        return this.repository.findLoansAfterCursor(statusIds, excludeStatusIds, cursor, limit);
     }
 
     @Override
     public Flux<ActiveLoanDetails> findActiveLoansByUserId(UUID uuid) {
-        return this.repository.findActiveLoansByUserId(uuid);
+        return referenceDataCache.resolveStatusId(Status.APPROVED)
+                .flatMapMany(approvedStatusId -> this.repository.findActiveLoansByUserId(uuid, approvedStatusId));
+    }
+
+    @Override
+    public Flux<LoanJoinedProjection> findLoansWithoutMonthlyPayment(UUID cursor, int limit) {
+        return this.repository.findLoansWithoutMonthlyPayment(cursor, limit);
     }
 
+    @Override
+    public Mono<Long> saveMonthlyPayments(Map<UUID, BigDecimal> monthlyPaymentsByLoanId) {
+        if (monthlyPaymentsByLoanId.isEmpty()) {
+            return Mono.just(0L);
+        }
+        List<Map.Entry<UUID, BigDecimal>> entries = List.copyOf(monthlyPaymentsByLoanId.entrySet());
+        return this.repository.updateMonthlyPayments(
+                        entries.stream().map(Map.Entry::getKey).toArray(UUID[]::new),
+                        entries.stream().map(Map.Entry::getValue).toArray(BigDecimal[]::new))
+                .map(Integer::longValue);
+    }
+
+    private LoanCreationResult toCreationResult(LoanCreationRow row, Loan loan) {
+        LoanCreationOutcome outcome = LoanCreationOutcome.valueOf(row.outcome());
+        if (outcome != LoanCreationOutcome.CREATED) {
+            return new LoanCreationResult(outcome, null);
+        }
+        return new LoanCreationResult(outcome, LoanData.builder()
+                .idLoan(row.idLoan())
+                .amount(loan.getAmount())
+                .loanTerm(loan.getLoanTerm())
+                .email(loan.getEmail())
+                .dni(loan.getDni())
+                .status(row.loanStatusName())
+                .loanType(row.loanTypeName())
+                .build());
+    }
 }
@@ -1,10 +1,11 @@
 package com.creditya.loanservice.r2dbc.loan_status_adapter;
 
 import com.creditya.loanservice.model.loanstatus.LoanStatus;
+import com.creditya.loanservice.model.loanstatus.Status;
 import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusRepository;
-import com.creditya.loanservice.model.loantype.LoanType;
 import com.creditya.loanservice.r2dbc.entity.LoanStatusEntity;
 import com.creditya.loanservice.r2dbc.helper.ReactiveAdapterOperations;
+import com.creditya.loanservice.r2dbc.reference_data.ReferenceDataCache;
 import org.reactivecommons.utils.ObjectMapper;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -20,19 +21,31 @@ public class LoanStatusReactiveRepositoryAdapter extends ReactiveAdapterOperatio
         UUID,
         LoanStatusReactiveRepository
 > implements LoanStatusRepository {
-    public LoanStatusReactiveRepositoryAdapter(LoanStatusReactiveRepository repository, ObjectMapper mapper) {
+    private final ReferenceDataCache referenceDataCache;
+
+    public LoanStatusReactiveRepositoryAdapter(LoanStatusReactiveRepository repository, ObjectMapper mapper,
+                                               ReferenceDataCache referenceDataCache) {
 
         super(repository, mapper, d -> mapper.map(d, LoanStatus.class));
+        this.referenceDataCache = referenceDataCache;
     }
 
     @Override
     public Mono<LoanStatus> findByName(String name) {
-        return this.repository.findByName(name).map(this::toEntity);
+        return referenceDataCache.statusByName(name)
+                .map(cached -> Mono.fromSupplier(() -> this.toEntity(cached)))
+                .orElseGet(() -> this.repository.findByName(name).map(this::toEntity));
     }
 
     @Override
     public Flux<UUID> findIdsByNames(List<String> statusNames) {
-        return this.repository.findByNameIn(statusNames).map(LoanStatusEntity::getIdStatus);
+        return referenceDataCache.statusIdsByNames(statusNames)
+                .map(Flux::fromIterable)
+                .orElseGet(() -> this.repository.findByNameIn(statusNames).map(LoanStatusEntity::getIdStatus));
     }
 
+    @Override
+    public Mono<UUID> findIdByStatus(Status status) {
+        return referenceDataCache.resolveStatusId(status);
+    }
 }
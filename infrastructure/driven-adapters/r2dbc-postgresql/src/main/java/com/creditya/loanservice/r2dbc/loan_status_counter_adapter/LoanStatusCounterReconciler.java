@@ -0,0 +1,125 @@
+package com.creditya.loanservice.r2dbc.loan_status_counter_adapter;
+
+import com.creditya.loanservice.r2dbc.config.LoanStatusCounterProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Periodically compares {@code loan_status_counter} with a real {@code COUNT} over {@code loan}
+ * and adds any difference to stripe 0. Both sides are read by one statement, so they come from the
+ * same snapshot; every writer changes {@code loan} and the counters in the same transaction, so
+ * transactions committed after that snapshot move both sides equally and the difference stays
+ * valid. The deltas are then added as additive upserts, so the table is never locked against the
+ * inserts and status updates running meanwhile; only the stripe-0 rows are held, and only from the
+ * upserts to the commit right after them. A transaction-scoped advisory lock keeps two instances
+ * from applying the same drift twice; an instance that does not get it skips the run.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class LoanStatusCounterReconciler {
+
+    private static final String TRY_LOCK = """
+            SELECT pg_try_advisory_xact_lock(hashtext('loan_status_counter_reconciler')) AS acquired
+            """;
+
+    private static final String FIND_DRIFT = """
+            WITH actual AS (
+                SELECT s.id_status, COUNT(l.id_loan) AS total
+                FROM loan_status s
+                LEFT JOIN loan l ON l.id_status = s.id_status
+                GROUP BY s.id_status
+            ),
+            tracked AS (
+                SELECT id_status, SUM(total) AS total
+                FROM loan_status_counter
+                GROUP BY id_status
+            )
+            SELECT a.id_status, (a.total - COALESCE(t.total, 0))::BIGINT AS delta
+            FROM actual a
+            LEFT JOIN tracked t ON t.id_status = a.id_status
+            WHERE a.total != COALESCE(t.total, 0)
+            """;
+
+    private static final String APPLY_DELTA = """
+            INSERT INTO loan_status_counter (id_status, stripe, total)
+            VALUES (:statusId, 0, :delta)
+            ON CONFLICT (id_status, stripe)
+            DO UPDATE SET total = loan_status_counter.total + EXCLUDED.total
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final LoanStatusCounterProperties properties;
+
+    private Disposable schedule;
+
+    @PostConstruct
+    public void start() {
+        schedule = Flux.interval(properties.reconcileInterval(), properties.reconcileInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> reconcile()
+                        .onErrorResume(e -> {
+                            log.error("Loan status counter reconciliation failed: {}", e.getMessage(), e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+
+    public Mono<Long> reconcile() {
+        Mono<Long> repair = databaseClient.sql(TRY_LOCK)
+                .map(row -> Boolean.TRUE.equals(row.get("acquired", Boolean.class)))
+                .one()
+                .flatMap(acquired -> {
+                    if (!acquired) {
+                        log.trace("Loan status counter reconciliation is running elsewhere, skipping");
+                        return Mono.just(0L);
+                    }
+                    return databaseClient.sql(FIND_DRIFT)
+                            .map(row -> new Drift(row.get("id_status", UUID.class), row.get("delta", Long.class)))
+                            .all()
+                            .collectList()
+                            .flatMap(this::applyDrift);
+                });
+
+        return transactionalOperator.transactional(repair)
+                .doOnNext(repaired -> {
+                    if (repaired > 0) {
+                        log.warn("Repaired loan status counter drift for {} status(es)", repaired);
+                    } else {
+                        log.trace("Loan status counters are consistent");
+                    }
+                });
+    }
+
+    private Mono<Long> applyDrift(List<Drift> drift) {
+        return Flux.fromIterable(drift)
+                .concatMap(status -> databaseClient.sql(APPLY_DELTA)
+                        .bind("statusId", status.statusId())
+                        .bind("delta", status.delta())
+                        .fetch()
+                        .rowsUpdated())
+                .count();
+    }
+
+    private record Drift(UUID statusId, long delta) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.creditya.loanservice.r2dbc.loan_status_counter_adapter;
+
+import com.creditya.loanservice.model.loanstatus.gateways.LoanStatusCounterRepository;
+import com.creditya.loanservice.r2dbc.config.LoanStatusCounterProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-status loan totals kept in {@code loan_status_counter}. Each status is spread over
+ * several stripes so concurrent inserts do not queue on the same row lock; readers sum the stripes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LoanStatusCounterRepositoryAdapter implements LoanStatusCounterRepository {
+
+    private static final String ADD_DELTA = """
+            INSERT INTO loan_status_counter (id_status, stripe, total)
+            VALUES (:statusId, :stripe, :delta)
+            ON CONFLICT (id_status, stripe)
+            DO UPDATE SET total = loan_status_counter.total + EXCLUDED.total
+            """;
+
+    private static final String COUNT_LISTED = """
+            SELECT COALESCE(SUM(c.total), 0)::BIGINT AS total
+            FROM loan_status_counter c
+            WHERE
+              c.id_status <> ALL(:excludeStatusIds)
+              AND (
+                CARDINALITY(:statusIds) = 0
+                OR c.id_status = ANY(:statusIds)
+              )
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final LoanStatusCounterProperties properties;
+
+    @Override
+    public Mono<Void> increment(UUID statusId) {
+        return addDelta(statusId, 1L);
+    }
+
+    @Override
+    public Mono<Void> incrementBy(UUID statusId, long delta) {
+        return delta == 0L ? Mono.empty() : addDelta(statusId, delta);
+    }
+
+    @Override
+    public Mono<Void> transfer(UUID fromStatusId, UUID toStatusId) {
+        if (Objects.equals(fromStatusId, toStatusId)) {
+            return Mono.empty();
+        }
+        if (fromStatusId == null) {
+            return increment(toStatusId);
+        }
+        return addDelta(fromStatusId, -1L).then(addDelta(toStatusId, 1L));
+    }
+
+    @Override
+    public Mono<Long> countListedLoans(List<UUID> statusIds, List<UUID> excludeStatusIds) {
+        return databaseClient.sql(COUNT_LISTED)
+                .bind("statusIds", statusIds.toArray(UUID[]::new))
+                .bind("excludeStatusIds", excludeStatusIds.toArray(UUID[]::new))
+                .map(row -> row.get("total", Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+
+    private Mono<Void> addDelta(UUID statusId, long delta) {
+        return databaseClient.sql(ADD_DELTA)
+                .bind("statusId", statusId)
+                .bind("stripe", ThreadLocalRandom.current().nextInt(properties.stripes()))
+                .bind("delta", delta)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+}
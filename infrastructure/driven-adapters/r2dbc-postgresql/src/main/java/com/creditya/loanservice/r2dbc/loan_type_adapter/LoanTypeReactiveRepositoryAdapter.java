@@ -4,6 +4,7 @@ import com.creditya.loanservice.model.loantype.LoanType;
 import com.creditya.loanservice.model.loantype.gateways.LoanTypeRepository;
 import com.creditya.loanservice.r2dbc.entity.LoanTypeEntity;
 import com.creditya.loanservice.r2dbc.helper.ReactiveAdapterOperations;
+import com.creditya.loanservice.r2dbc.reference_data.ReferenceDataCache;
 import org.reactivecommons.utils.ObjectMapper;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
@@ -15,14 +16,20 @@ public class LoanTypeReactiveRepositoryAdapter extends ReactiveAdapterOperations
     String,
         LoanTypeReactiveRepository
 > implements LoanTypeRepository {
-    public LoanTypeReactiveRepositoryAdapter(LoanTypeReactiveRepository repository, ObjectMapper mapper) {
+    private final ReferenceDataCache referenceDataCache;
+
+    public LoanTypeReactiveRepositoryAdapter(LoanTypeReactiveRepository repository, ObjectMapper mapper,
+                                             ReferenceDataCache referenceDataCache) {
 
         super(repository, mapper, d -> mapper.map(d, LoanType.class));
+        this.referenceDataCache = referenceDataCache;
     }
 
     @Override
     public Mono<LoanType> findByName(String name) {
-        return this.repository.findByName(name).map(this::toEntity);
+        return referenceDataCache.typeByName(name)
+                .map(cached -> Mono.fromSupplier(() -> this.toEntity(cached)))
+                .orElseGet(() -> this.repository.findByName(name).map(this::toEntity));
     }
 
 }
@@ -0,0 +1,114 @@
+package com.creditya.loanservice.r2dbc.outbox_adapter;
+
+import com.creditya.loanservice.model.outbox.OutboxDestination;
+import com.creditya.loanservice.model.outbox.OutboxMessage;
+import com.creditya.loanservice.model.outbox.gateways.OutboxRepository;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outbox rows in {@code outbox}. A lease is a timestamp rather than a held row lock, so the relay
+ * does not keep a connection or transaction open while it publishes; {@code SKIP LOCKED} keeps
+ * concurrent relays from claiming the same rows. Sent rows are deleted, and rows that used up their
+ * attempts are parked, so only pending and parked messages stay in the table.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepositoryAdapter implements OutboxRepository {
+
+    private static final String APPEND = """
+            INSERT INTO outbox (id, destination, payload)
+            SELECT * FROM UNNEST(:ids::UUID[], :destinations::VARCHAR[], :payloads::TEXT[])
+            """;
+
+    private static final String LEASE = """
+            UPDATE outbox o
+            SET leased_until = now() + (:leaseMillis * INTERVAL '1 millisecond'),
+                attempts = o.attempts + 1
+            FROM (
+                SELECT id
+                FROM outbox
+                WHERE parked_at IS NULL
+                  AND attempts < :maxAttempts
+                  AND (leased_until IS NULL OR leased_until < now())
+                ORDER BY created_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ) due
+            WHERE o.id = due.id
+            RETURNING o.id, o.destination, o.payload
+            """;
+
+    private static final String PARK_EXHAUSTED = """
+            UPDATE outbox
+            SET parked_at = now(), leased_until = NULL
+            WHERE parked_at IS NULL
+              AND attempts >= :maxAttempts
+              AND (leased_until IS NULL OR leased_until < now())
+            RETURNING id, destination, payload
+            """;
+
+    private static final String DELETE_SENT = """
+            DELETE FROM outbox
+            WHERE id = ANY(:ids)
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Long> append(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.sql(APPEND)
+                .bind("ids", messages.stream().map(OutboxMessage::id).toArray(UUID[]::new))
+                .bind("destinations", messages.stream().map(message -> message.destination().name()).toArray(String[]::new))
+                .bind("payloads", messages.stream().map(OutboxMessage::payload).toArray(String[]::new))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    @Override
+    public Flux<OutboxMessage> lease(int limit, Duration leaseTime, int maxAttempts) {
+        return databaseClient.sql(LEASE)
+                .bind("leaseMillis", leaseTime.toMillis())
+                .bind("limit", limit)
+                .bind("maxAttempts", maxAttempts)
+                .map(this::toMessage)
+                .all();
+    }
+
+    @Override
+    public Flux<OutboxMessage> parkExhausted(int maxAttempts) {
+        return databaseClient.sql(PARK_EXHAUSTED)
+                .bind("maxAttempts", maxAttempts)
+                .map(this::toMessage)
+                .all();
+    }
+
+    @Override
+    public Mono<Long> deleteSent(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.sql(DELETE_SENT)
+                .bind("ids", ids.toArray(UUID[]::new))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private OutboxMessage toMessage(Readable row) {
+        return new OutboxMessage(
+                row.get("id", UUID.class),
+                OutboxDestination.valueOf(row.get("destination", String.class)),
+                row.get("payload", String.class));
+    }
+}
@@ -0,0 +1,156 @@
+package com.creditya.loanservice.r2dbc.reference_data;
+
+import com.creditya.loanservice.model.loanstatus.Status;
+import com.creditya.loanservice.r2dbc.config.ReferenceDataProperties;
+import com.creditya.loanservice.r2dbc.entity.LoanStatusEntity;
+import com.creditya.loanservice.r2dbc.entity.LoanTypeEntity;
+import com.creditya.loanservice.r2dbc.loan_status_adapter.LoanStatusReactiveRepository;
+import com.creditya.loanservice.r2dbc.loan_type_adapter.LoanTypeReactiveRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Preloaded copy of the loan status and loan type tables. The whole snapshot is swapped
+ * atomically on every refresh, so readers never see a half-loaded state. Lookups that are
+ * not in the snapshot are reported as misses and left to the caller to resolve against the database.
+ */
+@Log4j2
+@Component
+public class ReferenceDataCache {
+
+    private static final String METRIC_NAME = "loan.reference.data.cache";
+    private static final String STATUS_CACHE = "loan_status";
+    private static final String TYPE_CACHE = "loan_type";
+
+    private final LoanStatusReactiveRepository statusRepository;
+    private final LoanTypeReactiveRepository typeRepository;
+    private final Duration refreshInterval;
+    private final AtomicReference<ReferenceDataSnapshot> snapshot = new AtomicReference<>(ReferenceDataSnapshot.EMPTY);
+
+    private final Counter statusHits;
+    private final Counter statusMisses;
+    private final Counter typeHits;
+    private final Counter typeMisses;
+    private final Counter refreshFailures;
+
+    private Disposable schedule;
+
+    public ReferenceDataCache(LoanStatusReactiveRepository statusRepository,
+                              LoanTypeReactiveRepository typeRepository,
+                              ReferenceDataProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.statusRepository = statusRepository;
+        this.typeRepository = typeRepository;
+        this.refreshInterval = properties.refreshInterval();
+        this.statusHits = lookupCounter(meterRegistry, STATUS_CACHE, "hit");
+        this.statusMisses = lookupCounter(meterRegistry, STATUS_CACHE, "miss");
+        this.typeHits = lookupCounter(meterRegistry, TYPE_CACHE, "hit");
+        this.typeMisses = lookupCounter(meterRegistry, TYPE_CACHE, "miss");
+        this.refreshFailures = Counter.builder(METRIC_NAME + ".refresh.failures")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        schedule = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh().onErrorResume(e -> Mono.empty()))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+
+    public Mono<ReferenceDataSnapshot> refresh() {
+        return Mono.zip(statusRepository.findAll().collectList(), typeRepository.findAll().collectList())
+                .map(tuple -> ReferenceDataSnapshot.of(tuple.getT1(), tuple.getT2()))
+                .doOnNext(loaded -> {
+                    snapshot.set(loaded);
+                    log.trace("Reference data refreshed: {} statuses, {} loan types",
+                            loaded.statusesByName().size(), loaded.typesByName().size());
+                })
+                .doOnError(e -> {
+                    refreshFailures.increment();
+                    log.error("Reference data refresh failed, keeping snapshot from {}: {}",
+                            snapshot.get().loadedAt(), e.getMessage());
+                });
+    }
+
+    public ReferenceDataSnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    public Optional<LoanStatusEntity> statusByName(String name) {
+        return track(Optional.ofNullable(snapshot.get().statusesByName().get(name)), statusHits, statusMisses);
+    }
+
+    public Optional<LoanStatusEntity> statusById(UUID idStatus) {
+        return track(Optional.ofNullable(snapshot.get().statusesById().get(idStatus)), statusHits, statusMisses);
+    }
+
+    public Optional<UUID> statusId(Status status) {
+        return track(Optional.ofNullable(snapshot.get().statusIds().get(status)), statusHits, statusMisses);
+    }
+
+    /**
+     * Well-known status id from the snapshot, or from the database when the snapshot does not have it yet.
+     */
+    public Mono<UUID> resolveStatusId(Status status) {
+        return statusId(status)
+                .map(Mono::just)
+                .orElseGet(() -> statusRepository.findByName(status.getName()).map(LoanStatusEntity::getIdStatus));
+    }
+
+    /**
+     * Resolves every name or none: a single unknown name makes the whole lookup a miss so the
+     * caller falls back to the database instead of silently dropping a filter.
+     */
+    public Optional<List<UUID>> statusIdsByNames(List<String> names) {
+        ReferenceDataSnapshot current = snapshot.get();
+        List<UUID> ids = new ArrayList<>(names.size());
+        for (String name : names) {
+            LoanStatusEntity status = current.statusesByName().get(name);
+            if (status == null) {
+                statusMisses.increment();
+                return Optional.empty();
+            }
+            ids.add(status.getIdStatus());
+        }
+        statusHits.increment();
+        return Optional.of(List.copyOf(ids));
+    }
+
+    public Optional<LoanTypeEntity> typeByName(String name) {
+        return track(Optional.ofNullable(snapshot.get().typesByName().get(name)), typeHits, typeMisses);
+    }
+
+    private static <T> Optional<T> track(Optional<T> value, Counter hits, Counter misses) {
+        (value.isPresent() ? hits : misses).increment();
+        return value;
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String cache, String result) {
+        return Counter.builder(METRIC_NAME)
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
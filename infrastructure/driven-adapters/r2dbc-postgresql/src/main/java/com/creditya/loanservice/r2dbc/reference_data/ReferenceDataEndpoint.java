@@ -0,0 +1,36 @@
+package com.creditya.loanservice.r2dbc.reference_data;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "referencedata")
+@RequiredArgsConstructor
+public class ReferenceDataEndpoint {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    @ReadOperation
+    public Map<String, Object> describe() {
+        return describe(referenceDataCache.snapshot());
+    }
+
+    @WriteOperation
+    public Mono<Map<String, Object>> refresh() {
+        return referenceDataCache.refresh().map(this::describe);
+    }
+
+    private Map<String, Object> describe(ReferenceDataSnapshot snapshot) {
+        return Map.of(
+                "loadedAt", snapshot.loadedAt().toString(),
+                "statuses", snapshot.statusesByName().keySet(),
+                "loanTypes", snapshot.typesByName().keySet()
+        );
+    }
+}
@@ -0,0 +1,49 @@
+package com.creditya.loanservice.r2dbc.reference_data;
+
+import com.creditya.loanservice.model.loanstatus.Status;
+import com.creditya.loanservice.r2dbc.entity.LoanStatusEntity;
+import com.creditya.loanservice.r2dbc.entity.LoanTypeEntity;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable view of {@code loan_status} and {@code loan_type} as loaded by one refresh.
+ */
+public record ReferenceDataSnapshot(
+        Map<String, LoanStatusEntity> statusesByName,
+        Map<UUID, LoanStatusEntity> statusesById,
+        Map<Status, UUID> statusIds,
+        Map<String, LoanTypeEntity> typesByName,
+        Instant loadedAt) {
+
+    public static final ReferenceDataSnapshot EMPTY =
+            new ReferenceDataSnapshot(Map.of(), Map.of(), Map.of(), Map.of(), Instant.EPOCH);
+
+    public static ReferenceDataSnapshot of(List<LoanStatusEntity> statuses, List<LoanTypeEntity> types) {
+        Map<String, LoanStatusEntity> statusesByName = statuses.stream()
+                .collect(Collectors.toUnmodifiableMap(LoanStatusEntity::getName, Function.identity()));
+        Map<UUID, LoanStatusEntity> statusesById = statuses.stream()
+                .collect(Collectors.toUnmodifiableMap(LoanStatusEntity::getIdStatus, Function.identity()));
+
+        Map<Status, UUID> statusIds = new EnumMap<>(Status.class);
+        Arrays.stream(Status.values())
+                .filter(status -> statusesByName.containsKey(status.getName()))
+                .forEach(status -> statusIds.put(status, statusesByName.get(status.getName()).getIdStatus()));
+
+        Map<String, LoanTypeEntity> typesByName = types.stream()
+                .collect(Collectors.toUnmodifiableMap(LoanTypeEntity::getName, Function.identity()));
+
+        return new ReferenceDataSnapshot(statusesByName, statusesById, Map.copyOf(statusIds), typesByName, Instant.now());
+    }
+
+    public boolean isLoaded() {
+        return !Instant.EPOCH.equals(loadedAt);
+    }
+}
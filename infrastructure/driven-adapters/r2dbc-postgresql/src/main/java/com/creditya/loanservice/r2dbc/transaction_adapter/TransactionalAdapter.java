@@ -1,19 +1,56 @@
 package com.creditya.loanservice.r2dbc.transaction_adapter;
 
 import com.creditya.loanservice.model.utils.gateways.TransactionalGateway;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 @Component
 @RequiredArgsConstructor
 public class TransactionalAdapter implements TransactionalGateway {
 
+    static final String HOLD_TIME_METRIC = "loan.db.transaction.hold";
+    private static final String NAME_TAG = "use_case";
+
     private final TransactionalOperator transactionalOperator;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> holdTimers = new ConcurrentHashMap<>();
 
     @Override
     public <T> Mono<T> executeInTransaction(Mono<T> action) {
         return transactionalOperator.transactional(action);
     }
-}
\ No newline at end of file
+
+    /**
+     * The clock starts when the action is subscribed, which happens once the transaction has begun
+     * on a connection, and stops after commit or rollback, so time spent waiting for the pool is not counted.
+     */
+    @Override
+    public <T> Mono<T> executeInTransaction(String name, Mono<T> action) {
+        return Mono.defer(() -> {
+            AtomicLong startedAt = new AtomicLong();
+            return transactionalOperator.transactional(action.doOnSubscribe(s -> startedAt.set(System.nanoTime())))
+                    .doFinally(signal -> {
+                        long start = startedAt.get();
+                        if (start != 0L) {
+                            holdTimer(name).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        }
+                    });
+        });
+    }
+
+    private Timer holdTimer(String name) {
+        return holdTimers.computeIfAbsent(name, key -> Timer.builder(HOLD_TIME_METRIC)
+                .description("Time a use case holds a database connection inside a transaction")
+                .tag(NAME_TAG, key)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,144 @@
+package com.creditya.loanservice.r2dbc.user_snapshot_adapter;
+
+import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
+import com.creditya.loanservice.model.usersnapshot.gateways.UserSnapshotReplicaRepository;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Local copy of the authentication service users in {@code user_snapshot}. Writes carry the
+ * time of the change they come from and never overwrite a newer row, so events that arrive
+ * out of order or overlap with a backfill leave the latest version in place. Backfilled rows are
+ * dated {@code -infinity} so any event replaces them, and a deleted user is kept as a tombstone
+ * so an older upsert arriving late cannot bring it back.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserSnapshotReplicaRepositoryAdapter implements UserSnapshotReplicaRepository {
+
+    private static final String FIND_BY_IDS = """
+            SELECT u.user_id, u.name, u.email, u.base_salary
+            FROM user_snapshot u
+            WHERE u.user_id = ANY(:userIds)
+              AND NOT u.deleted
+            """;
+
+    private static final String UPSERT = """
+            INSERT INTO user_snapshot (user_id, name, email, base_salary, deleted, changed_at, replicated_at)
+            VALUES (:userId, :name, :email, :baseSalary, FALSE, :changedAt, now())
+            ON CONFLICT (user_id) DO UPDATE SET
+                name = EXCLUDED.name,
+                email = EXCLUDED.email,
+                base_salary = EXCLUDED.base_salary,
+                deleted = FALSE,
+                changed_at = EXCLUDED.changed_at,
+                replicated_at = EXCLUDED.replicated_at
+            WHERE user_snapshot.changed_at < EXCLUDED.changed_at
+               OR (user_snapshot.changed_at = EXCLUDED.changed_at AND NOT user_snapshot.deleted)
+            """;
+
+    private static final String INSERT_BACKFILLED = """
+            INSERT INTO user_snapshot (user_id, name, email, base_salary, deleted, changed_at, replicated_at)
+            SELECT u.user_id, u.name, u.email, u.base_salary, FALSE, '-infinity'::TIMESTAMPTZ, now()
+            FROM UNNEST(:userIds::UUID[], :names::VARCHAR[], :emails::VARCHAR[], :baseSalaries::NUMERIC[])
+                 AS u(user_id, name, email, base_salary)
+            ON CONFLICT (user_id) DO NOTHING
+            """;
+
+    private static final String DELETE = """
+            INSERT INTO user_snapshot (user_id, deleted, changed_at, replicated_at)
+            VALUES (:userId, TRUE, :changedAt, now())
+            ON CONFLICT (user_id) DO UPDATE SET
+                name = NULL,
+                email = NULL,
+                base_salary = NULL,
+                deleted = TRUE,
+                changed_at = EXCLUDED.changed_at,
+                replicated_at = EXCLUDED.replicated_at
+            WHERE user_snapshot.changed_at <= EXCLUDED.changed_at
+            """;
+
+    private static final String FIND_UNREPLICATED = """
+            SELECT DISTINCT l.user_id
+            FROM loan l
+            WHERE NOT EXISTS (
+                SELECT 1 FROM user_snapshot u WHERE u.user_id = l.user_id
+            )
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<UserSnapshot> findUsersByIds(List<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(FIND_BY_IDS)
+                .bind("userIds", userIds.toArray(UUID[]::new))
+                .map(this::toSnapshot)
+                .all();
+    }
+
+    @Override
+    public Mono<Void> upsert(UserSnapshot user, Instant changedAt) {
+        return databaseClient.sql(UPSERT)
+                .bind("userId", user.getUserId())
+                .bind("name", Parameter.fromOrEmpty(user.getName(), String.class))
+                .bind("email", Parameter.fromOrEmpty(user.getEmail(), String.class))
+                .bind("baseSalary", Parameter.fromOrEmpty(user.getBaseSalary(), BigDecimal.class))
+                .bind("changedAt", changedAt)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    @Override
+    public Mono<Long> insertBackfilled(List<UserSnapshot> users) {
+        if (users.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.sql(INSERT_BACKFILLED)
+                .bind("userIds", users.stream().map(UserSnapshot::getUserId).toArray(UUID[]::new))
+                .bind("names", users.stream().map(UserSnapshot::getName).toArray(String[]::new))
+                .bind("emails", users.stream().map(UserSnapshot::getEmail).toArray(String[]::new))
+                .bind("baseSalaries", users.stream().map(UserSnapshot::getBaseSalary).toArray(BigDecimal[]::new))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    @Override
+    public Mono<Void> delete(UUID userId, Instant changedAt) {
+        return databaseClient.sql(DELETE)
+                .bind("userId", userId)
+                .bind("changedAt", changedAt)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    @Override
+    public Flux<UUID> findUnreplicatedUserIds() {
+        return databaseClient.sql(FIND_UNREPLICATED)
+                .map(row -> row.get("user_id", UUID.class))
+                .all();
+    }
+
+    private UserSnapshot toSnapshot(Readable row) {
+        return UserSnapshot.builder()
+                .userId(row.get("user_id", UUID.class))
+                .name(row.get("name", String.class))
+                .email(row.get("email", String.class))
+                .baseSalary(row.get("base_salary", BigDecimal.class))
+                .build();
+    }
+}
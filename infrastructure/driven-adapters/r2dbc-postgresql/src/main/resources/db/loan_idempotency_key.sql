@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS loan_idempotency_key (
+    user_id         UUID           NOT NULL,
+    idempotency_key VARCHAR(255)   NOT NULL,
+    fingerprint     CHAR(64)       NOT NULL,
+    claim_id        UUID           NOT NULL,
+    locked_until    TIMESTAMPTZ,
+    id_loan         UUID,
+    amount          NUMERIC(15, 2),
+    loan_term       INTEGER,
+    email           VARCHAR(255),
+    dni             VARCHAR(50),
+    loan_status     VARCHAR(100),
+    loan_type       VARCHAR(100),
+    created_at      TIMESTAMPTZ    NOT NULL DEFAULT now(),
+    PRIMARY KEY (user_id, idempotency_key)
+);
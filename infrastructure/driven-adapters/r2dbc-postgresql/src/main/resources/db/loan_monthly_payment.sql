@@ -0,0 +1 @@
+ALTER TABLE loan ADD COLUMN IF NOT EXISTS monthly_payment NUMERIC(15, 2);
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS loan_status_counter (
+    id_status UUID     NOT NULL REFERENCES loan_status (id_status),
+    stripe    SMALLINT NOT NULL,
+    total     BIGINT   NOT NULL DEFAULT 0,
+    PRIMARY KEY (id_status, stripe)
+);
+
+INSERT INTO loan_status_counter (id_status, stripe, total)
+SELECT l.id_status, 0, COUNT(*)
+FROM loan l
+GROUP BY l.id_status
+ON CONFLICT (id_status, stripe) DO NOTHING;
@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS outbox (
+    id           UUID        PRIMARY KEY,
+    destination  VARCHAR(50) NOT NULL,
+    payload      TEXT        NOT NULL,
+    created_at   TIMESTAMPTZ NOT NULL DEFAULT now(),
+    leased_until TIMESTAMPTZ,
+    attempts     INTEGER     NOT NULL DEFAULT 0,
+    parked_at    TIMESTAMPTZ
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_pending ON outbox (created_at) WHERE parked_at IS NULL;
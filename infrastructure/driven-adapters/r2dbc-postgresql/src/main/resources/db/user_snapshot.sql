@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS user_snapshot (
+    user_id       UUID           PRIMARY KEY,
+    name          VARCHAR(255),
+    email         VARCHAR(255),
+    base_salary   NUMERIC(15, 2),
+    deleted       BOOLEAN        NOT NULL DEFAULT FALSE,
+    changed_at    TIMESTAMPTZ    NOT NULL,
+    replicated_at TIMESTAMPTZ    NOT NULL DEFAULT now()
+);
@@ -1,21 +1,32 @@
 package com.creditya.loanservice.r2dbc;
 
+import com.creditya.loanservice.model.creditanalisys.ActiveLoanDetails;
 import com.creditya.loanservice.model.loan.Loan;
+import com.creditya.loanservice.model.loan.data.LoanCreationOutcome;
 import com.creditya.loanservice.model.loan.data.LoanJoinedProjection;
+import com.creditya.loanservice.model.loanstatus.Status;
+import com.creditya.loanservice.r2dbc.config.LoanStatusCounterProperties;
 import com.creditya.loanservice.r2dbc.entity.LoanEntity;
+import com.creditya.loanservice.r2dbc.loan_adapter.LoanCreationRow;
+import com.creditya.loanservice.r2dbc.loan_adapter.LoanPageRow;
 import com.creditya.loanservice.r2dbc.loan_adapter.LoanReactiveRepository;
 import com.creditya.loanservice.r2dbc.loan_adapter.LoanReactiveRepositoryAdapter;
+import com.creditya.loanservice.r2dbc.reference_data.ReferenceDataCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.reactivecommons.utils.ObjectMapper;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,11 +38,17 @@ class LoanReactiveRepositoryAdapterTest {
     @Mock
     private ObjectMapper mapper;
 
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    private final LoanStatusCounterProperties counterProperties = new LoanStatusCounterProperties(4, null);
+    private final UUID[] excludeStatusIds = {UUID.randomUUID()};
+
     private LoanReactiveRepositoryAdapter adapter;
 
     @Test
     void createLoan_delegatesToRepositoryAndMaps() {
-        adapter = new LoanReactiveRepositoryAdapter(repository, mapper);
+        adapter = new LoanReactiveRepositoryAdapter(repository, mapper, referenceDataCache, counterProperties);
 
         Loan loan = new Loan();
         LoanEntity entity = new LoanEntity();
@@ -52,65 +69,191 @@ class LoanReactiveRepositoryAdapterTest {
     }
 
     @Test
-    void countAllLoans_delegatesToRepository() {
-        adapter = new LoanReactiveRepositoryAdapter(repository, mapper);
-        when(repository.count()).thenReturn(Mono.just(5L));
+    void createLoanAtomically_created_returnsJoinedLoan() {
+        adapter = new LoanReactiveRepositoryAdapter(repository, mapper, referenceDataCache, counterProperties);
+
+        UUID userId = UUID.randomUUID();
+        Loan loan = Loan.builder()
+                .amount(new BigDecimal("1000"))
+                .loanTerm(12)
+                .email("test@example.com")
+                .dni("12345678Z")
+                .userId(userId)
+                .monthlyPayment(new BigDecimal("88.85"))
+                .build();
+        UUID idLoan = UUID.randomUUID();
+
+        when(repository.createLoanAtomically(any(), eq(loan.getAmount()), eq(12), eq("test@example.com"), eq("12345678Z"),
+                eq(userId), eq(new BigDecimal("88.85")), eq("PERSONAL"), eq("Pending review"), intThat(stripe -> stripe >= 0 && stripe < 4)))
+                .thenReturn(Mono.just(new LoanCreationRow("CREATED", idLoan, "Pending review", "PERSONAL")));
+
+        StepVerifier.create(adapter.createLoanAtomically(loan, "PERSONAL", "Pending review"))
+                .assertNext(result -> {
+                    assertEquals(LoanCreationOutcome.CREATED, result.outcome());
+                    assertEquals(idLoan, result.loan().getIdLoan());
+                    assertEquals("Pending review", result.loan().getStatus());
+                    assertEquals("PERSONAL", result.loan().getLoanType());
+                    assertEquals(new BigDecimal("1000"), result.loan().getAmount());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void createLoanAtomically_rejected_returnsOutcomeWithoutLoan() {
+        adapter = new LoanReactiveRepositoryAdapter(repository, mapper, referenceDataCache, counterProperties);
+
+        Loan loan = Loan.builder().amount(new BigDecimal("999999")).loanTerm(12).build();
+
+        when(repository.createLoanAtomically(any(), any(), any(), any(), any(), any(), any(), eq("PERSONAL"), eq("Pending review"), anyInt()))
+                .thenReturn(Mono.just(new LoanCreationRow("LOAN_AMOUNT_OUT_OF_RANGE", null, "Pending review", "PERSONAL")));
+
+        StepVerifier.create(adapter.createLoanAtomically(loan, "PERSONAL", "Pending review"))
+                .assertNext(result -> {
+                    assertEquals(LoanCreationOutcome.LOAN_AMOUNT_OUT_OF_RANGE, result.outcome());
+                    assertNull(result.loan());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void saveLoans_insertsBatchWithOneStatementAndKeepsOrder() {
+        adapter = new LoanReactiveRepositoryAdapter(repository, mapper, referenceDataCache, counterProperties);
+
+        Loan first = new Loan();
+        Loan second = new Loan();
+        LoanEntity firstEntity = LoanEntity.builder().amount(BigDecimal.ONE).loanTerm(12).build();
+        LoanEntity secondEntity = LoanEntity.builder().amount(BigDecimal.TEN).loanTerm(24).build();
+        Loan firstSaved = new Loan();
+        Loan secondSaved = new Loan();
+
+        doReturn(firstEntity).when(mapper).map(first, LoanEntity.class);
+        doReturn(secondEntity).when(mapper).map(second, LoanEntity.class);
+        doReturn(firstSaved).when(mapper).map(firstEntity, Loan.class);
+        doReturn(secondSaved).when(mapper).map(secondEntity, Loan.class);
+        when(repository.insertLoans(any(), any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(Mono.just(2));
+
+        StepVerifier.create(adapter.saveLoans(List.of(first, second)))
+                .expectNext(firstSaved, secondSaved)
+                .verifyComplete();
+
+        verify(repository).insertLoans(
+                argThat(ids -> ids.length == 2 && ids[0] == firstEntity.getIdLoan() && ids[1] == secondEntity.getIdLoan()),
+                eq(new BigDecimal[]{BigDecimal.ONE, BigDecimal.TEN}),
+                eq(new Integer[]{12, 24}),
+                any(), any(), any(), any(), any(), any());
+        verify(repository, never()).saveAll(any(Publisher.class));
+    }
+
+    @Test
+    void saveLoans_emptyBatch_skipsTheDatabase() {
+        adapter = new LoanReactiveRepositoryAdapter(repository, mapper, referenceDataCache, counterProperties);
+
+        StepVerifier.create(adapter.saveLoans(List.of()))
+                .verifyComplete();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void countLoans_delegatesToRepository() {
+        adapter = new LoanReactiveRepositoryAdapter(repository, mapper, referenceDataCache, counterProperties);
+
+        UUID[] statusIds = {UUID.randomUUID()};
+        when(repository.countListedLoans(statusIds, excludeStatusIds)).thenReturn(Mono.just(3L));
 
-        StepVerifier.create(adapter.countAllLoans())
-                .expectNext(5L)
+        StepVerifier.create(adapter.countLoans(statusIds, excludeStatusIds))
+                .expectNext(3L)
                 .verifyComplete();
 
-        verify(repository, times(1)).count();
+        verify(repository, times(1)).countListedLoans(statusIds, excludeStatusIds);
     }
 
     @Test
     void findAllLoans_delegatesToRepository() {
-        adapter = new LoanReactiveRepositoryAdapter(repository, mapper);
+        adapter = new LoanReactiveRepositoryAdapter(repository, mapper, referenceDataCache, counterProperties);
 
         LoanJoinedProjection projection = new LoanJoinedProjection(
                 UUID.randomUUID(), UUID.randomUUID(), null, 12,
-                "email@test.com", "12345678", "Pending review", "PERSONAL", null
+                "email@test.com", "12345678", "Pending review", "PERSONAL", null, null
         );
-        when(repository.findAllLoans()).thenReturn(Flux.just(projection));
+        when(repository.findAllLoans(excludeStatusIds)).thenReturn(Flux.just(projection));
 
-        StepVerifier.create(adapter.findAllLoans())
+        StepVerifier.create(adapter.findAllLoans(excludeStatusIds))
                 .expectNext(projection)
                 .verifyComplete();
 
-        verify(repository, times(1)).findAllLoans();
+        verify(repository, times(1)).findAllLoans(excludeStatusIds);
     }
 
     @Test
-    void countLoansByStatusIds_delegatesToRepository() {
-        adapter = new LoanReactiveRepositoryAdapter(repository, mapper);
+    void findLoanPage_returnsRowsWithInlineTotal() {
+        adapter = new LoanReactiveRepositoryAdapter(repository, mapper, referenceDataCache, counterProperties);
 
-        List<UUID> statusIds = List.of(UUID.randomUUID());
-        when(repository.countByIdStatusIn(statusIds)).thenReturn(Mono.just(3L));
+        UUID[] statusIds = {UUID.randomUUID()};
+        UUID loanId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        LoanPageRow row = new LoanPageRow(loanId, userId, null, 12,
+                "email@test.com", "12345678", "Pending review", "PERSONAL", null, null, 7L);
 
-        StepVerifier.create(adapter.countLoansByStatusIds(statusIds))
-                .expectNext(3L)
+        when(repository.findLoanPage(statusIds, excludeStatusIds, 10, 0)).thenReturn(Flux.just(row));
+
+        StepVerifier.create(adapter.findLoanPage(statusIds, excludeStatusIds, 10, 0))
+                .expectNextMatches(result -> result.totalElements() == 7L
+                        && result.content().size() == 1
+                        && result.content().getFirst().idLoan().equals(loanId))
                 .verifyComplete();
 
-        verify(repository, times(1)).countByIdStatusIn(statusIds);
+        verify(repository, times(1)).findLoanPage(statusIds, excludeStatusIds, 10, 0);
     }
 
     @Test
-    void findLoansWithTypeAndStatus_delegatesToRepository() {
-        adapter = new LoanReactiveRepositoryAdapter(repository, mapper);
+    void findLoanPage_keepsTotalWhenPageIsOutOfRange() {
+        adapter = new LoanReactiveRepositoryAdapter(repository, mapper, referenceDataCache, counterProperties);
 
-        UUID[] statusIds = {UUID.randomUUID()};
+        UUID[] statusIds = {};
+        LoanPageRow totalOnly = new LoanPageRow(null, null, null, null,
+                null, null, null, null, null, null, 4L);
+
+        when(repository.findLoanPage(statusIds, excludeStatusIds, 10, 50)).thenReturn(Flux.just(totalOnly));
+
+        StepVerifier.create(adapter.findLoanPage(statusIds, excludeStatusIds, 10, 50))
+                .expectNextMatches(result -> result.totalElements() == 4L && result.content().isEmpty())
+                .verifyComplete();
+    }
+
+    @Test
+    void findLoansAfterCursor_delegatesToRepository() {
+        adapter = new LoanReactiveRepositoryAdapter(repository, mapper, referenceDataCache, counterProperties);
+
+        UUID[] statusIds = {};
+        UUID cursor = UUID.randomUUID();
         LoanJoinedProjection projection = new LoanJoinedProjection(
                 UUID.randomUUID(), UUID.randomUUID(), null, 12,
-                "email@test.com", "12345678", "Approved", "PERSONAL", null
+                "email@test.com", "12345678", "Pending review", "PERSONAL", null, null
         );
 
-        when(repository.findLoansWithTypeAndStatus(statusIds, 10, 0))
-                .thenReturn(Flux.just(projection));
+        when(repository.findLoansAfterCursor(statusIds, excludeStatusIds, cursor, 21)).thenReturn(Flux.just(projection));
 
-        StepVerifier.create(adapter.findLoansWithTypeAndStatus(statusIds, 10, 0))
+        StepVerifier.create(adapter.findLoansAfterCursor(statusIds, excludeStatusIds, cursor, 21))
                 .expectNext(projection)
                 .verifyComplete();
 
-        verify(repository, times(1)).findLoansWithTypeAndStatus(statusIds, 10, 0);
+        verify(repository, times(1)).findLoansAfterCursor(statusIds, excludeStatusIds, cursor, 21);
+    }
+
+    @Test
+    void findActiveLoansByUserId_bindsCachedApprovedStatusId() {
+        adapter = new LoanReactiveRepositoryAdapter(repository, mapper, referenceDataCache, counterProperties);
+
+        UUID userId = UUID.randomUUID();
+        UUID approvedStatusId = UUID.randomUUID();
+        ActiveLoanDetails activeLoan = ActiveLoanDetails.builder().idLoan(UUID.randomUUID()).build();
+
+        when(referenceDataCache.resolveStatusId(Status.APPROVED)).thenReturn(Mono.just(approvedStatusId));
+        when(repository.findActiveLoansByUserId(userId, approvedStatusId)).thenReturn(Flux.just(activeLoan));
+
+        StepVerifier.create(adapter.findActiveLoansByUserId(userId))
+                .expectNext(activeLoan)
+                .verifyComplete();
     }
 }
@@ -0,0 +1,136 @@
+package com.creditya.loanservice.r2dbc;
+
+import com.creditya.loanservice.r2dbc.config.LoanStatusCounterProperties;
+import com.creditya.loanservice.r2dbc.loan_status_counter_adapter.LoanStatusCounterReconciler;
+import io.r2dbc.spi.Row;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanStatusCounterReconcilerTest {
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private DatabaseClient.GenericExecuteSpec lockSpec;
+
+    @Mock
+    private DatabaseClient.GenericExecuteSpec driftSpec;
+
+    @Mock
+    private DatabaseClient.GenericExecuteSpec applySpec;
+
+    @Mock
+    private FetchSpec<Map<String, Object>> applyFetchSpec;
+
+    private LoanStatusCounterReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new LoanStatusCounterReconciler(databaseClient, transactionalOperator,
+                new LoanStatusCounterProperties(4, null));
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(databaseClient.sql(contains("pg_try_advisory_xact_lock"))).thenReturn(lockSpec);
+    }
+
+    /**
+     * Answers {@code map(...)} by running the adapter's own mapping function over the given rows.
+     */
+    @SuppressWarnings("unchecked")
+    private static void stubRows(DatabaseClient.GenericExecuteSpec spec, Row... rows) {
+        when(spec.map(any(Function.class))).thenAnswer(invocation -> {
+            Function<Row, Object> mapper = invocation.getArgument(0);
+            List<Object> mapped = Arrays.stream(rows).map(mapper).toList();
+            RowsFetchSpec<Object> fetched = mock(RowsFetchSpec.class);
+            lenient().when(fetched.one()).thenReturn(Mono.justOrEmpty(mapped.isEmpty() ? null : mapped.get(0)));
+            lenient().when(fetched.all()).thenReturn(Flux.fromIterable(mapped));
+            return fetched;
+        });
+    }
+
+    private static Row lockRow(boolean acquired) {
+        Row row = mock(Row.class);
+        when(row.get("acquired", Boolean.class)).thenReturn(acquired);
+        return row;
+    }
+
+    private static Row driftRow(UUID statusId, long delta) {
+        Row row = mock(Row.class);
+        when(row.get("id_status", UUID.class)).thenReturn(statusId);
+        when(row.get("delta", Long.class)).thenReturn(delta);
+        return row;
+    }
+
+    @Test
+    void reconcile_addsEachStatusDriftAsADelta() {
+        UUID undercounted = UUID.randomUUID();
+        UUID overcounted = UUID.randomUUID();
+        stubRows(lockSpec, lockRow(true));
+        when(databaseClient.sql(contains("WITH actual AS"))).thenReturn(driftSpec);
+        stubRows(driftSpec, driftRow(undercounted, 3L), driftRow(overcounted, -2L));
+        when(databaseClient.sql(contains("INSERT INTO loan_status_counter"))).thenReturn(applySpec);
+        when(applySpec.bind(anyString(), any())).thenReturn(applySpec);
+        when(applySpec.fetch()).thenReturn(applyFetchSpec);
+        when(applyFetchSpec.rowsUpdated()).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(reconciler.reconcile())
+                .expectNext(2L)
+                .verifyComplete();
+
+        InOrder inOrder = inOrder(applySpec);
+        inOrder.verify(applySpec).bind("statusId", undercounted);
+        inOrder.verify(applySpec).bind("delta", 3L);
+        inOrder.verify(applySpec).bind("statusId", overcounted);
+        inOrder.verify(applySpec).bind("delta", -2L);
+        verify(transactionalOperator).transactional(any(Mono.class));
+    }
+
+    @Test
+    void reconcile_withoutDrift_writesNothing() {
+        stubRows(lockSpec, lockRow(true));
+        when(databaseClient.sql(contains("WITH actual AS"))).thenReturn(driftSpec);
+        stubRows(driftSpec);
+
+        StepVerifier.create(reconciler.reconcile())
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(databaseClient, never()).sql(contains("INSERT INTO loan_status_counter"));
+    }
+
+    @Test
+    void reconcile_whileAnotherInstanceHoldsTheLock_skipsTheRun() {
+        stubRows(lockSpec, lockRow(false));
+
+        StepVerifier.create(reconciler.reconcile())
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(databaseClient, never()).sql(contains("WITH actual AS"));
+        verify(databaseClient, never()).sql(contains("INSERT INTO loan_status_counter"));
+    }
+}
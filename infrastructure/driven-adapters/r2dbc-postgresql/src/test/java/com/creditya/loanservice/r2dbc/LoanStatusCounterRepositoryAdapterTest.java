@@ -0,0 +1,126 @@
+package com.creditya.loanservice.r2dbc;
+
+import com.creditya.loanservice.r2dbc.config.LoanStatusCounterProperties;
+import com.creditya.loanservice.r2dbc.loan_status_counter_adapter.LoanStatusCounterRepositoryAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanStatusCounterRepositoryAdapterTest {
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private DatabaseClient.GenericExecuteSpec executeSpec;
+
+    @Mock
+    private FetchSpec<Map<String, Object>> fetchSpec;
+
+    @Mock
+    private RowsFetchSpec<Long> totalSpec;
+
+    private final UUID pendingStatusId = UUID.randomUUID();
+    private final UUID approvedStatusId = UUID.randomUUID();
+
+    private LoanStatusCounterRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new LoanStatusCounterRepositoryAdapter(databaseClient, new LoanStatusCounterProperties(4, null));
+    }
+
+    private void stubAddDelta() {
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.bind(anyString(), any())).thenReturn(executeSpec);
+        when(executeSpec.fetch()).thenReturn(fetchSpec);
+        when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(1L));
+    }
+
+    @Test
+    void transfer_takesOneFromThePreviousStatusAndAddsOneToTheNew() {
+        stubAddDelta();
+
+        StepVerifier.create(adapter.transfer(pendingStatusId, approvedStatusId))
+                .verifyComplete();
+
+        InOrder inOrder = inOrder(executeSpec);
+        inOrder.verify(executeSpec).bind("statusId", pendingStatusId);
+        inOrder.verify(executeSpec).bind("delta", -1L);
+        inOrder.verify(executeSpec).bind("statusId", approvedStatusId);
+        inOrder.verify(executeSpec).bind("delta", 1L);
+        verify(executeSpec, times(2)).bind(eq("stripe"), intThat(stripe -> stripe >= 0 && stripe < 4));
+    }
+
+    @Test
+    void transfer_withoutPreviousStatus_onlyIncrementsTheNew() {
+        stubAddDelta();
+
+        StepVerifier.create(adapter.transfer(null, approvedStatusId))
+                .verifyComplete();
+
+        verify(databaseClient, times(1)).sql(anyString());
+        verify(executeSpec).bind("statusId", approvedStatusId);
+        verify(executeSpec).bind("delta", 1L);
+    }
+
+    @Test
+    void transfer_toTheSameStatus_writesNothing() {
+        StepVerifier.create(adapter.transfer(pendingStatusId, pendingStatusId))
+                .verifyComplete();
+
+        verifyNoInteractions(databaseClient);
+    }
+
+    @Test
+    void incrementBy_zero_writesNothing() {
+        StepVerifier.create(adapter.incrementBy(pendingStatusId, 0L))
+                .verifyComplete();
+
+        verifyNoInteractions(databaseClient);
+    }
+
+    @Test
+    void incrementBy_addsTheWholeDeltaInOneUpsert() {
+        stubAddDelta();
+
+        StepVerifier.create(adapter.incrementBy(pendingStatusId, 25L))
+                .verifyComplete();
+
+        verify(databaseClient, times(1)).sql(anyString());
+        verify(executeSpec).bind("delta", 25L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void countListedLoans_withoutCounterRows_isZero() {
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.bind(anyString(), any())).thenReturn(executeSpec);
+        doReturn(totalSpec).when(executeSpec).map(any(Function.class));
+        when(totalSpec.one()).thenReturn(Mono.empty());
+
+        StepVerifier.create(adapter.countListedLoans(List.of(), List.of(pendingStatusId)))
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(executeSpec).bind("statusIds", new UUID[0]);
+        verify(executeSpec).bind("excludeStatusIds", new UUID[]{pendingStatusId});
+    }
+}
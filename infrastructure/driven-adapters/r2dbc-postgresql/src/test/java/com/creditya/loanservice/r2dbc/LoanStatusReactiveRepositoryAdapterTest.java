@@ -1,9 +1,11 @@
 package com.creditya.loanservice.r2dbc;
 
 import com.creditya.loanservice.model.loanstatus.LoanStatus;
+import com.creditya.loanservice.model.loanstatus.Status;
 import com.creditya.loanservice.r2dbc.entity.LoanStatusEntity;
 import com.creditya.loanservice.r2dbc.loan_status_adapter.LoanStatusReactiveRepository;
 import com.creditya.loanservice.r2dbc.loan_status_adapter.LoanStatusReactiveRepositoryAdapter;
+import com.creditya.loanservice.r2dbc.reference_data.ReferenceDataCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -15,6 +17,7 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.Mockito.*;
@@ -33,6 +36,9 @@ class LoanStatusReactiveRepositoryAdapterTest {
     @Mock
     ObjectMapper mapper;
 
+    @Mock
+    ReferenceDataCache referenceDataCache;
+
     private UUID statusId;
     private LoanStatus loanStatus;
     private LoanStatusEntity loanStatusEntity;
@@ -100,4 +106,39 @@ class LoanStatusReactiveRepositoryAdapterTest {
 
         verify(repository, times(1)).findByNameIn(names);
     }
+
+    @Test
+    void findByName_servedFromReferenceDataCache() {
+        when(referenceDataCache.statusByName("PENDING")).thenReturn(Optional.of(loanStatusEntity));
+        when(mapper.map(loanStatusEntity, LoanStatus.class)).thenReturn(loanStatus);
+
+        StepVerifier.create(repositoryAdapter.findByName("PENDING"))
+                .expectNextMatches(l -> l.getIdStatus().equals(statusId))
+                .verifyComplete();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void findIdsByNames_servedFromReferenceDataCache() {
+        List<String> names = List.of("PENDING");
+        when(referenceDataCache.statusIdsByNames(names)).thenReturn(Optional.of(List.of(statusId)));
+
+        StepVerifier.create(repositoryAdapter.findIdsByNames(names))
+                .expectNext(statusId)
+                .verifyComplete();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void findIdByStatus_resolvedThroughReferenceDataCache() {
+        when(referenceDataCache.resolveStatusId(Status.APPROVED)).thenReturn(Mono.just(statusId));
+
+        StepVerifier.create(repositoryAdapter.findIdByStatus(Status.APPROVED))
+                .expectNext(statusId)
+                .verifyComplete();
+
+        verifyNoInteractions(repository);
+    }
 }
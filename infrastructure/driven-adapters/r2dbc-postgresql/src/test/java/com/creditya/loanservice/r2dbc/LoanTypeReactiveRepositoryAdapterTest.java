@@ -4,6 +4,7 @@ import com.creditya.loanservice.model.loantype.LoanType;
 import com.creditya.loanservice.r2dbc.entity.LoanTypeEntity;
 import com.creditya.loanservice.r2dbc.loan_type_adapter.LoanTypeReactiveRepository;
 import com.creditya.loanservice.r2dbc.loan_type_adapter.LoanTypeReactiveRepositoryAdapter;
+import com.creditya.loanservice.r2dbc.reference_data.ReferenceDataCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -16,6 +17,7 @@ import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.Mockito.*;
@@ -34,6 +36,9 @@ class LoanTypeReactiveRepositoryAdapterTest {
     @Mock
     ObjectMapper mapper;
 
+    @Mock
+    ReferenceDataCache referenceDataCache;
+
     private LoanType loanType;
     private LoanTypeEntity loanTypeEntity;
     private UUID loanTypeId;
@@ -77,4 +82,15 @@ class LoanTypeReactiveRepositoryAdapterTest {
         verify(repository, times(1)).findByName("UNKNOWN");
     }
 
+    @Test
+    void findByName_servedFromReferenceDataCache() {
+        when(referenceDataCache.typeByName("PERSONAL")).thenReturn(Optional.of(loanTypeEntity));
+        when(mapper.map(loanTypeEntity, LoanType.class)).thenReturn(loanType);
+
+        StepVerifier.create(repositoryAdapter.findByName("PERSONAL"))
+                .expectNextMatches(l -> l.getIdLoanType().equals(loanTypeId))
+                .verifyComplete();
+
+        verifyNoInteractions(repository);
+    }
 }
@@ -0,0 +1,87 @@
+package com.creditya.loanservice.r2dbc;
+
+import com.creditya.loanservice.model.loanstatus.Status;
+import com.creditya.loanservice.r2dbc.config.ReferenceDataProperties;
+import com.creditya.loanservice.r2dbc.entity.LoanStatusEntity;
+import com.creditya.loanservice.r2dbc.entity.LoanTypeEntity;
+import com.creditya.loanservice.r2dbc.loan_status_adapter.LoanStatusReactiveRepository;
+import com.creditya.loanservice.r2dbc.loan_type_adapter.LoanTypeReactiveRepository;
+import com.creditya.loanservice.r2dbc.reference_data.ReferenceDataCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataCacheTest {
+
+    @Mock
+    LoanStatusReactiveRepository statusRepository;
+
+    @Mock
+    LoanTypeReactiveRepository typeRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReferenceDataCache cache;
+
+    private final UUID pendingId = UUID.randomUUID();
+    private final UUID approvedId = UUID.randomUUID();
+    private final UUID personalId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ReferenceDataCache(statusRepository, typeRepository,
+                new ReferenceDataProperties(Duration.ofMinutes(5)), meterRegistry);
+
+        when(statusRepository.findAll()).thenReturn(Flux.just(
+                new LoanStatusEntity(pendingId, "Pending review", null),
+                new LoanStatusEntity(approvedId, "Approved", null)));
+        when(typeRepository.findAll()).thenReturn(Flux.just(
+                new LoanTypeEntity(personalId, "PERSONAL", BigDecimal.ONE, BigDecimal.TEN, BigDecimal.valueOf(5), false)));
+
+        StepVerifier.create(cache.refresh())
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void resolvesStatusesByNameIdAndEnum() {
+        assertEquals(pendingId, cache.statusByName("Pending review").orElseThrow().getIdStatus());
+        assertEquals("Approved", cache.statusById(approvedId).orElseThrow().getName());
+        assertEquals(Optional.of(approvedId), cache.statusId(Status.APPROVED));
+        assertTrue(cache.statusId(Status.CLOSED).isEmpty());
+    }
+
+    @Test
+    void resolvesLoanTypesByName() {
+        assertEquals(personalId, cache.typeByName("PERSONAL").orElseThrow().getIdLoanType());
+        assertTrue(cache.typeByName("MORTGAGE").isEmpty());
+
+        assertEquals(1.0, meterRegistry.get("loan.reference.data.cache")
+                .tag("cache", "loan_type").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("loan.reference.data.cache")
+                .tag("cache", "loan_type").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void statusIdsByNames_missesWhenAnyNameIsUnknown() {
+        assertEquals(Optional.of(List.of(pendingId, approvedId)),
+                cache.statusIdsByNames(List.of("Pending review", "Approved")));
+        assertTrue(cache.statusIdsByNames(List.of("Pending review", "Unknown")).isEmpty());
+    }
+}
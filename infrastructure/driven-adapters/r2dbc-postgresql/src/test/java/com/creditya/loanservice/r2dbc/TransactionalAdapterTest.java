@@ -0,0 +1,69 @@
+package com.creditya.loanservice.r2dbc;
+
+import com.creditya.loanservice.r2dbc.transaction_adapter.TransactionalAdapter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionalAdapterTest {
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransactionalAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new TransactionalAdapter(transactionalOperator, meterRegistry);
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private Timer holdTimer(String name) {
+        return meterRegistry.find("loan.db.transaction.hold").tag("use_case", name).timer();
+    }
+
+    @Test
+    void executeInTransaction_named_recordsHoldTimePerUseCase() {
+        StepVerifier.create(adapter.executeInTransaction("create-loan", Mono.just("loan")))
+                .expectNext("loan")
+                .verifyComplete();
+        StepVerifier.create(adapter.executeInTransaction("create-loan", Mono.just("other")))
+                .expectNext("other")
+                .verifyComplete();
+
+        assertEquals(2, holdTimer("create-loan").count());
+        assertNull(holdTimer("create-loan-batch"));
+    }
+
+    @Test
+    void executeInTransaction_named_recordsHoldTimeOnRollback() {
+        StepVerifier.create(adapter.executeInTransaction("loan-decision-manual", Mono.error(new IllegalStateException())))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertEquals(1, holdTimer("loan-decision-manual").count());
+    }
+
+    @Test
+    void executeInTransaction_unnamed_recordsNothing() {
+        StepVerifier.create(adapter.executeInTransaction(Mono.just("loan")))
+                .expectNext("loan")
+                .verifyComplete();
+
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+}
@@ -1,5 +1,6 @@
 package com.creditya.loanservice.consumer;
 
+import com.creditya.loanservice.consumer.resilience.AuthServiceResilience;
 import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
 import com.creditya.loanservice.model.usersnapshot.gateways.UserSnapshotRepository;
 import lombok.RequiredArgsConstructor;
@@ -15,21 +16,24 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class RestConsumer implements UserSnapshotRepository {
     private final WebClient webClient;
+    private final AuthServiceResilience resilience;
 
     @Override
     public Flux<UserSnapshot> findUsersByIds(List<UUID> userIds) {
-        return webClient.post()
-                .uri("/api/v1/clients/by-ids")
-                .bodyValue(userIds)
-                .retrieve()
-                .bodyToFlux(UserSnapshot.class);
+        return resilience.execute(() -> webClient.post()
+                        .uri("/api/v1/clients/by-ids")
+                        .bodyValue(userIds)
+                        .retrieve()
+                        .bodyToFlux(UserSnapshot.class)
+                        .collectList())
+                .flatMapIterable(users -> users);
     }
 
     @Override
     public Mono<UserSnapshot> findUserById(UUID userId) {
-        return webClient.get()
+        return resilience.execute(() -> webClient.get()
                 .uri("/api/v1/clients/{userId}", userId)
                 .retrieve()
-                .bodyToMono(UserSnapshot.class);
+                .bodyToMono(UserSnapshot.class));
     }
 }
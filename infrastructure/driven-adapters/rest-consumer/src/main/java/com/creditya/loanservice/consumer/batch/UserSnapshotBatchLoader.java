@@ -0,0 +1,122 @@
+package com.creditya.loanservice.consumer.batch;
+
+import com.creditya.loanservice.consumer.RestConsumer;
+import com.creditya.loanservice.consumer.config.UserSnapshotBatchProperties;
+import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces concurrent single-user lookups: requests arriving within {@code window} (or until
+ * {@code maxSize} ids are queued) are sent as one {@code /api/v1/clients/by-ids} call and each
+ * caller gets its own user back, or an empty result when the service did not return it.
+ * At most {@code maxPending} lookups wait for a batch; beyond that, and after {@code loadTimeout},
+ * a lookup fails instead of waiting. If the dispatcher itself fails, every waiting lookup fails
+ * and the dispatcher is started again.
+ */
+@Log4j2
+@Component
+public class UserSnapshotBatchLoader {
+
+    private final RestConsumer restConsumer;
+    private final UserSnapshotBatchProperties properties;
+    private final Sinks.Many<PendingLookup> pending;
+    private final Set<PendingLookup> waiting = ConcurrentHashMap.newKeySet();
+    private volatile Disposable dispatcher;
+    private volatile boolean stopped;
+
+    public UserSnapshotBatchLoader(RestConsumer restConsumer, UserSnapshotBatchProperties properties) {
+        this.restConsumer = restConsumer;
+        this.properties = properties;
+        this.pending = Sinks.many().multicast().onBackpressureBuffer(properties.maxPending(), false);
+        this.dispatcher = startDispatcher();
+    }
+
+    public Mono<UserSnapshot> load(UUID userId) {
+        if (!properties.enabled()) {
+            return restConsumer.findUserById(userId);
+        }
+        return Mono.<UserSnapshot>create(sink -> {
+                    PendingLookup lookup = new PendingLookup(userId, sink);
+                    waiting.add(lookup);
+                    sink.onDispose(() -> waiting.remove(lookup));
+                    Sinks.EmitResult result = emit(lookup);
+                    if (result.isFailure()) {
+                        sink.error(new IllegalStateException("User snapshot batch queue rejected lookup: " + result));
+                    }
+                })
+                .timeout(properties.loadTimeout());
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        pending.tryEmitComplete();
+        dispatcher.dispose();
+    }
+
+    /**
+     * Emits are serialized here rather than retried in a loop, so concurrent callers on event-loop
+     * threads never spin; a full queue is reported back as a failure.
+     */
+    private Sinks.EmitResult emit(PendingLookup lookup) {
+        synchronized (pending) {
+            return pending.tryEmitNext(lookup);
+        }
+    }
+
+    private Disposable startDispatcher() {
+        return pending.asFlux()
+                .bufferTimeout(properties.maxSize(), properties.window(), true)
+                .flatMap(this::dispatch, properties.maxConcurrentBatches())
+                .subscribe(null, this::restartDispatcher);
+    }
+
+    private void restartDispatcher(Throwable error) {
+        log.error("User snapshot batch dispatcher failed, failing {} waiting lookups and restarting: {}",
+                waiting.size(), error.getMessage());
+        List.copyOf(waiting).forEach(lookup -> lookup.sink().error(error));
+        if (!stopped) {
+            dispatcher = startDispatcher();
+        }
+    }
+
+    private Mono<Void> dispatch(List<PendingLookup> batch) {
+        List<UUID> userIds = batch.stream()
+                .map(PendingLookup::userId)
+                .distinct()
+                .toList();
+
+        return restConsumer.findUsersByIds(userIds)
+                .collectMap(UserSnapshot::getUserId)
+                .doOnNext(users -> complete(batch, users))
+                .doOnError(error -> batch.forEach(lookup -> lookup.sink().error(error)))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    private void complete(List<PendingLookup> batch, Map<UUID, UserSnapshot> users) {
+        batch.forEach(lookup -> {
+            UserSnapshot user = users.get(lookup.userId());
+            if (user == null) {
+                lookup.sink().success();
+            } else {
+                lookup.sink().success(user.toBuilder().build());
+            }
+        });
+    }
+
+    private record PendingLookup(UUID userId, MonoSink<UserSnapshot> sink) {
+    }
+}
@@ -0,0 +1,238 @@
+package com.creditya.loanservice.consumer.cache;
+
+import com.creditya.loanservice.consumer.RestConsumer;
+import com.creditya.loanservice.consumer.batch.UserSnapshotBatchLoader;
+import com.creditya.loanservice.consumer.config.UserSnapshotCacheProperties;
+import com.creditya.loanservice.consumer.store.MappedUserSnapshotStore;
+import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
+import com.creditya.loanservice.model.usersnapshot.gateways.UserSnapshotReplicaRepository;
+import com.creditya.loanservice.model.usersnapshot.gateways.UserSnapshotRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Caching decorator over the authentication service client. Lookups go through the in-memory
+ * cache, the optional memory-mapped store, then the local {@code user_snapshot} replica, and only
+ * ids found in none of them reach the service. Whatever is loaded from the replica or the service
+ * is written to the mapped store so it is still there after a restart. Reads and writes of the
+ * mapped store can fault pages in from disk, so they run on the bounded elastic scheduler; an
+ * invalidation drops the stored copy before the in-memory one, so a lookup cannot reload it.
+ * Users the service does not know are cached as {@link Optional#empty()} for a shorter TTL.
+ * Single-user misses go through the batch loader so concurrent lookups share one bulk request.
+ */
+@Log4j2
+@Primary
+@Component
+public class CachedUserSnapshotRepository implements UserSnapshotRepository {
+
+    private static final String CACHE_NAME = "user_snapshot";
+
+    private final RestConsumer restConsumer;
+    private final UserSnapshotBatchLoader batchLoader;
+    private final UserSnapshotReplicaRepository replica;
+    private final Optional<MappedUserSnapshotStore> diskStore;
+    private final Cache<UUID, Optional<UserSnapshot>> cache;
+
+    public CachedUserSnapshotRepository(RestConsumer restConsumer,
+                                        UserSnapshotBatchLoader batchLoader,
+                                        UserSnapshotReplicaRepository replica,
+                                        Optional<MappedUserSnapshotStore> diskStore,
+                                        UserSnapshotCacheProperties properties,
+                                        MeterRegistry meterRegistry) {
+        this.restConsumer = restConsumer;
+        this.batchLoader = batchLoader;
+        this.replica = replica;
+        this.diskStore = diskStore;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new PositiveNegativeExpiry(properties.ttl(), properties.negativeTtl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Flux<UserSnapshot> findUsersByIds(List<UUID> userIds) {
+        List<UUID> requested = userIds.stream().distinct().toList();
+        Map<UUID, Optional<UserSnapshot>> cached = cache.getAllPresent(requested);
+        List<UUID> missing = requested.stream()
+                .filter(id -> !cached.containsKey(id))
+                .toList();
+
+        if (missing.isEmpty()) {
+            return Flux.fromIterable(requested)
+                    .flatMapIterable(id -> cached.get(id).stream().map(this::copyOf).toList());
+        }
+
+        return loadMissing(missing)
+                .flatMapMany(loaded -> Flux.fromIterable(requested)
+                        .flatMapIterable(id -> Optional.ofNullable(loaded.get(id))
+                                .or(() -> cached.getOrDefault(id, Optional.empty()))
+                                .stream()
+                                .map(this::copyOf)
+                                .toList()));
+    }
+
+    @Override
+    public Flux<UserSnapshot> findFreshUsersByIds(List<UUID> userIds) {
+        return restConsumer.findUsersByIds(userIds);
+    }
+
+    @Override
+    public Mono<UserSnapshot> findUserById(UUID userId) {
+        Optional<UserSnapshot> cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return Mono.justOrEmpty(cached.map(this::copyOf));
+        }
+
+        return readFromDisk(List.of(userId))
+                .flatMap(stored -> Mono.justOrEmpty(stored.get(userId)))
+                .doOnNext(stored -> cache.put(userId, Optional.of(stored)))
+                .switchIfEmpty(Mono.defer(() -> findInReplica(List.of(userId))
+                        .flatMap(replicated -> Mono.justOrEmpty(replicated.get(userId)))))
+                .switchIfEmpty(Mono.defer(() -> batchLoader.load(userId)
+                        .doOnNext(user -> cache.put(userId, Optional.of(user)))
+                        .flatMap(user -> writeToDisk(List.of(user)).thenReturn(user))
+                        .switchIfEmpty(Mono.fromRunnable(() -> cache.put(userId, Optional.empty())))))
+                .map(this::copyOf);
+    }
+
+    @Override
+    public Flux<UserSnapshot> findCachedUsersByIds(List<UUID> userIds) {
+        Map<UUID, Optional<UserSnapshot>> cached = cache.getAllPresent(userIds);
+        List<UUID> notInMemory = userIds.stream()
+                .filter(id -> !cached.containsKey(id))
+                .toList();
+
+        return readFromDisk(notInMemory)
+                .flatMapMany(stored -> Flux.fromIterable(userIds)
+                        .flatMapIterable(id -> Optional.ofNullable(stored.get(id))
+                                .or(() -> cached.getOrDefault(id, Optional.empty()))
+                                .stream()
+                                .map(this::copyOf)
+                                .toList()));
+    }
+
+    @Override
+    public Mono<Void> invalidate(UUID userId) {
+        if (diskStore.isEmpty()) {
+            return Mono.fromRunnable(() -> cache.invalidate(userId));
+        }
+        MappedUserSnapshotStore store = diskStore.get();
+        return Mono.fromRunnable(() -> store.remove(userId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doFinally(signal -> cache.invalidate(userId))
+                .then();
+    }
+
+    private Mono<Map<UUID, UserSnapshot>> loadMissing(List<UUID> missing) {
+        return readFromDisk(missing)
+                .flatMap(stored -> {
+                    Map<UUID, UserSnapshot> loaded = new HashMap<>(stored);
+                    loaded.forEach((id, user) -> cache.put(id, Optional.of(user)));
+                    List<UUID> notStored = missing.stream()
+                            .filter(id -> !loaded.containsKey(id))
+                            .toList();
+                    return notStored.isEmpty() ? Mono.just(loaded) : loadFromReplicaOrService(notStored, loaded);
+                });
+    }
+
+    private Mono<Map<UUID, UserSnapshot>> loadFromReplicaOrService(List<UUID> notStored, Map<UUID, UserSnapshot> loaded) {
+        return findInReplica(notStored)
+                .flatMap(replicated -> {
+                    loaded.putAll(replicated);
+                    List<UUID> remote = notStored.stream()
+                            .filter(id -> !replicated.containsKey(id))
+                            .toList();
+                    if (remote.isEmpty()) {
+                        return Mono.just(loaded);
+                    }
+                    return restConsumer.findUsersByIds(remote)
+                            .collectMap(UserSnapshot::getUserId)
+                            .flatMap(fetched -> {
+                                remote.forEach(id -> cache.put(id, Optional.ofNullable(fetched.get(id))));
+                                loaded.putAll(fetched);
+                                return writeToDisk(fetched.values()).thenReturn(loaded);
+                            });
+                });
+    }
+
+    private Mono<Map<UUID, UserSnapshot>> readFromDisk(List<UUID> userIds) {
+        if (userIds.isEmpty() || diskStore.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        MappedUserSnapshotStore store = diskStore.get();
+        return Mono.fromCallable(() -> store.getAll(userIds))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.warn("User snapshot disk store read failed, skipping it: {}", e.getMessage());
+                    return Mono.just(Map.of());
+                });
+    }
+
+    private Mono<Void> writeToDisk(Collection<UserSnapshot> users) {
+        if (users.isEmpty() || diskStore.isEmpty()) {
+            return Mono.empty();
+        }
+        MappedUserSnapshotStore store = diskStore.get();
+        return Mono.fromRunnable(() -> users.forEach(store::put))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.warn("User snapshot disk store write failed: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Map<UUID, UserSnapshot>> findInReplica(List<UUID> userIds) {
+        return replica.findUsersByIds(userIds)
+                .collectMap(UserSnapshot::getUserId)
+                .doOnNext(found -> found.forEach((id, user) -> cache.put(id, Optional.of(user))))
+                .onErrorResume(e -> {
+                    log.warn("User snapshot replica lookup failed, falling back to the auth service: {}", e.getMessage());
+                    return Mono.just(Collections.<UUID, UserSnapshot>emptyMap());
+                })
+                .flatMap(found -> writeToDisk(found.values()).thenReturn(found));
+    }
+
+    private UserSnapshot copyOf(UserSnapshot user) {
+        return user.toBuilder().build();
+    }
+
+    private record PositiveNegativeExpiry(Duration ttl, Duration negativeTtl)
+            implements Expiry<UUID, Optional<UserSnapshot>> {
+
+        @Override
+        public long expireAfterCreate(UUID key, Optional<UserSnapshot> value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID key, Optional<UserSnapshot> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID key, Optional<UserSnapshot> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
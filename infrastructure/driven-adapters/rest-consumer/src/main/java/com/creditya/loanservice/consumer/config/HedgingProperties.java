@@ -0,0 +1,21 @@
+package com.creditya.loanservice.consumer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapter.restconsumer.hedging")
+public record HedgingProperties(
+        Boolean enabled,
+        Duration minDelay,
+        Integer minSamples) {
+
+    private static final Duration DEFAULT_MIN_DELAY = Duration.ofMillis(50);
+    private static final int DEFAULT_MIN_SAMPLES = 100;
+
+    public HedgingProperties {
+        enabled = enabled != null && enabled;
+        minDelay = minDelay == null ? DEFAULT_MIN_DELAY : minDelay;
+        minSamples = minSamples == null ? DEFAULT_MIN_SAMPLES : minSamples;
+    }
+}
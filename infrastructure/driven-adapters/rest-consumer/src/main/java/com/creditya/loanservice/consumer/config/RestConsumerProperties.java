@@ -0,0 +1,57 @@
+package com.creditya.loanservice.consumer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapter.restconsumer")
+public record RestConsumerProperties(
+        String url,
+        Integer timeout,
+        Duration connectTimeout,
+        Boolean http2,
+        Boolean compress,
+        Pool pool) {
+
+    private static final String DEFAULT_URL = "http://authentication-service:8090";
+    private static final int DEFAULT_TIMEOUT_MILLIS = 5000;
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(2);
+
+    public RestConsumerProperties {
+        url = url == null || url.isBlank() ? DEFAULT_URL : url;
+        timeout = timeout == null ? DEFAULT_TIMEOUT_MILLIS : timeout;
+        connectTimeout = connectTimeout == null ? DEFAULT_CONNECT_TIMEOUT : connectTimeout;
+        http2 = http2 != null && http2;
+        compress = compress == null || compress;
+        pool = pool == null ? new Pool(null, null, null, null, null, null) : pool;
+    }
+
+    public Duration responseTimeout() {
+        return Duration.ofMillis(timeout);
+    }
+
+    public record Pool(
+            Integer maxConnections,
+            Integer pendingAcquireMaxCount,
+            Duration pendingAcquireTimeout,
+            Duration maxIdleTime,
+            Duration maxLifeTime,
+            Duration evictInBackground) {
+
+        private static final int DEFAULT_MAX_CONNECTIONS = 100;
+        private static final int DEFAULT_PENDING_ACQUIRE_MAX_COUNT = 500;
+        private static final Duration DEFAULT_PENDING_ACQUIRE_TIMEOUT = Duration.ofSeconds(2);
+        private static final Duration DEFAULT_MAX_IDLE_TIME = Duration.ofSeconds(30);
+        private static final Duration DEFAULT_MAX_LIFE_TIME = Duration.ofMinutes(5);
+        private static final Duration DEFAULT_EVICT_IN_BACKGROUND = Duration.ofSeconds(30);
+
+        public Pool {
+            maxConnections = maxConnections == null ? DEFAULT_MAX_CONNECTIONS : maxConnections;
+            pendingAcquireMaxCount = pendingAcquireMaxCount == null ? DEFAULT_PENDING_ACQUIRE_MAX_COUNT : pendingAcquireMaxCount;
+            pendingAcquireTimeout = pendingAcquireTimeout == null ? DEFAULT_PENDING_ACQUIRE_TIMEOUT : pendingAcquireTimeout;
+            maxIdleTime = maxIdleTime == null ? DEFAULT_MAX_IDLE_TIME : maxIdleTime;
+            maxLifeTime = maxLifeTime == null ? DEFAULT_MAX_LIFE_TIME : maxLifeTime;
+            evictInBackground = evictInBackground == null ? DEFAULT_EVICT_IN_BACKGROUND : evictInBackground;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.creditya.loanservice.consumer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapter.restconsumer.batch")
+public record UserSnapshotBatchProperties(
+        Boolean enabled,
+        Duration window,
+        Integer maxSize,
+        Integer maxConcurrentBatches,
+        Integer maxPending,
+        Duration loadTimeout) {
+
+    private static final Duration DEFAULT_WINDOW = Duration.ofMillis(2);
+    private static final int DEFAULT_MAX_SIZE = 50;
+    private static final int DEFAULT_MAX_CONCURRENT_BATCHES = 8;
+    private static final int DEFAULT_MAX_PENDING = 1024;
+    private static final Duration DEFAULT_LOAD_TIMEOUT = Duration.ofSeconds(3);
+
+    public UserSnapshotBatchProperties {
+        enabled = enabled == null || enabled;
+        window = window == null ? DEFAULT_WINDOW : window;
+        maxSize = maxSize == null || maxSize < 1 ? DEFAULT_MAX_SIZE : maxSize;
+        maxConcurrentBatches = maxConcurrentBatches == null || maxConcurrentBatches < 1
+                ? DEFAULT_MAX_CONCURRENT_BATCHES
+                : maxConcurrentBatches;
+        maxPending = maxPending == null || maxPending < 1 ? DEFAULT_MAX_PENDING : maxPending;
+        loadTimeout = loadTimeout == null ? DEFAULT_LOAD_TIMEOUT : loadTimeout;
+    }
+}
@@ -0,0 +1,22 @@
+package com.creditya.loanservice.consumer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapter.restconsumer.cache")
+public record UserSnapshotCacheProperties(
+        Duration ttl,
+        Duration negativeTtl,
+        Long maximumSize) {
+
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+    private static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(30);
+    private static final long DEFAULT_MAXIMUM_SIZE = 50_000L;
+
+    public UserSnapshotCacheProperties {
+        ttl = ttl == null ? DEFAULT_TTL : ttl;
+        negativeTtl = negativeTtl == null ? DEFAULT_NEGATIVE_TTL : negativeTtl;
+        maximumSize = maximumSize == null ? DEFAULT_MAXIMUM_SIZE : maximumSize;
+    }
+}
@@ -0,0 +1,32 @@
+package com.creditya.loanservice.consumer.config;
+
+import com.creditya.loanservice.consumer.store.MappedUserSnapshotStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+
+@Configuration
+@ConditionalOnProperty(prefix = "adapter.restconsumer.disk-store", name = "enabled", havingValue = "true")
+public class UserSnapshotStoreConfig {
+
+    @Bean(destroyMethod = "close")
+    public MappedUserSnapshotStore mappedUserSnapshotStore(UserSnapshotStoreProperties properties,
+                                                           MeterRegistry meterRegistry) throws IOException {
+        MappedUserSnapshotStore store = MappedUserSnapshotStore.open(
+                Path.of(properties.path()), properties.capacity(), properties.ttl(), Clock.systemUTC());
+
+        Gauge.builder("user.snapshot.store.slots", store, MappedUserSnapshotStore::occupiedSlots)
+                .tag("state", "occupied")
+                .register(meterRegistry);
+        Gauge.builder("user.snapshot.store.slots", store, MappedUserSnapshotStore::capacity)
+                .tag("state", "capacity")
+                .register(meterRegistry);
+        return store;
+    }
+}
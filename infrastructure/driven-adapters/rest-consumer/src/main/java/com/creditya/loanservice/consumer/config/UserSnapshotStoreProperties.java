@@ -0,0 +1,24 @@
+package com.creditya.loanservice.consumer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapter.restconsumer.disk-store")
+public record UserSnapshotStoreProperties(
+        Boolean enabled,
+        String path,
+        Integer capacity,
+        Duration ttl) {
+
+    private static final String DEFAULT_PATH = "data/user-snapshots.dat";
+    private static final int DEFAULT_CAPACITY = 1 << 22;
+    private static final Duration DEFAULT_TTL = Duration.ofHours(24);
+
+    public UserSnapshotStoreProperties {
+        enabled = enabled != null && enabled;
+        path = path == null || path.isBlank() ? DEFAULT_PATH : path;
+        capacity = capacity == null || capacity < 1 ? DEFAULT_CAPACITY : capacity;
+        ttl = ttl == null ? DEFAULT_TTL : ttl;
+    }
+}
@@ -1,21 +1,64 @@
 package com.creditya.loanservice.consumer.config;
 
+import io.netty.channel.ChannelOption;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClienteConfig {
 
+    private static final String POOL_NAME = "authentication-service";
+    private static final String CLIENTS_BY_IDS_URI = "/api/v1/clients/by-ids";
+    private static final String CLIENT_BY_ID_URI = "/api/v1/clients/{userId}";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider authConnectionProvider(RestConsumerProperties properties) {
+        RestConsumerProperties.Pool pool = properties.pool();
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(pool.maxConnections())
+                .pendingAcquireMaxCount(pool.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .evictInBackground(pool.evictInBackground())
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient authWebClient() {
-        //String authServiceUrl = "http://localhost:8090";
-        String authServiceUrl = "http://authentication-service:8090";
-        return WebClient.builder()
-                .baseUrl(authServiceUrl)
+    public WebClient authWebClient(WebClient.Builder webClientBuilder,
+                                   ConnectionProvider authConnectionProvider,
+                                   RestConsumerProperties properties) {
+        HttpClient httpClient = HttpClient.create(authConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis())
+                .responseTimeout(properties.responseTimeout())
+                .compress(properties.compress())
+                .metrics(true, WebClienteConfig::uriTemplate);
+
+        if (properties.http2()) {
+            httpClient = httpClient.protocol(properties.url().startsWith("https")
+                    ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11}
+                    : new HttpProtocol[]{HttpProtocol.H2C, HttpProtocol.HTTP11});
+        }
+
+        return webClientBuilder
+                .baseUrl(properties.url())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
     }
+
+    /**
+     * Keeps the user id out of the metric tags so the per-user endpoint does not create one series per client.
+     */
+    static String uriTemplate(String uri) {
+        return uri.startsWith(CLIENTS_BY_IDS_URI) ? CLIENTS_BY_IDS_URI : CLIENT_BY_ID_URI;
+    }
 }
@@ -0,0 +1,89 @@
+package com.creditya.loanservice.consumer.resilience;
+
+import com.creditya.loanservice.consumer.config.HedgingProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Resilience policy for calls to the authentication service. Every attempt passes through the
+ * bulkhead and then the circuit breaker, so calls the bulkhead rejects never reach the breaker and
+ * do not count as service failures. When hedging is enabled and enough latencies were observed, a
+ * second attempt is started once the first one outlives the observed p95. The first attempt to
+ * produce a result wins; an attempt that fails does not cancel the other, and when both fail the
+ * caller gets the first attempt's error.
+ */
+@Component
+public class AuthServiceResilience {
+
+    public static final String INSTANCE_NAME = "authService";
+    private static final int LATENCY_WINDOW = 1024;
+    private static final double HEDGE_PERCENTILE = 0.95;
+    private static final int PERCENTILE_RECOMPUTE_EVERY = 64;
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final HedgingProperties hedging;
+    private final LatencyTracker latencyTracker = new LatencyTracker(LATENCY_WINDOW, HEDGE_PERCENTILE, PERCENTILE_RECOMPUTE_EVERY);
+
+    public AuthServiceResilience(CircuitBreakerRegistry circuitBreakerRegistry,
+                                 BulkheadRegistry bulkheadRegistry,
+                                 HedgingProperties hedging) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE_NAME);
+        this.bulkhead = bulkheadRegistry.bulkhead(INSTANCE_NAME);
+        this.hedging = hedging;
+    }
+
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            Duration hedgeDelay = hedgeDelay();
+            if (hedgeDelay == null) {
+                return attempt(call);
+            }
+            AtomicReference<Throwable> primaryError = new AtomicReference<>();
+            Mono<Optional<T>> primary = asOptional(attempt(call)).doOnError(primaryError::set);
+            Mono<Optional<T>> hedge = Mono.delay(hedgeDelay).then(asOptional(attempt(call)));
+            return Mono.firstWithValue(primary, hedge)
+                    .onErrorMap(NoSuchElementException.class,
+                            error -> primaryError.get() != null ? primaryError.get() : error)
+                    .flatMap(Mono::justOrEmpty);
+        });
+    }
+
+    /**
+     * An empty result is a valid answer (unknown user), so it is wrapped to count as a value and
+     * win the race instead of waiting for the other attempt.
+     */
+    private static <T> Mono<Optional<T>> asOptional(Mono<T> attempt) {
+        return attempt.map(Optional::of).defaultIfEmpty(Optional.empty());
+    }
+
+    private <T> Mono<T> attempt(Supplier<Mono<T>> call) {
+        return Mono.defer(call)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .elapsed()
+                .doOnNext(timed -> latencyTracker.record(timed.getT1()))
+                .map(Tuple2::getT2);
+    }
+
+    private Duration hedgeDelay() {
+        if (!hedging.enabled() || latencyTracker.sampleCount() < hedging.minSamples()) {
+            return null;
+        }
+        Duration p95 = latencyTracker.percentile();
+        return p95.compareTo(hedging.minDelay()) < 0 ? hedging.minDelay() : p95;
+    }
+}
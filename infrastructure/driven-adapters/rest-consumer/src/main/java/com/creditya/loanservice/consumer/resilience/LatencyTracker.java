@@ -0,0 +1,62 @@
+package com.creditya.loanservice.consumer.resilience;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding window of the most recent call latencies, used to derive the hedging delay. The
+ * percentile is recomputed at most once every {@code recomputeEvery} samples (more often while
+ * the window is still filling); in between, readers get the last computed value.
+ */
+public class LatencyTracker {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+    private final double percentile;
+    private final int recomputeEvery;
+
+    private volatile long computedAt;
+    private volatile Duration computed = Duration.ZERO;
+
+    public LatencyTracker(int windowSize, double percentile, int recomputeEvery) {
+        this.samples = new AtomicLongArray(windowSize);
+        this.percentile = percentile;
+        this.recomputeEvery = Math.max(1, recomputeEvery);
+    }
+
+    public void record(long elapsedMillis) {
+        long slot = recorded.getAndIncrement() % samples.length();
+        samples.set((int) slot, elapsedMillis);
+    }
+
+    public long sampleCount() {
+        return Math.min(recorded.get(), samples.length());
+    }
+
+    public Duration percentile() {
+        long current = recorded.get();
+        long last = computedAt;
+        if (current - last >= Math.min(recomputeEvery, Math.max(1L, last))) {
+            recompute();
+        }
+        return computed;
+    }
+
+    private synchronized void recompute() {
+        long current = recorded.get();
+        if (current == computedAt) {
+            return;
+        }
+        int count = (int) Math.min(current, samples.length());
+        long[] window = new long[count];
+        for (int i = 0; i < count; i++) {
+            window[i] = samples.get(i);
+        }
+        Arrays.sort(window);
+        int index = (int) Math.ceil(percentile * count) - 1;
+        computed = Duration.ofMillis(window[Math.max(0, Math.min(index, count - 1))]);
+        computedAt = current;
+    }
+}
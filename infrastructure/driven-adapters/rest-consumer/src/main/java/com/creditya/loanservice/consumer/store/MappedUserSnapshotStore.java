@@ -0,0 +1,393 @@
+package com.creditya.loanservice.consumer.store;
+
+import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Off-heap user snapshot table backed by a memory-mapped file, so it survives restarts and
+ * does not add to GC pressure. Records have a fixed width and sit in an open-addressing table
+ * keyed by the two halves of the user id; each carries its own expiry time. The file is mapped
+ * in segments because a single mapping cannot exceed 2 GB. Readers use an optimistic stamp and
+ * only fall back to the read lock when a writer got in the way.
+ */
+@Log4j2
+public class MappedUserSnapshotStore implements AutoCloseable {
+
+    static final int RECORD_SIZE = 256;
+    static final int MAX_NAME_BYTES = 96;
+    static final int MAX_EMAIL_BYTES = 122;
+
+    private static final int HEADER_SIZE = 4096;
+    private static final int MAGIC = 0x55534E50;
+    private static final int VERSION = 1;
+    private static final int MIN_CAPACITY = 64;
+    private static final int MAX_SLOTS_PER_SEGMENT = 1 << 22;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    private static final byte EMPTY = 0;
+    private static final byte USED = 1;
+    private static final byte DELETED = 2;
+    private static final byte NO_SALARY = Byte.MIN_VALUE;
+
+    private static final int STATE = 0;
+    private static final int MSB = 1;
+    private static final int LSB = 9;
+    private static final int EXPIRES_AT = 17;
+    private static final int SALARY_UNSCALED = 25;
+    private static final int SALARY_SCALE = 33;
+    private static final int NAME_LENGTH = 34;
+    private static final int NAME = NAME_LENGTH + Short.BYTES;
+    private static final int EMAIL_LENGTH = NAME + MAX_NAME_BYTES;
+    private static final int EMAIL = EMAIL_LENGTH + Short.BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] segments;
+    private final int capacity;
+    private final int mask;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final int maxOccupied;
+    private final Duration ttl;
+    private final Clock clock;
+    private final StampedLock lock = new StampedLock();
+
+    private int occupied;
+    private volatile boolean closed;
+
+    private MappedUserSnapshotStore(FileChannel channel, int capacity, Duration ttl, Clock clock) throws IOException {
+        this.channel = channel;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.maxOccupied = (int) (capacity * MAX_LOAD_FACTOR);
+
+        int slotsPerSegment = Math.min(capacity, MAX_SLOTS_PER_SEGMENT);
+        this.segmentShift = Integer.numberOfTrailingZeros(slotsPerSegment);
+        this.segmentMask = slotsPerSegment - 1;
+
+        boolean reusable = hasCompatibleHeader(channel, capacity);
+        if (!reusable) {
+            channel.truncate(0);
+        }
+
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        long segmentBytes = (long) slotsPerSegment * RECORD_SIZE;
+        this.segments = new MappedByteBuffer[capacity / slotsPerSegment];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + i * segmentBytes, segmentBytes);
+        }
+
+        if (reusable) {
+            this.occupied = countOccupied();
+        } else {
+            header.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, RECORD_SIZE).putInt(12, capacity);
+        }
+    }
+
+    public static MappedUserSnapshotStore open(Path path, int capacity, Duration ttl, Clock clock) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedUserSnapshotStore store = new MappedUserSnapshotStore(channel, tableSize(capacity), ttl, clock);
+            log.info("Opened user snapshot store {} with {} slots, {} in use", path, store.capacity, store.occupied);
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Optional<UserSnapshot> get(UUID userId) {
+        return Optional.ofNullable(getAll(List.of(userId)).get(userId));
+    }
+
+    public Map<UUID, UserSnapshot> getAll(Collection<UUID> userIds) {
+        if (closed || userIds.isEmpty()) {
+            return Map.of();
+        }
+        long now = clock.millis();
+
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                Map<UUID, UserSnapshot> found = readAll(userIds, now);
+                if (lock.validate(stamp)) {
+                    return found;
+                }
+            } catch (RuntimeException tornRead) {
+                // a writer changed a record under us; retry below under the read lock
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return readAll(userIds, now);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Stores the user until the configured TTL elapses. Returns {@code false} when the record
+     * does not fit the fixed layout or the table is full; callers simply keep relying on the
+     * other tiers for that user.
+     */
+    public boolean put(UserSnapshot user) {
+        byte[] name = encode(user.getName());
+        byte[] email = encode(user.getEmail());
+        BigDecimal salary = normalize(user.getBaseSalary());
+        if (closed
+                || (name != null && name.length > MAX_NAME_BYTES)
+                || (email != null && email.length > MAX_EMAIL_BYTES)
+                || (user.getBaseSalary() != null && salary == null)) {
+            return false;
+        }
+
+        long msb = user.getUserId().getMostSignificantBits();
+        long lsb = user.getUserId().getLeastSignificantBits();
+
+        long stamp = lock.writeLock();
+        try {
+            long now = clock.millis();
+            int target = findWritableSlot(msb, lsb, now);
+            if (target < 0) {
+                return false;
+            }
+            boolean fresh = stateOf(target) == EMPTY;
+            if (fresh && occupied >= maxOccupied) {
+                return false;
+            }
+
+            ByteBuffer segment = segmentOf(target);
+            int base = offsetOf(target);
+            segment.putLong(base + MSB, msb);
+            segment.putLong(base + LSB, lsb);
+            segment.putLong(base + EXPIRES_AT, now + ttl.toMillis());
+            segment.putLong(base + SALARY_UNSCALED, salary == null ? 0L : salary.unscaledValue().longValue());
+            segment.put(base + SALARY_SCALE, salary == null ? NO_SALARY : (byte) salary.scale());
+            writeString(segment, base + NAME_LENGTH, name);
+            writeString(segment, base + EMAIL_LENGTH, email);
+            segment.put(base + STATE, USED);
+
+            if (fresh) {
+                occupied++;
+            }
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void remove(UUID userId) {
+        if (closed) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            int slot = findSlot(userId.getMostSignificantBits(), userId.getLeastSignificantBits());
+            if (slot >= 0) {
+                segmentOf(slot).put(offsetOf(slot) + STATE, DELETED);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int occupiedSlots() {
+        return occupied;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void close() throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            header.force();
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+            channel.close();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private Map<UUID, UserSnapshot> readAll(Collection<UUID> userIds, long now) {
+        Map<UUID, UserSnapshot> found = new HashMap<>();
+        for (UUID userId : userIds) {
+            int slot = findSlot(userId.getMostSignificantBits(), userId.getLeastSignificantBits());
+            if (slot < 0) {
+                continue;
+            }
+            ByteBuffer segment = segmentOf(slot);
+            int base = offsetOf(slot);
+            if (segment.getLong(base + EXPIRES_AT) > now) {
+                found.put(userId, decode(segment, base, userId));
+            }
+        }
+        return found;
+    }
+
+    private int findSlot(long msb, long lsb) {
+        int slot = home(msb, lsb);
+        for (int probe = 0; probe < capacity; probe++, slot = (slot + 1) & mask) {
+            byte state = stateOf(slot);
+            if (state == EMPTY) {
+                return -1;
+            }
+            if (state == USED && matches(slot, msb, lsb)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int findWritableSlot(long msb, long lsb, long now) {
+        int reusable = -1;
+        int slot = home(msb, lsb);
+        for (int probe = 0; probe < capacity; probe++, slot = (slot + 1) & mask) {
+            byte state = stateOf(slot);
+            if (state == EMPTY) {
+                return reusable >= 0 ? reusable : slot;
+            }
+            if (state == USED && matches(slot, msb, lsb)) {
+                return slot;
+            }
+            if (reusable < 0 && (state == DELETED || segmentOf(slot).getLong(offsetOf(slot) + EXPIRES_AT) <= now)) {
+                reusable = slot;
+            }
+        }
+        return reusable;
+    }
+
+    private boolean matches(int slot, long msb, long lsb) {
+        ByteBuffer segment = segmentOf(slot);
+        int base = offsetOf(slot);
+        return segment.getLong(base + MSB) == msb && segment.getLong(base + LSB) == lsb;
+    }
+
+    private UserSnapshot decode(ByteBuffer segment, int base, UUID userId) {
+        byte scale = segment.get(base + SALARY_SCALE);
+        return UserSnapshot.builder()
+                .userId(userId)
+                .name(readString(segment, base + NAME_LENGTH, MAX_NAME_BYTES))
+                .email(readString(segment, base + EMAIL_LENGTH, MAX_EMAIL_BYTES))
+                .baseSalary(scale == NO_SALARY ? null : BigDecimal.valueOf(segment.getLong(base + SALARY_UNSCALED), scale))
+                .build();
+    }
+
+    private byte stateOf(int slot) {
+        return segmentOf(slot).get(offsetOf(slot) + STATE);
+    }
+
+    private ByteBuffer segmentOf(int slot) {
+        return segments[slot >>> segmentShift];
+    }
+
+    private int offsetOf(int slot) {
+        return (slot & segmentMask) * RECORD_SIZE;
+    }
+
+    private int home(long msb, long lsb) {
+        long hash = msb ^ lsb;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+
+    private int countOccupied() {
+        int count = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (stateOf(slot) != EMPTY) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean hasCompatibleHeader(FileChannel channel, int capacity) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            return false;
+        }
+        ByteBuffer existing = ByteBuffer.allocate(16);
+        channel.read(existing, 0);
+        return existing.getInt(0) == MAGIC
+                && existing.getInt(4) == VERSION
+                && existing.getInt(8) == RECORD_SIZE
+                && existing.getInt(12) == capacity;
+    }
+
+    private static int tableSize(int requested) {
+        int size = Math.max(MIN_CAPACITY, requested);
+        return size > (1 << 30) ? 1 << 30 : Integer.highestOneBit(size - 1) << 1;
+    }
+
+    private static String readString(ByteBuffer segment, int offset, int maxBytes) {
+        short length = segment.getShort(offset);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[Math.min(length, maxBytes)];
+        segment.get(offset + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(ByteBuffer segment, int offset, byte[] value) {
+        if (value == null) {
+            segment.putShort(offset, (short) -1);
+            return;
+        }
+        segment.putShort(offset, (short) value.length);
+        segment.put(offset + Short.BYTES, value);
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static BigDecimal normalize(BigDecimal salary) {
+        if (salary == null) {
+            return null;
+        }
+        BigDecimal value = salary.scale() > Byte.MAX_VALUE || salary.scale() <= NO_SALARY
+                ? salary.stripTrailingZeros()
+                : salary;
+        if (value.scale() > Byte.MAX_VALUE || value.scale() <= NO_SALARY || value.unscaledValue().bitLength() > 63) {
+            return null;
+        }
+        return value;
+    }
+}
@@ -1,5 +1,9 @@
 package com.creditya.loanservice.consumer;
 
+import com.creditya.loanservice.consumer.config.HedgingProperties;
+import com.creditya.loanservice.consumer.resilience.AuthServiceResilience;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import org.junit.jupiter.api.AfterAll;
@@ -28,7 +32,9 @@ class RestConsumerTest {
         WebClient webClient = WebClient.builder()
                 .baseUrl(mockBackEnd.url("/").toString())
                 .build();
-        restConsumer = new RestConsumer(webClient);
+        AuthServiceResilience resilience = new AuthServiceResilience(CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(), new HedgingProperties(false, null, null));
+        restConsumer = new RestConsumer(webClient, resilience);
     }
 
     @AfterAll
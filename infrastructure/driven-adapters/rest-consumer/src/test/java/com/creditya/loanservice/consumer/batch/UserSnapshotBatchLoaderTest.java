@@ -0,0 +1,110 @@
+package com.creditya.loanservice.consumer.batch;
+
+import com.creditya.loanservice.consumer.RestConsumer;
+import com.creditya.loanservice.consumer.config.UserSnapshotBatchProperties;
+import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSnapshotBatchLoaderTest {
+
+    @Mock
+    private RestConsumer restConsumer;
+
+    private UserSnapshotBatchLoader loader;
+
+    @AfterEach
+    void tearDown() {
+        if (loader != null) {
+            loader.stop();
+        }
+    }
+
+    private UserSnapshot user(UUID userId) {
+        return UserSnapshot.builder().userId(userId).name("User").build();
+    }
+
+    @Test
+    void concurrentLookupsShareOneBulkRequest() {
+        loader = new UserSnapshotBatchLoader(restConsumer,
+                new UserSnapshotBatchProperties(true, Duration.ofMillis(50), 50, 4, null, null));
+        UUID firstUserId = UUID.randomUUID();
+        UUID secondUserId = UUID.randomUUID();
+        UUID unknownUserId = UUID.randomUUID();
+
+        when(restConsumer.findUsersByIds(anyList()))
+                .thenReturn(Flux.just(user(firstUserId), user(secondUserId)));
+
+        Mono<List<UUID>> lookups = Flux.merge(
+                        loader.load(firstUserId).map(UserSnapshot::getUserId),
+                        loader.load(secondUserId).map(UserSnapshot::getUserId),
+                        loader.load(firstUserId).map(UserSnapshot::getUserId),
+                        loader.load(unknownUserId).map(UserSnapshot::getUserId))
+                .collectList();
+
+        StepVerifier.create(lookups)
+                .expectNextMatches(ids -> ids.size() == 3
+                        && ids.contains(firstUserId)
+                        && ids.contains(secondUserId))
+                .verifyComplete();
+
+        verify(restConsumer, times(1)).findUsersByIds(List.of(firstUserId, secondUserId, unknownUserId));
+    }
+
+    @Test
+    void bulkFailureIsPropagatedToEveryCaller() {
+        loader = new UserSnapshotBatchLoader(restConsumer,
+                new UserSnapshotBatchProperties(true, Duration.ofMillis(10), 50, 4, null, null));
+        when(restConsumer.findUsersByIds(anyList())).thenReturn(Flux.error(new IllegalStateException("down")));
+
+        StepVerifier.create(loader.load(UUID.randomUUID()))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void stuckBulkRequestFailsLookupsWithTimeoutInsteadOfHanging() {
+        loader = new UserSnapshotBatchLoader(restConsumer,
+                new UserSnapshotBatchProperties(true, Duration.ofMillis(5), 1, 1, null, Duration.ofMillis(200)));
+        when(restConsumer.findUsersByIds(anyList())).thenReturn(Flux.never());
+
+        StepVerifier.create(Flux.range(0, 20)
+                        .flatMap(i -> loader.load(UUID.randomUUID())
+                                .map(UserSnapshot::getUserId)
+                                .onErrorResume(TimeoutException.class, e -> Mono.empty()))
+                        .count())
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(restConsumer, times(1)).findUsersByIds(anyList());
+    }
+
+    @Test
+    void disabledBatchingCallsSingleEndpoint() {
+        loader = new UserSnapshotBatchLoader(restConsumer,
+                new UserSnapshotBatchProperties(false, Duration.ofMillis(10), 50, 4, null, null));
+        UUID userId = UUID.randomUUID();
+        when(restConsumer.findUserById(userId)).thenReturn(Mono.just(user(userId)));
+
+        StepVerifier.create(loader.load(userId))
+                .expectNextMatches(u -> u.getUserId().equals(userId))
+                .verifyComplete();
+
+        verify(restConsumer, never()).findUsersByIds(anyList());
+    }
+}
@@ -0,0 +1,230 @@
+package com.creditya.loanservice.consumer.cache;
+
+import com.creditya.loanservice.consumer.RestConsumer;
+import com.creditya.loanservice.consumer.batch.UserSnapshotBatchLoader;
+import com.creditya.loanservice.consumer.config.UserSnapshotCacheProperties;
+import com.creditya.loanservice.consumer.store.MappedUserSnapshotStore;
+import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
+import com.creditya.loanservice.model.usersnapshot.gateways.UserSnapshotReplicaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachedUserSnapshotRepositoryTest {
+
+    @Mock
+    private RestConsumer restConsumer;
+
+    @Mock
+    private UserSnapshotBatchLoader batchLoader;
+
+    @Mock
+    private UserSnapshotReplicaRepository replica;
+
+    private CachedUserSnapshotRepository repository;
+
+    private final UUID firstUserId = UUID.randomUUID();
+    private final UUID secondUserId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(replica.findUsersByIds(anyList())).thenReturn(Flux.empty());
+        repository = new CachedUserSnapshotRepository(restConsumer, batchLoader, replica, Optional.empty(),
+                new UserSnapshotCacheProperties(Duration.ofMinutes(10), Duration.ofSeconds(30), 100L),
+                new SimpleMeterRegistry());
+    }
+
+    private UserSnapshot user(UUID userId) {
+        return new UserSnapshot(userId, "User", "user@test.com", BigDecimal.valueOf(3000));
+    }
+
+    @Test
+    void findUserById_callsRemoteOnlyOnce() {
+        when(batchLoader.load(firstUserId)).thenReturn(Mono.just(user(firstUserId)));
+
+        StepVerifier.create(repository.findUserById(firstUserId))
+                .expectNextMatches(u -> u.getUserId().equals(firstUserId))
+                .verifyComplete();
+        StepVerifier.create(repository.findUserById(firstUserId))
+                .expectNextMatches(u -> u.getUserId().equals(firstUserId))
+                .verifyComplete();
+
+        verify(batchLoader, times(1)).load(firstUserId);
+    }
+
+    @Test
+    void findUserById_cachesUnknownUsers() {
+        when(batchLoader.load(firstUserId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(repository.findUserById(firstUserId)).verifyComplete();
+        StepVerifier.create(repository.findUserById(firstUserId)).verifyComplete();
+
+        verify(batchLoader, times(1)).load(firstUserId);
+    }
+
+    @Test
+    void findUsersByIds_fetchesOnlyMissingIds() {
+        when(batchLoader.load(firstUserId)).thenReturn(Mono.just(user(firstUserId)));
+        when(restConsumer.findUsersByIds(List.of(secondUserId))).thenReturn(Flux.just(user(secondUserId)));
+
+        StepVerifier.create(repository.findUserById(firstUserId))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        StepVerifier.create(repository.findUsersByIds(List.of(firstUserId, secondUserId)))
+                .expectNextMatches(u -> u.getUserId().equals(firstUserId))
+                .expectNextMatches(u -> u.getUserId().equals(secondUserId))
+                .verifyComplete();
+
+        StepVerifier.create(repository.findUsersByIds(List.of(firstUserId, secondUserId)))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        verify(restConsumer, times(1)).findUsersByIds(List.of(secondUserId));
+    }
+
+    @Test
+    void findFreshUsersByIds_skipsTheCacheAndTheReplica() {
+        when(batchLoader.load(firstUserId)).thenReturn(Mono.just(user(firstUserId)));
+        when(restConsumer.findUsersByIds(List.of(firstUserId))).thenReturn(Flux.just(user(firstUserId)));
+
+        StepVerifier.create(repository.findUserById(firstUserId))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(repository.findFreshUsersByIds(List.of(firstUserId)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(restConsumer).findUsersByIds(List.of(firstUserId));
+        verify(replica, times(1)).findUsersByIds(anyList());
+    }
+
+    @Test
+    void findUsersByIds_remoteErrorsAreNotCached() {
+        when(restConsumer.findUsersByIds(List.of(firstUserId)))
+                .thenReturn(Flux.error(new IllegalStateException("down")))
+                .thenReturn(Flux.just(user(firstUserId)));
+
+        StepVerifier.create(repository.findUsersByIds(List.of(firstUserId)))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(repository.findUsersByIds(List.of(firstUserId)))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void findCachedUsersByIds_neverCallsRemote() {
+        when(batchLoader.load(firstUserId)).thenReturn(Mono.just(user(firstUserId)));
+
+        StepVerifier.create(repository.findUserById(firstUserId))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        StepVerifier.create(repository.findCachedUsersByIds(List.of(firstUserId, secondUserId)))
+                .expectNextMatches(u -> u.getUserId().equals(firstUserId))
+                .verifyComplete();
+
+        verifyNoInteractions(restConsumer);
+    }
+
+    @Test
+    void findUsersByIds_servesReplicatedUsersWithoutRemoteCall() {
+        when(replica.findUsersByIds(List.of(firstUserId, secondUserId))).thenReturn(Flux.just(user(firstUserId)));
+        when(restConsumer.findUsersByIds(List.of(secondUserId))).thenReturn(Flux.just(user(secondUserId)));
+
+        StepVerifier.create(repository.findUsersByIds(List.of(firstUserId, secondUserId)))
+                .expectNextMatches(u -> u.getUserId().equals(firstUserId))
+                .expectNextMatches(u -> u.getUserId().equals(secondUserId))
+                .verifyComplete();
+
+        verify(restConsumer).findUsersByIds(List.of(secondUserId));
+    }
+
+    @Test
+    void findUserById_fallsBackToRemoteWhenReplicaFails() {
+        when(replica.findUsersByIds(List.of(firstUserId))).thenReturn(Flux.error(new IllegalStateException("db down")));
+        when(batchLoader.load(firstUserId)).thenReturn(Mono.just(user(firstUserId)));
+
+        StepVerifier.create(repository.findUserById(firstUserId))
+                .expectNextMatches(u -> u.getUserId().equals(firstUserId))
+                .verifyComplete();
+    }
+
+    @Test
+    void invalidate_forcesNextLookupToReload() {
+        when(batchLoader.load(firstUserId)).thenReturn(Mono.just(user(firstUserId)));
+
+        StepVerifier.create(repository.findUserById(firstUserId)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(repository.invalidate(firstUserId)).verifyComplete();
+        StepVerifier.create(repository.findUserById(firstUserId)).expectNextCount(1).verifyComplete();
+
+        verify(batchLoader, times(2)).load(firstUserId);
+    }
+
+    @Test
+    void findUsersByIds_survivesRestartThroughDiskStore(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("users.dat");
+        when(restConsumer.findUsersByIds(List.of(firstUserId))).thenReturn(Flux.just(user(firstUserId)));
+
+        try (MappedUserSnapshotStore store = MappedUserSnapshotStore.open(file, 1024, Duration.ofHours(1), Clock.systemUTC())) {
+            CachedUserSnapshotRepository beforeRestart = newRepository(store);
+            StepVerifier.create(beforeRestart.findUsersByIds(List.of(firstUserId)))
+                    .expectNextCount(1)
+                    .verifyComplete();
+        }
+
+        try (MappedUserSnapshotStore store = MappedUserSnapshotStore.open(file, 1024, Duration.ofHours(1), Clock.systemUTC())) {
+            CachedUserSnapshotRepository afterRestart = newRepository(store);
+            StepVerifier.create(afterRestart.findUsersByIds(List.of(firstUserId)))
+                    .expectNextMatches(u -> u.getUserId().equals(firstUserId) && u.getName().equals("User"))
+                    .verifyComplete();
+        }
+
+        verify(restConsumer, times(1)).findUsersByIds(anyList());
+    }
+
+    @Test
+    void findUserById_readsDiskStoreOffTheCallingThread(@TempDir Path dir) throws IOException {
+        try (MappedUserSnapshotStore store = MappedUserSnapshotStore.open(dir.resolve("users.dat"), 1024,
+                Duration.ofHours(1), Clock.systemUTC())) {
+            store.put(user(firstUserId));
+            CachedUserSnapshotRepository stored = newRepository(store);
+
+            StepVerifier.create(stored.findUserById(firstUserId))
+                    .assertNext(u -> {
+                        assertEquals(firstUserId, u.getUserId());
+                        assertTrue(Thread.currentThread().getName().startsWith("boundedElastic"));
+                    })
+                    .verifyComplete();
+        }
+
+        verifyNoInteractions(replica, batchLoader);
+    }
+
+    private CachedUserSnapshotRepository newRepository(MappedUserSnapshotStore store) {
+        return new CachedUserSnapshotRepository(restConsumer, batchLoader, replica, Optional.of(store),
+                new UserSnapshotCacheProperties(Duration.ofMinutes(10), Duration.ofSeconds(30), 100L),
+                new SimpleMeterRegistry());
+    }
+}
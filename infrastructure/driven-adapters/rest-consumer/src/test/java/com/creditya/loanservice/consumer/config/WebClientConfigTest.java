@@ -8,17 +8,24 @@ import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class WebClienteConfigTest {
 
     private final WebClienteConfig config = new WebClienteConfig();
 
+    private final RestConsumerProperties properties = new RestConsumerProperties(
+            "http://localhost:8090", 5000, Duration.ofSeconds(1), false, true, null);
+
     @Test
     void authWebClient_shouldBeConfiguredCorrectly_reactive() {
-        WebClient webClient = config.authWebClient();
+        ConnectionProvider connectionProvider = config.authConnectionProvider(properties);
+        WebClient webClient = config.authWebClient(WebClient.builder(), connectionProvider, properties);
 
         ExchangeFunction exchangeMock = request -> {
             assertThat(request.url().toString()).startsWith("http://localhost:8090");
@@ -31,6 +38,25 @@ class WebClienteConfigTest {
 
         StepVerifier.create(testClient.get().uri("/test").retrieve().bodyToMono(String.class))
                 .verifyComplete();
+
+        connectionProvider.dispose();
+    }
+
+    @Test
+    void connectionProvider_usesConfiguredPoolSize() {
+        RestConsumerProperties pooled = new RestConsumerProperties("http://localhost:8090", 5000, null, true, true,
+                new RestConsumerProperties.Pool(20, 40, null, null, null, null));
+
+        ConnectionProvider connectionProvider = config.authConnectionProvider(pooled);
+
+        assertThat(connectionProvider.maxConnections()).isEqualTo(20);
+        connectionProvider.dispose();
     }
 
+    @Test
+    void uriTemplate_hidesUserIds() {
+        assertThat(WebClienteConfig.uriTemplate("/api/v1/clients/by-ids")).isEqualTo("/api/v1/clients/by-ids");
+        assertThat(WebClienteConfig.uriTemplate("/api/v1/clients/8c1f3f0e-6a8e-4b7d-9f1a-2b3c4d5e6f70"))
+                .isEqualTo("/api/v1/clients/{userId}");
+    }
 }
@@ -0,0 +1,124 @@
+package com.creditya.loanservice.consumer.resilience;
+
+import com.creditya.loanservice.consumer.config.HedgingProperties;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AuthServiceResilienceTest {
+
+    private AuthServiceResilience resilience(CircuitBreakerRegistry circuitBreakers,
+                                             BulkheadRegistry bulkheads,
+                                             HedgingProperties hedging) {
+        return new AuthServiceResilience(circuitBreakers, bulkheads, hedging);
+    }
+
+    @Test
+    void openCircuitRejectsCalls() {
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+        AuthServiceResilience resilience = resilience(circuitBreakers, BulkheadRegistry.ofDefaults(),
+                new HedgingProperties(false, null, null));
+        circuitBreakers.circuitBreaker(AuthServiceResilience.INSTANCE_NAME).transitionToOpenState();
+
+        StepVerifier.create(resilience.execute(() -> Mono.just("user")))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+    }
+
+    @Test
+    void bulkheadCapsConcurrentCalls() {
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        AuthServiceResilience resilience = resilience(CircuitBreakerRegistry.ofDefaults(), bulkheads,
+                new HedgingProperties(false, null, null));
+
+        resilience.execute(Mono::never).subscribe();
+
+        StepVerifier.create(resilience.execute(() -> Mono.just("user")))
+                .expectError(BulkheadFullException.class)
+                .verify();
+    }
+
+    @Test
+    void slowCallIsHedgedAfterObservedLatency() {
+        AuthServiceResilience resilience = resilience(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                new HedgingProperties(true, Duration.ofMillis(20), 1));
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.create(resilience.execute(() -> Mono.just("warm-up")))
+                .expectNext("warm-up")
+                .verifyComplete();
+
+        StepVerifier.create(resilience.execute(() -> attempts.getAndIncrement() == 0
+                        ? Mono.never()
+                        : Mono.just("hedged")))
+                .expectNext("hedged")
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void hedgeRejectedByBulkheadDoesNotCancelHealthyPrimary() {
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        AuthServiceResilience resilience = resilience(CircuitBreakerRegistry.ofDefaults(), bulkheads,
+                new HedgingProperties(true, Duration.ofMillis(20), 1));
+
+        StepVerifier.create(resilience.execute(() -> Mono.just("warm-up")))
+                .expectNext("warm-up")
+                .verifyComplete();
+
+        StepVerifier.create(resilience.execute(() -> Mono.delay(Duration.ofMillis(300)).thenReturn("primary")))
+                .expectNext("primary")
+                .verifyComplete();
+    }
+
+    @Test
+    void emptyPrimaryWinsWithoutWaitingForTheHedge() {
+        AuthServiceResilience resilience = resilience(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                new HedgingProperties(true, Duration.ofSeconds(10), 1));
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.create(resilience.execute(() -> Mono.just("warm-up")))
+                .expectNext("warm-up")
+                .verifyComplete();
+
+        StepVerifier.create(resilience.execute(() -> {
+                    attempts.incrementAndGet();
+                    return Mono.<String>empty();
+                }))
+                .verifyComplete();
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void bothAttemptsFailing_reportsThePrimaryError() {
+        AuthServiceResilience resilience = resilience(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                new HedgingProperties(true, Duration.ofMillis(20), 1));
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.create(resilience.execute(() -> Mono.just("warm-up")))
+                .expectNext("warm-up")
+                .verifyComplete();
+
+        StepVerifier.create(resilience.execute(() -> attempts.getAndIncrement() == 0
+                        ? Mono.delay(Duration.ofMillis(100)).then(Mono.<String>error(new IllegalStateException("primary")))
+                        : Mono.<String>error(new IllegalArgumentException("hedge"))))
+                .expectErrorMatches(error -> error instanceof IllegalStateException && "primary".equals(error.getMessage()))
+                .verify(Duration.ofSeconds(5));
+    }
+}
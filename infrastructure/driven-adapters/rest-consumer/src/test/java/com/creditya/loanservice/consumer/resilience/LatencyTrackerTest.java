@@ -0,0 +1,39 @@
+package com.creditya.loanservice.consumer.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyTrackerTest {
+
+    @Test
+    void percentileIsTakenOverTheWindow() {
+        LatencyTracker tracker = new LatencyTracker(100, 0.95, 1);
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(i);
+        }
+
+        assertEquals(Duration.ofMillis(95), tracker.percentile());
+    }
+
+    @Test
+    void percentileIsOnlyRecomputedEveryNSamplesOnceWarm() {
+        LatencyTracker tracker = new LatencyTracker(1024, 0.5, 64);
+        for (int i = 0; i < 128; i++) {
+            tracker.record(10);
+        }
+        assertEquals(Duration.ofMillis(10), tracker.percentile());
+
+        for (int i = 0; i < 63; i++) {
+            tracker.record(1000);
+        }
+        assertEquals(Duration.ofMillis(10), tracker.percentile());
+
+        for (int i = 0; i < 200; i++) {
+            tracker.record(1000);
+        }
+        assertEquals(Duration.ofMillis(1000), tracker.percentile());
+    }
+}
@@ -0,0 +1,113 @@
+package com.creditya.loanservice.consumer.store;
+
+import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedUserSnapshotStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private UserSnapshot user(UUID userId, String name) {
+        return new UserSnapshot(userId, name, name.toLowerCase() + "@test.com", new BigDecimal("3500.50"));
+    }
+
+    @Test
+    void putAndGet_roundTripsAllFields() throws IOException {
+        UUID userId = UUID.randomUUID();
+        try (MappedUserSnapshotStore store = MappedUserSnapshotStore.open(dir.resolve("users.dat"), 128, Duration.ofHours(1), clock)) {
+            assertTrue(store.put(user(userId, "José")));
+
+            UserSnapshot found = store.get(userId).orElseThrow();
+            assertEquals("José", found.getName());
+            assertEquals("josé@test.com", found.getEmail());
+            assertEquals(new BigDecimal("3500.50"), found.getBaseSalary());
+        }
+    }
+
+    @Test
+    void put_keepsNullFields() throws IOException {
+        UUID userId = UUID.randomUUID();
+        try (MappedUserSnapshotStore store = MappedUserSnapshotStore.open(dir.resolve("users.dat"), 128, Duration.ofHours(1), clock)) {
+            assertTrue(store.put(new UserSnapshot(userId, null, null, null)));
+
+            UserSnapshot found = store.get(userId).orElseThrow();
+            assertNull(found.getName());
+            assertNull(found.getEmail());
+            assertNull(found.getBaseSalary());
+        }
+    }
+
+    @Test
+    void get_ignoresExpiredRecords() throws IOException {
+        UUID userId = UUID.randomUUID();
+        Path file = dir.resolve("users.dat");
+        try (MappedUserSnapshotStore store = MappedUserSnapshotStore.open(file, 128, Duration.ofMinutes(5), clock)) {
+            store.put(user(userId, "Ana"));
+        }
+
+        Clock later = Clock.offset(clock, Duration.ofMinutes(6));
+        try (MappedUserSnapshotStore store = MappedUserSnapshotStore.open(file, 128, Duration.ofMinutes(5), later)) {
+            assertTrue(store.get(userId).isEmpty());
+            assertTrue(store.put(user(userId, "Ana")));
+            assertEquals(1, store.occupiedSlots());
+        }
+    }
+
+    @Test
+    void open_discardsFileWithDifferentLayout() throws IOException {
+        UUID userId = UUID.randomUUID();
+        Path file = dir.resolve("users.dat");
+        try (MappedUserSnapshotStore store = MappedUserSnapshotStore.open(file, 128, Duration.ofHours(1), clock)) {
+            store.put(user(userId, "Ana"));
+        }
+
+        try (MappedUserSnapshotStore store = MappedUserSnapshotStore.open(file, 512, Duration.ofHours(1), clock)) {
+            assertTrue(store.get(userId).isEmpty());
+            assertEquals(0, store.occupiedSlots());
+        }
+    }
+
+    @Test
+    void remove_hidesUserButKeepsProbeChainIntact() throws IOException {
+        try (MappedUserSnapshotStore store = MappedUserSnapshotStore.open(dir.resolve("users.dat"), 64, Duration.ofHours(1), clock)) {
+            List<UUID> ids = IntStream.range(0, 40).mapToObj(i -> UUID.randomUUID()).toList();
+            ids.forEach(id -> assertTrue(store.put(user(id, "User"))));
+
+            store.remove(ids.getFirst());
+
+            Map<UUID, UserSnapshot> found = store.getAll(ids);
+            assertFalse(found.containsKey(ids.getFirst()));
+            assertEquals(ids.size() - 1, found.size());
+        }
+    }
+
+    @Test
+    void put_rejectsRecordsThatDoNotFitOrWhenFull() throws IOException {
+        try (MappedUserSnapshotStore store = MappedUserSnapshotStore.open(dir.resolve("users.dat"), 64, Duration.ofHours(1), clock)) {
+            assertFalse(store.put(user(UUID.randomUUID(), "x".repeat(MappedUserSnapshotStore.MAX_NAME_BYTES + 1))));
+
+            long stored = IntStream.range(0, 64)
+                    .filter(i -> store.put(user(UUID.randomUUID(), "User")))
+                    .count();
+            assertEquals(48, stored);
+        }
+    }
+}
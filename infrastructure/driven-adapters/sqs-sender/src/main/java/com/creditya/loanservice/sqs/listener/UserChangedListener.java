@@ -0,0 +1,96 @@
+package com.creditya.loanservice.sqs.listener;
+
+import com.creditya.loanservice.model.usersnapshot.UserChangedEvent;
+import com.creditya.loanservice.sqs.sender.config.SQSSenderProperties;
+import com.creditya.loanservice.sqs.sender.config.UserSyncProperties;
+import com.creditya.loanservice.usecase.SyncUserSnapshotUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Feeds the local user snapshot replica from the authentication service change queue.
+ * Messages are only deleted once the replica write has succeeded, so a failed write is
+ * retried when the message becomes visible again.
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class UserChangedListener {
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final SyncUserSnapshotUseCase syncUserSnapshotUseCase;
+    private final SQSSenderProperties sqsProperties;
+    private final UserSyncProperties userSyncProperties;
+    private final ObjectMapper objectMapper;
+
+    @PostConstruct
+    public void start() {
+        if (!userSyncProperties.enabled()) {
+            log.info("User snapshot sync is disabled");
+            return;
+        }
+        if (userSyncProperties.backfillOnStartup()) {
+            syncUserSnapshotUseCase.backfill()
+                    .onErrorResume(e -> Mono.empty())
+                    .subscribe();
+        }
+        if (queueUrl() == null) {
+            log.warn("No user-changed queue configured, the user snapshot replica only receives backfills");
+            return;
+        }
+        listen();
+    }
+
+    private void listen() {
+        ReceiveMessageRequest request = ReceiveMessageRequest.builder()
+                .queueUrl(queueUrl())
+                .waitTimeSeconds(20)
+                .maxNumberOfMessages(10)
+                .build();
+
+        sqsAsyncClient.receiveMessage(request)
+                .thenAccept(response -> {
+                    List<Message> messages = response.messages();
+                    for (Message msg : messages) {
+                        processMessage(msg)
+                                .doOnSuccess(v -> sqsAsyncClient.deleteMessage(builder ->
+                                        builder.queueUrl(queueUrl())
+                                                .receiptHandle(msg.receiptHandle())))
+                                .doOnError(e -> log.error("Error processing user change {}", msg.messageId(), e))
+                                .subscribe();
+                    }
+                    Mono.delay(Duration.ofSeconds(1))
+                            .doOnTerminate(this::listen)
+                            .subscribe();
+                })
+                .exceptionally(e -> {
+                    log.error("Error receiving user changes", e);
+                    Mono.delay(Duration.ofSeconds(5))
+                            .doOnTerminate(this::listen)
+                            .subscribe();
+                    return null;
+                });
+    }
+
+    private Mono<Void> processMessage(Message message) {
+        return Mono.fromCallable(() -> {
+                    log.trace("Processing user change body: {}", message.body());
+                    return objectMapper.readValue(message.body(), UserChangedEvent.class);
+                })
+                .flatMap(syncUserSnapshotUseCase::applyChange);
+    }
+
+    private String queueUrl() {
+        return sqsProperties.queues().userChanged();
+    }
+}
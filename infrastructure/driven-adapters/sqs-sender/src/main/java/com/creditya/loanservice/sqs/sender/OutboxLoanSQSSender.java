@@ -0,0 +1,83 @@
+package com.creditya.loanservice.sqs.sender;
+
+import com.creditya.loanservice.model.creditanalisys.CreditAnalysis;
+import com.creditya.loanservice.model.loan.data.LoanApprovedEvent;
+import com.creditya.loanservice.model.loan.data.LoanNotification;
+import com.creditya.loanservice.model.loan.gateways.LoanSQSSender;
+import com.creditya.loanservice.model.loan.responseEvent.LoanStatusUpdateEvent;
+import com.creditya.loanservice.model.outbox.OutboxDestination;
+import com.creditya.loanservice.model.outbox.OutboxMessage;
+import com.creditya.loanservice.model.outbox.gateways.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Writes messages to the outbox instead of calling SQS, so they commit or roll back with the
+ * caller's transaction and no connection is held across a network call. {@link OutboxRelay}
+ * publishes them afterwards. The returned id is the outbox id, not the SQS message id.
+ */
+@Primary
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class OutboxLoanSQSSender implements LoanSQSSender {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<String> sendStatusNotificationCredit(LoanStatusUpdateEvent creditAnalysis) {
+        return enqueue(creditAnalysis, OutboxDestination.STATUS_NOTIFICATION, "StatusNotificationCreditAnalysis");
+    }
+
+    @Override
+    public Mono<String> sendStatusNotification(LoanNotification loanNotification) {
+        return enqueue(loanNotification, OutboxDestination.STATUS_NOTIFICATION, "StatusNotification");
+    }
+
+    @Override
+    public Mono<String> sendCreditAnalysis(CreditAnalysis creditAnalysis) {
+        return enqueue(creditAnalysis, OutboxDestination.DEBT_CAPACITY, "CreditAnalysis");
+    }
+
+    @Override
+    public Mono<Integer> sendCreditAnalyses(List<CreditAnalysis> creditAnalyses) {
+        return Mono.fromCallable(() -> creditAnalyses.stream()
+                        .map(creditAnalysis -> toMessage(creditAnalysis, OutboxDestination.DEBT_CAPACITY, "CreditAnalysis"))
+                        .toList())
+                .flatMap(outboxRepository::append)
+                .doOnNext(count -> log.debug("{} messages queued in outbox for context 'CreditAnalysis'", count))
+                .map(Long::intValue);
+    }
+
+    @Override
+    public Mono<String> sendLoanApprovedEvent(LoanApprovedEvent approvedLoan) {
+        return enqueue(approvedLoan, OutboxDestination.LOAN_APPROVED, "LoanApprovedEvent");
+    }
+
+    private <T> Mono<String> enqueue(T payload, OutboxDestination destination, String messageContext) {
+        return Mono.fromCallable(() -> toMessage(payload, destination, messageContext))
+                .flatMap(message -> outboxRepository.append(List.of(message))
+                        .doOnNext(count -> log.debug("Message queued in outbox for context '{}': {}", messageContext, message.id()))
+                        .thenReturn(message.id().toString()))
+                .onErrorResume(e -> {
+                    log.error("Failed to queue outbox message for context '{}'", messageContext, e);
+                    return Mono.error(e);
+                });
+    }
+
+    private <T> OutboxMessage toMessage(T payload, OutboxDestination destination, String messageContext) {
+        try {
+            return OutboxMessage.of(destination, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize payload for " + messageContext, e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.creditya.loanservice.sqs.sender;
+
+import com.creditya.loanservice.model.outbox.OutboxMessage;
+import com.creditya.loanservice.model.outbox.gateways.OutboxRepository;
+import com.creditya.loanservice.sqs.sender.config.OutboxRelayProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Polls the outbox and publishes what it leases with {@code SendMessageBatch}, grouped by queue.
+ * Delivery is at least once: a message whose send or {@code deleteSent} fails is leased again once
+ * its lease runs out, so consumers must tolerate duplicates. A message still unsent after
+ * {@code maxAttempts} leases, such as one SQS keeps rejecting, is parked and logged instead.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final SQSSender sqsSender;
+    private final OutboxRelayProperties properties;
+
+    private Disposable schedule;
+
+    @PostConstruct
+    public void start() {
+        schedule = Flux.interval(properties.pollInterval(), properties.pollInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> drain()
+                        .onErrorResume(e -> {
+                            log.error("Outbox relay failed: {}", e.getMessage(), e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+
+    /**
+     * Parks exhausted messages, then relays batches while they come back full and fully delivered,
+     * and returns how many messages were sent. A short or partly failed batch ends the round until
+     * the next poll.
+     */
+    public Mono<Long> drain() {
+        return parkExhausted()
+                .then(relayBatch()
+                        .expand(sent -> sent.intValue() == properties.batchSize() ? relayBatch() : Mono.empty())
+                        .reduce(0L, Long::sum));
+    }
+
+    private Mono<Void> parkExhausted() {
+        return outboxRepository.parkExhausted(properties.maxAttempts())
+                .doOnNext(message -> log.error("Parked outbox message {} for '{}' after {} failed attempts",
+                        message.id(), message.destination(), properties.maxAttempts()))
+                .then();
+    }
+
+    private Mono<Long> relayBatch() {
+        return outboxRepository.lease(properties.batchSize(), properties.leaseTime(), properties.maxAttempts())
+                .collectList()
+                .flatMap(messages -> messages.isEmpty()
+                        ? Mono.just(0L)
+                        : publish(messages)
+                                .flatMap(outboxRepository::deleteSent)
+                                .doOnNext(sent -> log.debug("Relayed {} of {} outbox messages", sent, messages.size())));
+    }
+
+    private Mono<List<UUID>> publish(List<OutboxMessage> messages) {
+        return Flux.fromIterable(messages)
+                .groupBy(OutboxMessage::destination)
+                .flatMap(destination -> destination.buffer(SQSSender.MAX_BATCH_ENTRIES)
+                        .concatMap(batch -> sqsSender.sendOutboxBatch(destination.key(), batch)
+                                .onErrorResume(e -> {
+                                    log.error("Failed to relay {} outbox messages to '{}'", batch.size(), destination.key(), e);
+                                    return Mono.just(List.of());
+                                })))
+                .flatMapIterable(sent -> sent)
+                .collectList();
+    }
+}
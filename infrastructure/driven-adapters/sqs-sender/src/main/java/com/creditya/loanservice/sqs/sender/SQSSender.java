@@ -5,21 +5,36 @@ import com.creditya.loanservice.model.loan.data.LoanApprovedEvent;
 import com.creditya.loanservice.model.loan.data.LoanNotification;
 import com.creditya.loanservice.model.loan.gateways.LoanSQSSender;
 import com.creditya.loanservice.model.loan.responseEvent.LoanStatusUpdateEvent;
+import com.creditya.loanservice.model.outbox.OutboxDestination;
+import com.creditya.loanservice.model.outbox.OutboxMessage;
 import com.creditya.loanservice.sqs.sender.config.SQSSenderProperties;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Publishes straight to SQS. {@link OutboxLoanSQSSender} is the {@link LoanSQSSender} the use cases
+ * get; this sender is used by {@link OutboxRelay} to deliver what the outbox holds.
+ */
 @Service
 @Log4j2
 @RequiredArgsConstructor
 public class SQSSender implements LoanSQSSender {
+    static final int MAX_BATCH_ENTRIES = 10;
+
     private final SQSSenderProperties properties;
     private final SqsAsyncClient client;
     private final ObjectMapper objectMapper;
@@ -51,6 +66,14 @@ public class SQSSender implements LoanSQSSender {
         );
     }
 
+    @Override
+    public Mono<Integer> sendCreditAnalyses(List<CreditAnalysis> creditAnalyses) {
+        return Flux.fromIterable(creditAnalyses)
+                .buffer(MAX_BATCH_ENTRIES)
+                .concatMap(batch -> sendMessageBatch(batch, properties.queues().debtCapacity(), "CreditAnalysis"))
+                .reduce(0, Integer::sum);
+    }
+
     @Override
     public Mono<String> sendLoanApprovedEvent(LoanApprovedEvent approvedLoan) {
         return sendMessage(
@@ -60,6 +83,72 @@ public class SQSSender implements LoanSQSSender {
         );
     }
 
+    /**
+     * Publishes up to {@value #MAX_BATCH_ENTRIES} already serialized outbox messages to their queue
+     * and returns the ids SQS accepted. Rejected entries are only logged, so they are retried.
+     */
+    public Mono<List<UUID>> sendOutboxBatch(OutboxDestination destination, List<OutboxMessage> messages) {
+        return Mono.fromCallable(() -> SendMessageBatchRequest.builder()
+                        .queueUrl(queueUrl(destination))
+                        .entries(messages.stream()
+                                .map(message -> SendMessageBatchRequestEntry.builder()
+                                        .id(message.id().toString())
+                                        .messageBody(message.payload())
+                                        .build())
+                                .toList())
+                        .build())
+                .flatMap(request -> Mono.fromFuture(client.sendMessageBatch(request)))
+                .map(response -> {
+                    response.failed().forEach(failed ->
+                            log.warn("SQS rejected outbox message {} for '{}': {}", failed.id(), destination, failed.message()));
+                    return response.successful().stream()
+                            .map(entry -> UUID.fromString(entry.id()))
+                            .toList();
+                });
+    }
+
+    private String queueUrl(OutboxDestination destination) {
+        return switch (destination) {
+            case DEBT_CAPACITY -> properties.queues().debtCapacity();
+            case STATUS_NOTIFICATION -> properties.queues().statusNotification();
+            case LOAN_APPROVED -> properties.queues().loanApproved();
+        };
+    }
+
+    private <T> Mono<Integer> sendMessageBatch(List<T> payloads, String queueUrl, String messageContext) {
+        return Mono.fromCallable(() -> {
+                    List<SendMessageBatchRequestEntry> entries = new ArrayList<>(payloads.size());
+                    for (int i = 0; i < payloads.size(); i++) {
+                        try {
+                            entries.add(SendMessageBatchRequestEntry.builder()
+                                    .id(Integer.toString(i))
+                                    .messageBody(objectMapper.writeValueAsString(payloads.get(i)))
+                                    .build());
+                        } catch (JsonProcessingException e) {
+                            throw new RuntimeException("Failed to serialize payload for " + messageContext, e);
+                        }
+                    }
+                    return SendMessageBatchRequest.builder()
+                            .queueUrl(queueUrl)
+                            .entries(entries)
+                            .build();
+                })
+                .flatMap(request -> Mono.fromFuture(client.sendMessageBatch(request)))
+                .flatMap(response -> {
+                    if (response.hasFailed() && !response.failed().isEmpty()) {
+                        return Mono.error(new IllegalStateException("SQS rejected " + response.failed().size()
+                                + " of " + payloads.size() + " " + messageContext + " messages: "
+                                + response.failed().getFirst().message()));
+                    }
+                    log.debug("Batch of {} messages sent for context '{}'", response.successful().size(), messageContext);
+                    return Mono.just(response.successful().size());
+                })
+                .onErrorResume(e -> {
+                    log.error("Failed to send SQS message batch for context '{}'", messageContext, e);
+                    return Mono.error(e);
+                });
+    }
+
     private <T> Mono<String> sendMessage(T payload, String queueUrl, String messageContext) {
         return Mono.fromCallable(() -> {
                     try {
@@ -0,0 +1,25 @@
+package com.creditya.loanservice.sqs.sender.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapter.sqs.outbox")
+public record OutboxRelayProperties(
+        Duration pollInterval,
+        Integer batchSize,
+        Duration leaseTime,
+        Integer maxAttempts) {
+
+    private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(1);
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final Duration DEFAULT_LEASE_TIME = Duration.ofSeconds(30);
+    private static final int DEFAULT_MAX_ATTEMPTS = 10;
+
+    public OutboxRelayProperties {
+        pollInterval = pollInterval == null ? DEFAULT_POLL_INTERVAL : pollInterval;
+        batchSize = batchSize == null || batchSize < 1 ? DEFAULT_BATCH_SIZE : batchSize;
+        leaseTime = leaseTime == null ? DEFAULT_LEASE_TIME : leaseTime;
+        maxAttempts = maxAttempts == null || maxAttempts < 1 ? DEFAULT_MAX_ATTEMPTS : maxAttempts;
+    }
+}
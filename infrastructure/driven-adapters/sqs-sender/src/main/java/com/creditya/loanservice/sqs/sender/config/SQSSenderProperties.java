@@ -11,6 +11,7 @@ public record SQSSenderProperties(
     public record Queues(
             String debtCapacity,
             String statusNotification,
-            String loanApproved
+            String loanApproved,
+            String userChanged
     ) {}
 }
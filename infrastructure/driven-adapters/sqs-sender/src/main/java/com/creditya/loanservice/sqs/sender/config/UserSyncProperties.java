@@ -0,0 +1,14 @@
+package com.creditya.loanservice.sqs.sender.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "adapter.sqs.user-sync")
+public record UserSyncProperties(
+        Boolean enabled,
+        Boolean backfillOnStartup) {
+
+    public UserSyncProperties {
+        enabled = enabled != null && enabled;
+        backfillOnStartup = backfillOnStartup != null && backfillOnStartup;
+    }
+}
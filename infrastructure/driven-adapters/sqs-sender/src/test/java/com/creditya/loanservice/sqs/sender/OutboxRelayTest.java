@@ -0,0 +1,139 @@
+package com.creditya.loanservice.sqs.sender;
+
+import com.creditya.loanservice.model.outbox.OutboxDestination;
+import com.creditya.loanservice.model.outbox.OutboxMessage;
+import com.creditya.loanservice.model.outbox.gateways.OutboxRepository;
+import com.creditya.loanservice.sqs.sender.config.OutboxRelayProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private SQSSender sqsSender;
+
+    private OutboxRelay relay;
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final Duration leaseTime = Duration.ofSeconds(30);
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxRepository, sqsSender, new OutboxRelayProperties(Duration.ofSeconds(1), 12, leaseTime, MAX_ATTEMPTS));
+    }
+
+    private void givenNothingExhausted() {
+        when(outboxRepository.parkExhausted(MAX_ATTEMPTS)).thenReturn(Flux.empty());
+    }
+
+    private List<OutboxMessage> messages(int count, OutboxDestination destination) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> OutboxMessage.of(destination, "{\"n\":" + i + "}"))
+                .toList();
+    }
+
+    private static List<UUID> ids(List<OutboxMessage> messages) {
+        return messages.stream().map(OutboxMessage::id).toList();
+    }
+
+    @Test
+    void drain_publishesInBatchesOfTenPerQueueAndDeletesSent() {
+        givenNothingExhausted();
+        List<OutboxMessage> capacity = messages(11, OutboxDestination.DEBT_CAPACITY);
+        List<OutboxMessage> approved = messages(1, OutboxDestination.LOAN_APPROVED);
+        List<OutboxMessage> leased = new ArrayList<>(capacity);
+        leased.addAll(approved);
+
+        when(outboxRepository.lease(12, leaseTime, MAX_ATTEMPTS))
+                .thenReturn(Flux.fromIterable(leased))
+                .thenReturn(Flux.empty());
+        when(sqsSender.sendOutboxBatch(any(), anyList()))
+                .thenAnswer(invocation -> Mono.just(ids(invocation.getArgument(1))));
+        when(outboxRepository.deleteSent(anyList())).thenAnswer(invocation -> Mono.just((long) ((List<?>) invocation.getArgument(0)).size()));
+
+        StepVerifier.create(relay.drain())
+                .expectNext(12L)
+                .verifyComplete();
+
+        verify(sqsSender).sendOutboxBatch(eq(OutboxDestination.DEBT_CAPACITY), argThat(batch -> batch.size() == 10));
+        verify(sqsSender).sendOutboxBatch(eq(OutboxDestination.DEBT_CAPACITY), argThat(batch -> batch.size() == 1));
+        verify(sqsSender).sendOutboxBatch(OutboxDestination.LOAN_APPROVED, approved);
+        verify(outboxRepository).deleteSent(argThat(sent -> sent.size() == 12 && sent.containsAll(ids(leased))));
+        verify(outboxRepository, times(2)).lease(12, leaseTime, MAX_ATTEMPTS);
+    }
+
+    @Test
+    void drain_failedBatchIsLeftForTheNextLease() {
+        givenNothingExhausted();
+        List<OutboxMessage> notifications = messages(3, OutboxDestination.STATUS_NOTIFICATION);
+        List<OutboxMessage> approved = messages(2, OutboxDestination.LOAN_APPROVED);
+        List<OutboxMessage> leased = new ArrayList<>(notifications);
+        leased.addAll(approved);
+
+        when(outboxRepository.lease(12, leaseTime, MAX_ATTEMPTS)).thenReturn(Flux.fromIterable(leased));
+        when(sqsSender.sendOutboxBatch(OutboxDestination.STATUS_NOTIFICATION, notifications))
+                .thenReturn(Mono.error(new IllegalStateException("SQS unavailable")));
+        when(sqsSender.sendOutboxBatch(OutboxDestination.LOAN_APPROVED, approved))
+                .thenReturn(Mono.just(ids(approved)));
+        when(outboxRepository.deleteSent(ids(approved))).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(relay.drain())
+                .expectNext(2L)
+                .verifyComplete();
+
+        verify(outboxRepository, times(1)).lease(12, leaseTime, MAX_ATTEMPTS);
+    }
+
+    @Test
+    void drain_emptyOutbox_sendsNothing() {
+        givenNothingExhausted();
+        when(outboxRepository.lease(12, leaseTime, MAX_ATTEMPTS)).thenReturn(Flux.empty());
+
+        StepVerifier.create(relay.drain())
+                .expectNext(0L)
+                .verifyComplete();
+
+        verifyNoInteractions(sqsSender);
+        verify(outboxRepository, never()).deleteSent(anyList());
+    }
+
+    @Test
+    void drain_parksExhaustedMessagesBeforeLeasing() {
+        List<OutboxMessage> rejected = messages(2, OutboxDestination.LOAN_APPROVED);
+        when(outboxRepository.parkExhausted(MAX_ATTEMPTS)).thenReturn(Flux.fromIterable(rejected));
+        when(outboxRepository.lease(12, leaseTime, MAX_ATTEMPTS)).thenReturn(Flux.empty());
+
+        StepVerifier.create(relay.drain())
+                .expectNext(0L)
+                .verifyComplete();
+
+        InOrder inOrder = inOrder(outboxRepository);
+        inOrder.verify(outboxRepository).parkExhausted(MAX_ATTEMPTS);
+        inOrder.verify(outboxRepository).lease(12, leaseTime, MAX_ATTEMPTS);
+        verifyNoInteractions(sqsSender);
+    }
+}
@@ -1,17 +1,29 @@
 package com.creditya.loanservice.api;
 
+import com.creditya.loanservice.api.dto.request.LoanBatchRequestDTO;
 import com.creditya.loanservice.api.dto.request.LoanCreatedRequestDTO;
 
+import com.creditya.loanservice.api.dto.request.LoanSimulationRequestDTO;
 import com.creditya.loanservice.api.dto.request.LoanUpdateRequestDTO;
 import com.creditya.loanservice.api.dto.response.LoanResponseDTO;
 import com.creditya.loanservice.api.exception.model.UnexpectedException;
+import com.creditya.loanservice.api.exception.model.ValidationException;
 import com.creditya.loanservice.api.exception.service.ValidationService;
 import com.creditya.loanservice.api.mapper.LoanMapper;
 import com.creditya.loanservice.model.Page;
+import com.creditya.loanservice.model.loan.data.LoanApplication;
+import com.creditya.loanservice.model.loan.data.LoanBatchResult;
+import com.creditya.loanservice.model.loan.data.LoanWithUser;
+import com.creditya.loanservice.usecase.CreateLoanBatchUseCase;
 import com.creditya.loanservice.usecase.GetPaginationLoanUseCase;
 import com.creditya.loanservice.usecase.CreateLoanUseCase;
+import com.creditya.loanservice.usecase.ExportLoansUseCase;
+import com.creditya.loanservice.usecase.IdempotentCreateLoanUseCase;
 import com.creditya.loanservice.usecase.LoanDecisionProcessorUseCase;
+import com.creditya.loanservice.usecase.PortfolioSummaryUseCase;
+import com.creditya.loanservice.usecase.SimulateLoanUseCase;
 import com.creditya.loanservice.usecase.exception.BaseException;
+import com.creditya.loanservice.usecase.exception.InvalidPageCursorException;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -22,27 +34,45 @@ import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 import static com.creditya.loanservice.api.util.ParseSafe.parseSafe;
+import static com.creditya.loanservice.usecase.utils.ErrorCatalog.VALIDATION_EXCEPTION;
 
 @Component
 @RequiredArgsConstructor
 public class Handler {
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private final CreateLoanUseCase createLoanUseCase;
+    private final IdempotentCreateLoanUseCase idempotentCreateLoanUseCase;
+    private final CreateLoanBatchUseCase createLoanBatchUseCase;
     private final GetPaginationLoanUseCase getPaginationLoanUseCase;
     private final LoanDecisionProcessorUseCase loanDecisionProcessorUseCase;
+    private final ExportLoansUseCase exportLoansUseCase;
+    private final SimulateLoanUseCase simulateLoanUseCase;
+    private final PortfolioSummaryUseCase portfolioSummaryUseCase;
     private final LoanMapper loanMapper;
     private final ValidationService validator;
 
 
     @PreAuthorize("hasAnyAuthority('ROLE_CUSTOMER', 'ROLE_ADVISER')")
     public Mono<ServerResponse> createLoan(ServerRequest serverRequest) {
-        return serverRequest.bodyToMono(LoanCreatedRequestDTO.class)
+        Optional<String> idempotencyKey = Optional.ofNullable(serverRequest.headers().firstHeader(IDEMPOTENCY_KEY_HEADER));
+        return validateIdempotencyKey(idempotencyKey)
+                .then(serverRequest.bodyToMono(LoanCreatedRequestDTO.class))
                 .flatMap(validator::validate)
-                .flatMap(loanDto -> createLoanUseCase.createLoan(loanMapper.toLoan(loanDto), loanDto.loanType())
+                .flatMap(loanDto -> idempotencyKey
+                        .map(key -> idempotentCreateLoanUseCase.createLoan(loanMapper.toLoan(loanDto), loanDto.loanType(), key))
+                        .orElseGet(() -> createLoanUseCase.createLoan(loanMapper.toLoan(loanDto), loanDto.loanType()))
                 )
                 .map(loanMapper::toLoanCreateResponseDTO)
                 .flatMap(response ->
@@ -54,36 +84,140 @@ public class Handler {
                 ));
     }
 
+    private Mono<Void> validateIdempotencyKey(Optional<String> idempotencyKey) {
+        return idempotencyKey
+                .filter(key -> key.isBlank() || key.length() > MAX_IDEMPOTENCY_KEY_LENGTH)
+                .map(key -> Mono.<Void>error(new ValidationException(Map.of(IDEMPOTENCY_KEY_HEADER,
+                        "Idempotency-Key must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters"))))
+                .orElseGet(Mono::empty);
+    }
+
+    /**
+     * Applications that fail bean validation are reported as failed items here; the rest go to
+     * the use case, and both are returned together in submission order.
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_CUSTOMER', 'ROLE_ADVISER')")
+    public Mono<ServerResponse> createLoanBatch(ServerRequest serverRequest) {
+        return serverRequest.bodyToMono(LoanBatchRequestDTO.class)
+                .flatMap(validator::validate)
+                .flatMap(batch -> {
+                    List<LoanBatchResult> invalid = new ArrayList<>();
+                    List<LoanApplication> applications = new ArrayList<>();
+                    for (int index = 0; index < batch.applications().size(); index++) {
+                        LoanCreatedRequestDTO loanDto = batch.applications().get(index);
+                        Map<String, String> violations = loanDto == null
+                                ? Map.of("application", "Application cannot be null")
+                                : validator.violations(loanDto);
+                        if (violations.isEmpty()) {
+                            applications.add(loanMapper.toLoanApplication(index, loanDto));
+                        } else {
+                            invalid.add(LoanBatchResult.failed(index, VALIDATION_EXCEPTION.getCode(), VALIDATION_EXCEPTION.getMessage(), violations));
+                        }
+                    }
+                    return createLoanBatchUseCase.createLoans(applications)
+                            .map(results -> Stream.concat(invalid.stream(), results.stream())
+                                    .sorted(Comparator.comparingInt(LoanBatchResult::index))
+                                    .map(loanMapper::toLoanBatchItemResponseDTO)
+                                    .toList());
+                })
+                .flatMap(response ->
+                        ServerResponse.ok()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(response))
+                .onErrorResume(ex -> Mono.error(
+                        ex instanceof BaseException ? ex : new UnexpectedException(ex)
+                ));
+    }
+
+    @PreAuthorize("hasAnyAuthority('ROLE_CUSTOMER', 'ROLE_ADVISER')")
+    public Mono<ServerResponse> simulateLoan(ServerRequest serverRequest) {
+        return serverRequest.bodyToMono(LoanSimulationRequestDTO.class)
+                .flatMap(validator::validate)
+                .flatMap(dto -> simulateLoanUseCase.execute(dto.amount(), dto.loanTerm(), dto.loanType()))
+                .map(loanMapper::toLoanSimulationResponseDTO)
+                .flatMap(response ->
+                        ServerResponse.ok()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(response))
+                .onErrorResume(ex -> Mono.error(
+                        ex instanceof BaseException ? ex : new UnexpectedException(ex)
+                ));
+    }
+
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_ADVISER')")
     public Mono<ServerResponse> getLoans(ServerRequest request) {
+        Optional<String> cursor = request.queryParam("cursor");
         int page = parseSafe(request.queryParam("start"), 0);
         int size = parseSafe(request.queryParam("limit"), 20);
 
         List<String> filterStatuses = request.queryParams().getOrDefault("status", List.of());
 
-        return getPaginationLoanUseCase.execute(page, size, filterStatuses)
-                .flatMap(pageResponse -> {
-                    if (pageResponse.getContent().isEmpty()) {
-                        Map<String, Object> emptyContent = Map.of("content", Collections.emptyList());
-                        return ServerResponse.ok()
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .bodyValue(emptyContent);
-                    } else {
-                        Page<LoanResponseDTO> dtoPage = Page.<LoanResponseDTO>builder()
-                                .start(pageResponse.getStart())
-                                .limit(pageResponse.getLimit())
-                                .totalElements(pageResponse.getTotalElements())
-                                .totalPages(pageResponse.getTotalPages())
-                                .content(pageResponse.getContent().stream()
-                                        .map(loanMapper::toLoanCreateResponseDTO)
-                                        .toList())
-                                .build();
-                        return ServerResponse.ok()
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .bodyValue(dtoPage);
-                    }
-                });
+        Mono<Page<LoanWithUser>> pageMono = cursor.isPresent()
+                ? getPaginationLoanUseCase.executeWithCursor(cursor.get(), size, filterStatuses)
+                : getPaginationLoanUseCase.execute(page, size, filterStatuses);
+
+        return pageMono.flatMap(this::buildPageResponse);
+    }
+
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public Mono<ServerResponse> getLoansBulk(ServerRequest request) {
+        int size = parseSafe(request.queryParam("limit"), 1000);
+        List<String> filterStatuses = request.queryParams().getOrDefault("status", List.of());
+
+        return Mono.fromCallable(() -> request.queryParam("after").map(this::parseLoanId))
+                .flatMap(after -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(getPaginationLoanUseCase.executeBulk(after.orElse(null), size, filterStatuses)
+                                .map(loanMapper::toLoanCreateResponseDTO), LoanResponseDTO.class));
+    }
+
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public Mono<ServerResponse> exportLoans(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(exportLoansUseCase.execute().map(loanMapper::toLoanCreateResponseDTO), LoanResponseDTO.class);
+    }
 
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public Mono<ServerResponse> getPortfolioSummary(ServerRequest request) {
+        return portfolioSummaryUseCase.execute()
+                .map(totals -> totals.stream()
+                        .map(loanMapper::toPortfolioTotalResponseDTO)
+                        .toList())
+                .flatMap(response -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(response));
+    }
+
+    private UUID parseLoanId(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageCursorException();
+        }
+    }
+
+    private Mono<ServerResponse> buildPageResponse(Page<LoanWithUser> pageResponse) {
+        if (pageResponse.getContent().isEmpty()) {
+            Map<String, Object> emptyContent = Map.of("content", Collections.emptyList());
+            return ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(emptyContent);
+        }
+
+        Page<LoanResponseDTO> dtoPage = Page.<LoanResponseDTO>builder()
+                .start(pageResponse.getStart())
+                .limit(pageResponse.getLimit())
+                .totalElements(pageResponse.getTotalElements())
+                .totalPages(pageResponse.getTotalPages())
+                .next(pageResponse.getNext())
+                .content(pageResponse.getContent().stream()
+                        .map(loanMapper::toLoanCreateResponseDTO)
+                        .toList())
+                .build();
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(dtoPage);
     }
 
     @PreAuthorize("hasAnyAuthority('ROLE_ADVISER')")
@@ -108,4 +242,14 @@ public class Handler {
                                     LoanCreatedRequestDTO dto) {
         return Mono.empty();
     }
+
+    public Mono<Void> createLoanBatchDoc(@RequestBody(description = "Request - for Loan batch")
+                                         LoanBatchRequestDTO dto) {
+        return Mono.empty();
+    }
+
+    public Mono<Void> simulateLoanDoc(@RequestBody(description = "Request - for Loan simulation")
+                                      LoanSimulationRequestDTO dto) {
+        return Mono.empty();
+    }
 }
@@ -1,8 +1,12 @@
 package com.creditya.loanservice.api;
 
+import com.creditya.loanservice.api.dto.request.LoanBatchRequestDTO;
 import com.creditya.loanservice.api.dto.request.LoanCreatedRequestDTO;
+import com.creditya.loanservice.api.dto.request.LoanSimulationRequestDTO;
 import com.creditya.loanservice.api.exception.GlobalExceptionFilter;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -21,6 +25,11 @@ import static org.springframework.web.reactive.function.server.RouterFunctions.r
 @Configuration
 public class RouterRest {
     private static final String URL_API_LOAN = "/api/v1/loan";
+    private static final String URL_API_LOAN_EXPORT = URL_API_LOAN + "/export";
+    private static final String URL_API_LOAN_BULK = URL_API_LOAN + "/bulk";
+    private static final String URL_API_LOAN_BATCH = URL_API_LOAN + "/batch";
+    private static final String URL_API_LOAN_SIMULATE = URL_API_LOAN + "/simulate";
+    private static final String URL_API_LOAN_PORTFOLIO_SUMMARY = URL_API_LOAN + "/portfolio/summary";
 
     @Bean
     @RouterOperations({
@@ -31,6 +40,12 @@ public class RouterRest {
                     beanMethod = "createLoanDoc",
                     operation = @Operation(
                             summary = "Create a new loan application",
+                            parameters = @Parameter(
+                                    in = ParameterIn.HEADER,
+                                    name = "Idempotency-Key",
+                                    description = "Client-generated key; a retry with the same key and body returns the loan created by the first request",
+                                    schema = @Schema(type = "string", maxLength = 255)
+                            ),
                             requestBody = @RequestBody(
                                     required = true,
                                     content = @Content(
@@ -51,9 +66,13 @@ public class RouterRest {
                                             responseCode = "404",
                                             description = "Loan type or status not found"
                                     ),
+                                    @ApiResponse(
+                                            responseCode = "409",
+                                            description = "A request with the same Idempotency-Key is still in progress"
+                                    ),
                                     @ApiResponse(
                                             responseCode = "422",
-                                            description = "Loan amount out of allowed range"
+                                            description = "Loan amount out of allowed range, or Idempotency-Key reused for a different application"
                                     ),
                                     @ApiResponse(
                                             responseCode = "500",
@@ -61,11 +80,141 @@ public class RouterRest {
                                     )
                             }
                     )
+            ),
+            @RouterOperation(
+                    path = "/api/v1/loan/batch",
+                    method = RequestMethod.POST,
+                    beanClass = Handler.class,
+                    beanMethod = "createLoanBatchDoc",
+                    operation = @Operation(
+                            summary = "Create up to 100 loan applications at once, reporting the outcome of each",
+                            requestBody = @RequestBody(
+                                    required = true,
+                                    content = @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = LoanBatchRequestDTO.class)
+                                    )
+                            ),
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "One result per application, CREATED or FAILED, in submission order"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "400",
+                                            description = "Empty or oversized batch"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "404",
+                                            description = "Loan status not found"
+                                    )
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/v1/loan/simulate",
+                    method = RequestMethod.POST,
+                    beanClass = Handler.class,
+                    beanMethod = "simulateLoanDoc",
+                    operation = @Operation(
+                            summary = "Quote the monthly payment and payment schedule of a loan without creating it",
+                            requestBody = @RequestBody(
+                                    required = true,
+                                    content = @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = LoanSimulationRequestDTO.class)
+                                    )
+                            ),
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "Monthly payment and amortization schedule"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "400",
+                                            description = "Validation errors"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "404",
+                                            description = "Loan type not found"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "422",
+                                            description = "Loan amount out of allowed range"
+                                    )
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/v1/loan/bulk",
+                    method = RequestMethod.GET,
+                    beanClass = Handler.class,
+                    beanMethod = "getLoansBulk",
+                    operation = @Operation(
+                            summary = "List up to 5000 loans after a given loan id for internal consumers",
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "JSON array of loans, continue with after=<last idLoan>"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "400",
+                                            description = "Invalid 'after' loan id"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "403",
+                                            description = "Caller is not an administrator"
+                                    )
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/v1/loan/portfolio/summary",
+                    method = RequestMethod.GET,
+                    beanClass = Handler.class,
+                    beanMethod = "getPortfolioSummary",
+                    operation = @Operation(
+                            summary = "Loan count, amount and monthly debt totals by status and loan type",
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "One entry per status and loan type"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "403",
+                                            description = "Caller is not an administrator"
+                                    )
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/v1/loan/export",
+                    method = RequestMethod.GET,
+                    beanClass = Handler.class,
+                    beanMethod = "exportLoans",
+                    operation = @Operation(
+                            summary = "Stream the listed loan portfolio as NDJSON",
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "One loan per line"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "403",
+                                            description = "Caller is not an administrator"
+                                    )
+                            }
+                    )
             )
     })
     public RouterFunction<ServerResponse> routerFunction(Handler handler, GlobalExceptionFilter globalExceptionHandler) {
         return route(POST(URL_API_LOAN), handler::createLoan)
+                .andRoute(POST(URL_API_LOAN_BATCH), handler::createLoanBatch)
+                .andRoute(POST(URL_API_LOAN_SIMULATE), handler::simulateLoan)
                 .andRoute(GET(URL_API_LOAN), handler::getLoans)
+                .andRoute(GET(URL_API_LOAN_EXPORT), handler::exportLoans)
+                .andRoute(GET(URL_API_LOAN_BULK), handler::getLoansBulk)
+                .andRoute(GET(URL_API_LOAN_PORTFOLIO_SUMMARY), handler::getPortfolioSummary)
                 .andRoute(PUT(URL_API_LOAN), handler::updateLoan)
                 .filter(globalExceptionHandler);
     }
@@ -29,7 +29,13 @@ public class SecurityConfig {
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .authorizeExchange(exchange -> exchange
                         .pathMatchers(HttpMethod.POST,"/api/v1/loan").hasAnyAuthority("ROLE_CUSTOMER", "ROLE_ADVISER")
+                        .pathMatchers(HttpMethod.POST,"/api/v1/loan/batch").hasAnyAuthority("ROLE_CUSTOMER", "ROLE_ADVISER")
+                        .pathMatchers(HttpMethod.POST,"/api/v1/loan/simulate").hasAnyAuthority("ROLE_CUSTOMER", "ROLE_ADVISER")
+                        .pathMatchers(HttpMethod.GET,"/api/v1/loan/export").hasAuthority("ROLE_ADMIN")
+                        .pathMatchers(HttpMethod.GET,"/api/v1/loan/bulk").hasAuthority("ROLE_ADMIN")
+                        .pathMatchers(HttpMethod.GET,"/api/v1/loan/portfolio/summary").hasAuthority("ROLE_ADMIN")
                         .pathMatchers(HttpMethod.GET,"/api/v1/loan").hasAnyAuthority("ROLE_ADMIN", "ROLE_ADVISER")
+                        .pathMatchers("/actuator/referencedata").hasAuthority("ROLE_ADMIN")
                         .anyExchange().authenticated()
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
@@ -0,0 +1,16 @@
+package com.creditya.loanservice.api.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+@Schema(name = "LoanBatchDTO", description = "Batch of loan applications; each one is validated and reported on its own")
+public record LoanBatchRequestDTO(@NotNull(message = "Applications cannot be null")
+                                  @Size(min = 1, max = 100, message = "A batch must contain between 1 and 100 applications")
+                                  @Schema(description = "Loan applications of the batch")
+                                  List<LoanCreatedRequestDTO> applications) {
+}
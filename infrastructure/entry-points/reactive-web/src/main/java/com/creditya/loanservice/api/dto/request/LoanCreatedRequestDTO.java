@@ -15,7 +15,7 @@ public record LoanCreatedRequestDTO(@NotNull(message = "Amount cannot be null")
                       BigDecimal amount,
 
                                     @NotNull(message = "Term cannot be null")
-                      @Min(value = 0, message = "Term cannot be less than 0")
+                      @Min(value = 1, message = "Term cannot be less than 1")
                       @Schema(description = "Loan term in months", example = "12")
                       int loanTerm,
 
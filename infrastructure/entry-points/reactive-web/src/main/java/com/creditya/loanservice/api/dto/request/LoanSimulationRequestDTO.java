@@ -0,0 +1,26 @@
+package com.creditya.loanservice.api.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+@Builder
+@Schema(name = "LoanSimulationDTO", description = "Request data required to simulate a Loan")
+public record LoanSimulationRequestDTO(@NotNull(message = "Amount cannot be null")
+                                       @DecimalMin(value = "0.0", inclusive = true, message = "Amount cannot be less than 0")
+                                       @DecimalMax(value = "15000000.0", inclusive = true, message = "Amount cannot exceed 15,000,000")
+                                       @Schema(description = "Loan amount to simulate", example = "50000.00")
+                                       BigDecimal amount,
+
+                                       @NotNull(message = "Term cannot be null")
+                                       @Min(value = 1, message = "Term cannot be less than 1")
+                                       @Max(value = 360, message = "Term cannot exceed 360 months")
+                                       @Schema(description = "Loan term in months", example = "12")
+                                       Integer loanTerm,
+
+                                       @NotBlank(message = "Loan Type cannot be blank")
+                                       @Schema(description = "Type of the loan", example = "PERSONAL")
+                                       String loanType) {
+}
@@ -0,0 +1,30 @@
+package com.creditya.loanservice.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.Map;
+
+@Builder
+public record LoanBatchItemResponseDTO(
+        @Schema(description = "Position of the application in the submitted batch", example = "0")
+        int index,
+
+        @Schema(description = "Outcome of the application", example = "CREATED")
+        String status,
+
+        @Schema(description = "Created loan, when the application succeeded")
+        LoanCreatedResponseDTO loan,
+
+        @Schema(description = "Error code, when the application failed", example = "LOAN_AMOUNT_OUT_OF_RANGE")
+        String errorCode,
+
+        @Schema(description = "Error message, when the application failed", example = "The requested loan amount is not within the allowed range for the selected loan type.")
+        String message,
+
+        @Schema(description = "Field validation errors, when the application failed validation")
+        Map<String, String> errors
+) {
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+}
@@ -19,6 +19,7 @@ public record LoanResponseDTO(
 
         BigDecimal interestRate,
         BigDecimal totalMontlyDebt,
-        Long approvedLoans
+        Long approvedLoans,
+        boolean enriched
 ) {}
 
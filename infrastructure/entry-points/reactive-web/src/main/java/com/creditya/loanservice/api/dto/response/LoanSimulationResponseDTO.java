@@ -0,0 +1,30 @@
+package com.creditya.loanservice.api.dto.response;
+
+import com.creditya.loanservice.model.loan.responseEvent.PaymentInstallment;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Builder
+public record LoanSimulationResponseDTO(
+        @Schema(description = "Type of the loan", example = "PERSONAL")
+        String loanType,
+
+        @Schema(description = "Simulated loan amount", example = "50000.00")
+        BigDecimal amount,
+
+        @Schema(description = "Loan term in months", example = "12")
+        int loanTerm,
+
+        @Schema(description = "Annual interest rate of the loan type", example = "12.5")
+        BigDecimal interestRate,
+
+        @Schema(description = "Monthly installment", example = "4454.06")
+        BigDecimal monthlyPayment,
+
+        @Schema(description = "Installments month by month")
+        List<PaymentInstallment> paymentSchedule
+) {
+}
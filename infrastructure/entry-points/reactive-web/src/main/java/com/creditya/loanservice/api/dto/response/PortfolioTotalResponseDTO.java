@@ -0,0 +1,25 @@
+package com.creditya.loanservice.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+@Builder
+public record PortfolioTotalResponseDTO(
+        @Schema(description = "Loan status", example = "PENDING")
+        String loanStatus,
+
+        @Schema(description = "Type of the loan", example = "PERSONAL")
+        String loanType,
+
+        @Schema(description = "Number of loans in the group", example = "1250")
+        long loanCount,
+
+        @Schema(description = "Sum of loan amounts", example = "62500000.00")
+        BigDecimal totalAmount,
+
+        @Schema(description = "Sum of monthly payments", example = "5560312.45")
+        BigDecimal totalMonthlyDebt
+) {
+}
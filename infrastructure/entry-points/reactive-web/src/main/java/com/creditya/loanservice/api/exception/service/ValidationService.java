@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -15,16 +16,18 @@ public class ValidationService {
     private final Validator validator;
 
     public <T> Mono<T> validate(T obj) {
-        return Mono.fromCallable(() -> validator.validate(obj))
+        return Mono.fromCallable(() -> violations(obj))
                 .flatMap(violations -> violations.isEmpty()
                                 ? Mono.just(obj)
-                                : Mono.error(new ValidationException(
-                                violations.stream()
-                                        .collect(Collectors.toMap(
-                                                v -> v.getPropertyPath().toString(),
-                                                ConstraintViolation::getMessage
-                                        ))
-                        ))
+                                : Mono.error(new ValidationException(violations))
                 );
     }
+
+    public <T> Map<String, String> violations(T obj) {
+        return validator.validate(obj).stream()
+                .collect(Collectors.toMap(
+                        v -> v.getPropertyPath().toString(),
+                        ConstraintViolation::getMessage
+                ));
+    }
 }
\ No newline at end of file
@@ -2,13 +2,20 @@ package com.creditya.loanservice.api.mapper;
 
 import com.creditya.loanservice.api.dto.request.LoanCreatedRequestDTO;
 import com.creditya.loanservice.api.dto.request.LoanUpdateRequestDTO;
+import com.creditya.loanservice.api.dto.response.LoanBatchItemResponseDTO;
 import com.creditya.loanservice.api.dto.response.LoanCreatedResponseDTO;
 import com.creditya.loanservice.api.dto.response.LoanResponseDTO;
+import com.creditya.loanservice.api.dto.response.LoanSimulationResponseDTO;
 import com.creditya.loanservice.api.dto.response.LoanUpdateResponseDTO;
+import com.creditya.loanservice.api.dto.response.PortfolioTotalResponseDTO;
 import com.creditya.loanservice.model.loan.data.LoanWithUser;
 import com.creditya.loanservice.model.loan.Loan;
+import com.creditya.loanservice.model.loan.data.LoanApplication;
+import com.creditya.loanservice.model.loan.data.LoanBatchResult;
 import com.creditya.loanservice.model.loan.data.LoanData;
 import com.creditya.loanservice.model.loan.data.LoanDecision;
+import com.creditya.loanservice.model.loan.data.LoanSimulation;
+import com.creditya.loanservice.model.loan.data.PortfolioTotal;
 import com.creditya.loanservice.model.usersnapshot.UserSnapshot;
 import org.springframework.stereotype.Component;
 
@@ -74,7 +81,7 @@ public class LoanMapper {
     public LoanResponseDTO toLoanCreateResponseDTO(LoanWithUser loanWithUser) {
         UserSnapshot user = loanWithUser.getUserSnapshot();
 
-        return LoanResponseDTO.builder()
+        LoanResponseDTO.LoanResponseDTOBuilder response = LoanResponseDTO.builder()
                 .idLoan(loanWithUser.getIdLoan())
                 .amount(loanWithUser.getAmount())
                 .loanTerm(loanWithUser.getLoanTerm())
@@ -85,9 +92,61 @@ public class LoanMapper {
                 .interestRate(loanWithUser.getInterestRate())
                 .totalMontlyDebt(loanWithUser.getTotalMonthlyDebt())
                 .approvedLoans(loanWithUser.getApprovedLoan())
-                .name(user.getName())
-                .email(user.getEmail())
-                .baseSalary(user.getBaseSalary())
+                .enriched(user != null);
+
+        if (user != null) {
+            response.name(user.getName())
+                    .email(user.getEmail())
+                    .baseSalary(user.getBaseSalary());
+        }
+
+        return response.build();
+    }
+
+    public LoanSimulationResponseDTO toLoanSimulationResponseDTO(LoanSimulation simulation) {
+        if ( simulation == null ) {
+            return null;
+        }
+
+        return LoanSimulationResponseDTO.builder()
+                .loanType(simulation.loanType())
+                .amount(simulation.amount())
+                .loanTerm(simulation.loanTerm())
+                .interestRate(simulation.interestRate())
+                .monthlyPayment(simulation.monthlyPayment())
+                .paymentSchedule(simulation.paymentSchedule())
+                .build();
+    }
+
+    public PortfolioTotalResponseDTO toPortfolioTotalResponseDTO(PortfolioTotal total) {
+        return PortfolioTotalResponseDTO.builder()
+                .loanStatus(total.loanStatusName())
+                .loanType(total.loanTypeName())
+                .loanCount(total.loanCount())
+                .totalAmount(total.totalAmount())
+                .totalMonthlyDebt(total.totalMonthlyDebt())
+                .build();
+    }
+
+    public LoanApplication toLoanApplication(int index, LoanCreatedRequestDTO loanDTO) {
+        return new LoanApplication(index, toLoan(loanDTO), loanDTO.loanType());
+    }
+
+    public LoanBatchItemResponseDTO toLoanBatchItemResponseDTO(LoanBatchResult result) {
+        if (result.isCreated()) {
+            return LoanBatchItemResponseDTO.builder()
+                    .index(result.index())
+                    .status(LoanBatchItemResponseDTO.CREATED)
+                    .loan(toLoanCreateResponseDTO(result.loan()))
+                    .build();
+        }
+
+        return LoanBatchItemResponseDTO.builder()
+                .index(result.index())
+                .status(LoanBatchItemResponseDTO.FAILED)
+                .errorCode(result.errorCode())
+                .message(result.message())
+                .errors(result.errors())
                 .build();
     }
 
@@ -1,5 +1,6 @@
 package com.creditya.loanservice.api.exception.service;
 
+import com.creditya.loanservice.api.dto.request.LoanCreatedRequestDTO;
 import com.creditya.loanservice.api.exception.model.ValidationException;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
@@ -10,6 +11,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import reactor.test.StepVerifier;
 
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 class ValidationServiceTest {
 
     private ValidationService validationService;
@@ -38,6 +44,23 @@ class ValidationServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Should reject a loan application with a zero term")
+    void rejectZeroLoanTerm() {
+        LoanCreatedRequestDTO dto = LoanCreatedRequestDTO.builder()
+                .amount(new BigDecimal("1000.00"))
+                .loanTerm(0)
+                .email("test@email.com")
+                .dni("12345678Z")
+                .loanType("PERSONAL")
+                .build();
+
+        assertEquals(Map.of("loanTerm", "Term cannot be less than 1"), validationService.violations(dto));
+        StepVerifier.create(validationService.validate(dto))
+                .expectError(ValidationException.class)
+                .verify();
+    }
+
     @Test
     @DisplayName("Should throw ValidationException when object is invalid")
     void validateInvalidObject() {
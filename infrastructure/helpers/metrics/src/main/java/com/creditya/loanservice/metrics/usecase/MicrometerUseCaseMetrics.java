@@ -0,0 +1,17 @@
+package com.creditya.loanservice.metrics.usecase;
+
+import com.creditya.loanservice.model.utils.gateways.UseCaseMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class MicrometerUseCaseMetrics implements UseCaseMetrics {
+    private final MeterRegistry registry;
+
+    @Override
+    public void increment(String name, String... tags) {
+        registry.counter(name, tags).increment();
+    }
+}
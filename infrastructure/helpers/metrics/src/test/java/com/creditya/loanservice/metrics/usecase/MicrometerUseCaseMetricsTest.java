@@ -0,0 +1,22 @@
+package com.creditya.loanservice.metrics.usecase;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MicrometerUseCaseMetricsTest {
+
+    @Test
+    void incrementCountsPerNameAndTags() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerUseCaseMetrics metrics = new MicrometerUseCaseMetrics(registry);
+
+        metrics.increment("loan.capacity.prescreen", "outcome", "rejected");
+        metrics.increment("loan.capacity.prescreen", "outcome", "rejected");
+        metrics.increment("loan.capacity.prescreen", "outcome", "forwarded");
+
+        assertEquals(2.0, registry.counter("loan.capacity.prescreen", "outcome", "rejected").count());
+        assertEquals(1.0, registry.counter("loan.capacity.prescreen", "outcome", "forwarded").count());
+    }
+}